@@ -0,0 +1,4 @@
+#!/bin/sh
+# Lets postgres-app-replica stream WAL from this database - runs once, when the data volume is created
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -2,6 +2,7 @@ import { apiGet, apiPost } from "./api";
 import {
     CheckInDto,
     CheckOutDto,
+    CheckerHistoryPage,
     CheckerResponseDto,
 } from "./types/checker";
 
@@ -37,9 +38,15 @@ export const checkerBackend = {
         return apiGet<CheckerResponseDto | null>(`/api/checker/status/${childId}`);
     },
 
-    // Get check-in/out history for a child
+    // Get check-in/out history for a child - newest page only
     getChildHistory(childId: string): Promise<CheckerResponseDto[]> {
-        return apiGet<CheckerResponseDto[]>(`/api/checker/history/${childId}`);
+        return checkerBackend.getChildHistoryPage(childId).then((page) => page.items);
+    },
+
+    // Get one page of check-in/out history - pass the previous page's nextCursor to continue
+    getChildHistoryPage(childId: string, cursor?: string | null): Promise<CheckerHistoryPage> {
+        const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : "";
+        return apiGet<CheckerHistoryPage>(`/api/checker/history/${childId}${query}`);
     },
 };
   
\ No newline at end of file
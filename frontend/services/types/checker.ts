@@ -37,4 +37,11 @@ export type CheckerResponseDto = {
   pickedUpConfirmed: boolean;
   notes: string | null;
   initializedOn: string | null;
-};
\ No newline at end of file
+};
+
+
+// One page of /api/checker/history/{childId} - pass nextCursor back as ?cursor= for the next page
+export type CheckerHistoryPage = {
+  items: CheckerResponseDto[];
+  nextCursor: string | null;
+};
@@ -0,0 +1,140 @@
+package com.ruby.pro203_exam.benchmark;
+
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
+import com.ruby.pro203_exam.auth.model.UserRole;
+import com.ruby.pro203_exam.auth.service.AuthenticatedUserService;
+import com.ruby.pro203_exam.auth.service.AuthorizationService;
+import com.ruby.pro203_exam.child.model.Child;
+import com.ruby.pro203_exam.child.repository.ChildRepository;
+import com.ruby.pro203_exam.child.repository.ParentChildRelationshipRepository;
+import com.ruby.pro203_exam.staff.model.Staff;
+import com.ruby.pro203_exam.staff.repository.StaffRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.ruby.pro203_exam.benchmark.InMemoryRepositories.stub;
+
+/* AuthorizationService decisions as controllers make them, principal already on the request
+    - Repositories are in-memory stand-ins, so scores are the decision logic without database time
+    - Each benchmark puts its principal on the SecurityContext first, as JwtAuthFilter does once per request
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    // One kindergarten's worth of people
+    @Param({"120"})
+    int children;
+
+    private AuthorizationService authorizationService;
+    private UUID kindergartenId;
+    private UUID childId;
+    private AuthenticatedUser parent;
+    private AuthenticatedUser staff;
+    private AuthenticatedUser boss;
+    private Authentication parentAuthentication;
+    private Authentication staffAuthentication;
+    private Authentication bossAuthentication;
+
+    @Setup
+    public void setup() {
+        BenchmarkLogging.quiet();
+        kindergartenId = UUID.randomUUID();
+
+        Map<UUID, Child> childRows = new HashMap<>();
+        Set<String> relationships = new HashSet<>();
+        UUID parentId = null;
+        for (int i = 0; i < children; i++) {
+            Child child = Child.builder().id(UUID.randomUUID()).firstName("Child").lastName(String.valueOf(i))
+                    .kindergartenId(kindergartenId).build();
+            childRows.put(child.getId(), child);
+            // Two parents per child
+            parentId = UUID.randomUUID();
+            relationships.add(parentId + ":" + child.getId());
+            relationships.add(UUID.randomUUID() + ":" + child.getId());
+            childId = child.getId();
+        }
+
+        Map<UUID, Staff> staffRows = new HashMap<>();
+        Staff staffMember = Staff.builder().id(UUID.randomUUID()).firstName("Staff").lastName("Member")
+                .kindergartenId(kindergartenId).build();
+        staffRows.put(staffMember.getId(), staffMember);
+
+        ChildRepository childRepository = stub(ChildRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(childRows.get(args[0]))));
+        StaffRepository staffRepository = stub(StaffRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(staffRows.get(args[0]))));
+        ParentChildRelationshipRepository relationshipRepository = stub(ParentChildRelationshipRepository.class, Map.of(
+                "existsByParentIdAndChildId", args -> relationships.contains(args[0] + ":" + args[1])));
+
+        // Never reached - the principal always comes from the SecurityContext
+        AuthenticatedUserService userService = new AuthenticatedUserService(null, null);
+        authorizationService = new AuthorizationService(userService, staffRepository, childRepository, relationshipRepository);
+
+        parent = AuthenticatedUser.builder().id(UUID.randomUUID()).email("parent@checkkid.no").role(UserRole.PARENT)
+                .profileId(parentId).isAdmin(false).build();
+        staff = AuthenticatedUser.builder().id(UUID.randomUUID()).email("staff@checkkid.no").role(UserRole.STAFF)
+                .profileId(staffMember.getId()).kindergartenId(kindergartenId).isAdmin(false).build();
+        boss = AuthenticatedUser.builder().id(UUID.randomUUID()).email("boss@checkkid.no").role(UserRole.BOSS)
+                .profileId(UUID.randomUUID()).kindergartenId(kindergartenId).isAdmin(true).build();
+        parentAuthentication = authentication(parent);
+        staffAuthentication = authentication(staff);
+        bossAuthentication = authentication(boss);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean parentCanViewChild() {
+        SecurityContextHolder.getContext().setAuthentication(parentAuthentication);
+        return authorizationService.canViewChild(parent.getId(), childId);
+    }
+
+    @Benchmark
+    public boolean staffCanViewChild() {
+        SecurityContextHolder.getContext().setAuthentication(staffAuthentication);
+        return authorizationService.canViewChild(staff.getId(), childId);
+    }
+
+    @Benchmark
+    public boolean staffCanCheckOut() {
+        SecurityContextHolder.getContext().setAuthentication(staffAuthentication);
+        return authorizationService.canCheckOut(staff.getId(), childId);
+    }
+
+    @Benchmark
+    public boolean bossIsPrivilegedAt() {
+        SecurityContextHolder.getContext().setAuthentication(bossAuthentication);
+        return authorizationService.isPrivilegedAt(boss.getId(), kindergartenId);
+    }
+
+    @Benchmark
+    public UUID staffKindergartenId() {
+        SecurityContextHolder.getContext().setAuthentication(staffAuthentication);
+        return authorizationService.getStaffKindergartenId(staff.getProfileId());
+    }
+
+    private static Authentication authentication(AuthenticatedUser user) {
+        return new UsernamePasswordAuthenticationToken(user, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+    }
+}
@@ -0,0 +1,15 @@
+package com.ruby.pro203_exam.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+// Services log every call at INFO - outside Spring Boot logback would print (and measure) all of it
+final class BenchmarkLogging {
+
+    private BenchmarkLogging() {}
+
+    static void quiet() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+}
@@ -0,0 +1,190 @@
+package com.ruby.pro203_exam.benchmark;
+
+import com.ruby.pro203_exam.absence.model.Absence;
+import com.ruby.pro203_exam.absence.model.AbsenceType;
+import com.ruby.pro203_exam.absence.repository.AbsenceRepository;
+import com.ruby.pro203_exam.absence.service.AbsenceService;
+import com.ruby.pro203_exam.calendar.model.CalendarEvent;
+import com.ruby.pro203_exam.calendar.repository.CalendarEventRepository;
+import com.ruby.pro203_exam.calendar.service.CalendarEventService;
+import com.ruby.pro203_exam.checker.model.CheckInOut;
+import com.ruby.pro203_exam.checker.model.PersonType;
+import com.ruby.pro203_exam.checker.repository.CheckerRepository;
+import com.ruby.pro203_exam.checker.service.ActiveCheckInBoard;
+import com.ruby.pro203_exam.checker.service.CheckerService;
+import com.ruby.pro203_exam.child.model.Child;
+import com.ruby.pro203_exam.child.repository.ChildRepository;
+import com.ruby.pro203_exam.child.service.ChildService;
+import com.ruby.pro203_exam.group.model.Group;
+import com.ruby.pro203_exam.group.repository.GroupRepository;
+import com.ruby.pro203_exam.kindergarten.model.Kindergarten;
+import com.ruby.pro203_exam.kindergarten.repository.KindergartenRepository;
+import com.ruby.pro203_exam.kindergarten.service.KindergartenNameCache;
+import com.ruby.pro203_exam.note.model.Note;
+import com.ruby.pro203_exam.note.repository.NoteRepository;
+import com.ruby.pro203_exam.note.service.NoteService;
+import com.ruby.pro203_exam.parent.model.Parent;
+import com.ruby.pro203_exam.parent.repository.ParentRepository;
+import com.ruby.pro203_exam.staff.model.Staff;
+import com.ruby.pro203_exam.staff.repository.StaffRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.ruby.pro203_exam.benchmark.InMemoryRepositories.findAll;
+import static com.ruby.pro203_exam.benchmark.InMemoryRepositories.stub;
+
+/* Service list methods from repository rows to response DTOs - the mapping and name lookups on every list endpoint
+    - Repositories are in-memory stand-ins, so scores are the Java side of a request without database time
+    - rows is the list length: a group, a kindergarten, a large kindergarten's notes and events over a term
+    - Creator and reporter names are spread over several people, as in real data
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    static final int STAFF = 20;
+    static final int GROUPS = 6;
+
+    @Param({"25", "120", "600"})
+    int rows;
+
+    private UUID kindergartenId;
+    private UUID childId;
+
+    private ChildService childService;
+    private CheckerService checkerService;
+    private NoteService noteService;
+    private CalendarEventService calendarEventService;
+    private AbsenceService absenceService;
+
+    @Setup
+    public void setup() {
+        BenchmarkLogging.quiet();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+
+        Kindergarten kindergarten = Kindergarten.builder().id(UUID.randomUUID()).name("Solsikken barnehage").build();
+        kindergartenId = kindergarten.getId();
+
+        Map<UUID, Group> groups = new HashMap<>();
+        List<UUID> groupIds = new ArrayList<>();
+        for (int i = 0; i < GROUPS; i++) {
+            Group group = Group.builder().id(UUID.randomUUID()).name("Gruppe " + i).kindergartenId(kindergartenId).build();
+            groups.put(group.getId(), group);
+            groupIds.add(group.getId());
+        }
+
+        Map<UUID, Staff> staff = new HashMap<>();
+        List<UUID> staffIds = new ArrayList<>();
+        for (int i = 0; i < STAFF; i++) {
+            Staff member = Staff.builder().id(UUID.randomUUID()).firstName("Ansatt").lastName(String.valueOf(i))
+                    .kindergartenId(kindergartenId).build();
+            staff.put(member.getId(), member);
+            staffIds.add(member.getId());
+        }
+
+        Map<UUID, Child> children = new HashMap<>();
+        Map<UUID, Parent> parents = new HashMap<>();
+        List<Child> childList = new ArrayList<>();
+        List<UUID> parentIds = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Child child = Child.builder().id(UUID.randomUUID()).firstName("Barn").lastName(String.valueOf(i))
+                    .birthDate(today.minusYears(1 + i % 5)).groupId(groupIds.get(i % GROUPS)).groupName("Gruppe " + i % GROUPS)
+                    .kindergartenId(kindergartenId).build();
+            Parent parent = Parent.builder().id(UUID.randomUUID()).firstName("Forelder").lastName(String.valueOf(i)).build();
+            children.put(child.getId(), child);
+            childList.add(child);
+            parents.put(parent.getId(), parent);
+            parentIds.add(parent.getId());
+        }
+        childId = childList.get(0).getId();
+
+        List<CheckInOut> pending = new ArrayList<>();
+        List<Note> notes = new ArrayList<>();
+        List<CalendarEvent> events = new ArrayList<>();
+        List<Absence> absences = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            pending.add(CheckInOut.builder().id(UUID.randomUUID()).childId(childList.get(i).getId())
+                    .checkInTime(now.minusMinutes(i)).droppedOffBy(parentIds.get(i)).droppedOffByType(PersonType.Parent)
+                    .droppedOffByName("Forelder " + i).createdAt(now.minusMinutes(i)).build());
+            notes.add(Note.builder().id(UUID.randomUUID()).kindergartenId(kindergartenId).title("Beskjed " + i)
+                    .content("Husk regntøy og ekstra skift").noteDate(today.minusDays(i % 30))
+                    .createdBy(staffIds.get(i % STAFF)).createdByType(PersonType.Staff).build());
+            events.add(CalendarEvent.builder().id(UUID.randomUUID()).kindergartenId(kindergartenId)
+                    .groupId(i % 3 == 0 ? null : groupIds.get(i % GROUPS)).title("Tur " + i)
+                    .eventDate(today.plusDays(i % 90)).createdBy(staffIds.get(i % STAFF)).build());
+            absences.add(Absence.builder().id(UUID.randomUUID()).childId(childId).startDate(today.minusDays(i))
+                    .endDate(today.minusDays(i)).type(AbsenceType.UNPLANNED)
+                    .reportedBy(parentIds.get(i % 2)).reportedByType(PersonType.Parent)
+                    .approvedByStaff(staffIds.get(i % STAFF)).approvedAt(now).build());
+        }
+
+        KindergartenRepository kindergartenRepository = stub(KindergartenRepository.class, Map.of(
+                "findById", args -> Optional.of(kindergarten).filter(k -> k.getId().equals(args[0])),
+                "findAllById", args -> findAll(Map.of(kindergarten.getId(), kindergarten), args[0])));
+        ChildRepository childRepository = stub(ChildRepository.class, Map.of(
+                "findByKindergartenId", args -> childList,
+                "findAllById", args -> findAll(children, args[0])));
+        ParentRepository parentRepository = stub(ParentRepository.class, Map.of(
+                "findAllById", args -> findAll(parents, args[0])));
+        StaffRepository staffRepository = stub(StaffRepository.class, Map.of(
+                "findAllById", args -> findAll(staff, args[0])));
+        GroupRepository groupRepository = stub(GroupRepository.class, Map.of(
+                "findAllById", args -> findAll(groups, args[0])));
+        CheckerRepository checkerRepository = stub(CheckerRepository.class, Map.of(
+                "findPendingConfirmationsByKindergarten", args -> pending));
+        NoteRepository noteRepository = stub(NoteRepository.class, Map.of(
+                "findByKindergartenIdAndChildIdIsNull", args -> notes));
+        CalendarEventRepository eventRepository = stub(CalendarEventRepository.class, Map.of(
+                "findByKindergartenId", args -> events));
+        AbsenceRepository absenceRepository = stub(AbsenceRepository.class, Map.of(
+                "findByChildId", args -> absences));
+
+        ActiveCheckInBoard board = new ActiveCheckInBoard();
+        KindergartenNameCache nameCache = new KindergartenNameCache(kindergartenRepository, 1000, Duration.ofHours(1));
+        childService = new ChildService(childRepository, null, kindergartenRepository, nameCache, board);
+        checkerService = new CheckerService(checkerRepository, childRepository, board, event -> { }, null);
+        noteService = new NoteService(noteRepository, childRepository, parentRepository, staffRepository);
+        calendarEventService = new CalendarEventService(eventRepository, groupRepository, staffRepository);
+        absenceService = new AbsenceService(absenceRepository, childRepository, parentRepository, staffRepository);
+    }
+
+    @Benchmark
+    public Object children() {
+        return childService.getChildrenByKindergarten(kindergartenId);
+    }
+
+    @Benchmark
+    public Object pendingCheckIns() {
+        return checkerService.getPendingConfirmations(kindergartenId);
+    }
+
+    @Benchmark
+    public Object kindergartenNotes() {
+        return noteService.getKindergartenNotes(kindergartenId);
+    }
+
+    @Benchmark
+    public Object calendarEvents() {
+        return calendarEventService.getEventsByKindergarten(kindergartenId);
+    }
+
+    @Benchmark
+    public Object absences() {
+        return absenceService.getAbsencesByChild(childId);
+    }
+}
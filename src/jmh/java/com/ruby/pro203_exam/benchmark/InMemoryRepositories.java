@@ -0,0 +1,44 @@
+package com.ruby.pro203_exam.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/* Repository stand-ins for benchmarks - services run against in-memory data instead of a database
+    - stub(...) answers each repository method by name from the given map
+    - Any other method throws, so a benchmark can't silently measure a call it didn't set up
+*/
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {}
+
+    static <T> T stub(Class<T> repository, Map<String, Function<Object[], Object>> answers) {
+        Object stub = Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> "InMemory" + repository.getSimpleName();
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(repository.getSimpleName() + "." + method.getName());
+            };
+        });
+        return repository.cast(stub);
+    }
+
+    // findAllById over a map keyed by id - unknown ids are left out, like the real query
+    static <K, V> List<V> findAll(Map<K, V> rows, Object ids) {
+        List<V> found = new ArrayList<>();
+        for (Object id : (Iterable<?>) ids) {
+            V row = rows.get(id);
+            if (row != null) {
+                found.add(row);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,132 @@
+package com.ruby.pro203_exam.benchmark;
+
+import com.ruby.pro203_exam.auth.filter.JwtAuthFilter;
+import com.ruby.pro203_exam.auth.filter.VerifiedTokenCache;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
+import com.ruby.pro203_exam.auth.model.UserRole;
+import com.ruby.pro203_exam.auth.repository.ClaimsRevocationRepository;
+import com.ruby.pro203_exam.auth.service.AuthenticatedUserService;
+import com.ruby.pro203_exam.auth.service.ClaimsRevocationService;
+import com.ruby.pro203_exam.auth.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionOperations;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.ruby.pro203_exam.benchmark.InMemoryRepositories.stub;
+
+// Per-request cost of JWT authentication - legacy* replays the old five-parse path for comparison
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    static final String SECRET = "secret-key-here-because-we-need-that-super-secret-jwt-key-because-we-are-all-about-security";
+
+    private JwtService jwtService;
+    private JwtAuthFilter filter;
+    private JwtAuthFilter cachedFilter;
+    private String token;
+
+    @Setup
+    public void setup() {
+        // No revocations - loaded once, so fresh claims are trusted
+        ClaimsRevocationService revocationService = new ClaimsRevocationService(
+                stub(ClaimsRevocationRepository.class, Map.of("findByRevokedAtAfter", args -> List.of())),
+                null, TransactionOperations.withoutTransaction(), Duration.ofHours(12), Clock.systemUTC());
+        revocationService.sync();
+        jwtService = new JwtService(revocationService, SECRET, 43200000L);
+
+        // Fresh v2 claims never reach the repositories
+        AuthenticatedUserService userService = new AuthenticatedUserService(null, null);
+        filter = new JwtAuthFilter(jwtService, userService, new VerifiedTokenCache(false, 0, Duration.ZERO),
+                new SimpleMeterRegistry());
+        cachedFilter = new JwtAuthFilter(jwtService, userService, new VerifiedTokenCache(true, 10000, Duration.ofMinutes(15)),
+                new SimpleMeterRegistry());
+
+        token = jwtService.generateToken(AuthenticatedUser.builder()
+                .id(UUID.randomUUID())
+                .email("staff@checkkid.no")
+                .role(UserRole.STAFF)
+                .profileId(UUID.randomUUID())
+                .kindergartenId(UUID.randomUUID())
+                .isAdmin(false)
+                .build());
+    }
+
+    @Benchmark
+    public void verify(Blackhole bh) {
+        bh.consume(jwtService.verify(token));
+    }
+
+    @Benchmark
+    public void validateToken(Blackhole bh) {
+        bh.consume(jwtService.validateToken(token));
+    }
+
+    @Benchmark
+    public void extractClaims(Blackhole bh) {
+        bh.consume(jwtService.extractClaims(token));
+    }
+
+    @Benchmark
+    public void filter(Blackhole bh) throws Exception {
+        runFilter(filter, bh);
+    }
+
+    // Same token every time - every request after the first is a cache hit
+    @Benchmark
+    public void cachedFilter(Blackhole bh) throws Exception {
+        runFilter(cachedFilter, bh);
+    }
+
+    // Old JwtService.extractClaims - new key and parser on every call
+    @Benchmark
+    public void legacyExtractClaims(Blackhole bh) {
+        bh.consume(legacyParse(token));
+    }
+
+    // Old filter path - validateToken parsed three times, then extractEmail and extractRole twice more
+    @Benchmark
+    public void legacyFilter(Blackhole bh) {
+        for (int i = 0; i < 5; i++) {
+            bh.consume(legacyParse(token));
+        }
+    }
+
+    private void runFilter(JwtAuthFilter jwtAuthFilter, Blackhole bh) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/children");
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        bh.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
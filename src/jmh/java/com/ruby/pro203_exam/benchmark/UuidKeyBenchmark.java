@@ -0,0 +1,122 @@
+package com.ruby.pro203_exam.benchmark;
+
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/* Random (v4) against time-ordered (v7) primary keys - key generation alone, and inserts into Postgres
+    - insert* writes check_in_out_log shaped rows into a scratch table per key type, preloaded so the index is
+      bigger than a few pages - scores are per row
+    - Index and table size per row are printed at the end of each insert trial (UUID_KEYS ... lines)
+    - Needs the app database from docker compose, or -Dbenchmark.jdbc-url/-user/-password
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidKeyBenchmark {
+
+    static final int BATCH_SIZE = 100;
+
+    public enum Keys {
+        RANDOM(UUID::randomUUID),
+        TIME_ORDERED(TimeOrderedUuidGenerator::next);
+
+        final Supplier<UUID> generator;
+
+        Keys(Supplier<UUID> generator) {
+            this.generator = generator;
+        }
+    }
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    Keys keys;
+
+    // Rows in the table before measuring starts
+    @Param({"500000"})
+    int preloadRows;
+
+    @Benchmark
+    public void generate(Blackhole bh) {
+        bh.consume(keys.generator.get());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insert(Database database) throws SQLException {
+        return database.insertBatch(keys, BATCH_SIZE);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        private Connection connection;
+        private PreparedStatement insert;
+        private String table;
+
+        @Setup(Level.Trial)
+        public void setup(UuidKeyBenchmark benchmark) throws SQLException {
+            connection = DriverManager.getConnection(
+                    System.getProperty("benchmark.jdbc-url", "jdbc:postgresql://localhost:5432/checkkid?reWriteBatchedInserts=true"),
+                    System.getProperty("benchmark.user", "checkkid_user"),
+                    System.getProperty("benchmark.password", "devpassword2"));
+            table = "uuid_key_benchmark_" + benchmark.keys.name().toLowerCase();
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+                statement.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, child_id UUID NOT NULL, " +
+                        "check_in_time TIMESTAMP NOT NULL, notes TEXT)");
+            }
+            insert = connection.prepareStatement("INSERT INTO " + table + " (id, child_id, check_in_time, notes) VALUES (?, ?, ?, ?)");
+            for (int loaded = 0; loaded < benchmark.preloadRows; loaded += 1000) {
+                insertBatch(benchmark.keys, 1000);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("VACUUM ANALYZE " + table);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT count(*), pg_relation_size('" + table + "_pkey'), " +
+                         "pg_relation_size('" + table + "') FROM " + table)) {
+                rs.next();
+                long rows = rs.getLong(1);
+                System.out.printf("%nUUID_KEYS table=%s rows=%d index_bytes=%d index_bytes_per_row=%.1f table_bytes_per_row=%.1f%n",
+                        table, rows, rs.getLong(2), (double) rs.getLong(2) / rows, (double) rs.getLong(3) / rows);
+            }
+            if (!Boolean.getBoolean("benchmark.keep-tables")) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE " + table);
+                }
+            }
+            connection.close();
+        }
+
+        int[] insertBatch(Keys keys, int rows) throws SQLException {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (int i = 0; i < rows; i++) {
+                insert.setObject(1, keys.generator.get());
+                insert.setObject(2, UUID.randomUUID());
+                insert.setTimestamp(3, now);
+                insert.setString(4, null);
+                insert.addBatch();
+            }
+            return insert.executeBatch();
+        }
+    }
+}
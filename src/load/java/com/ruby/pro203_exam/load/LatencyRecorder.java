@@ -0,0 +1,115 @@
+package com.ruby.pro203_exam.load;
+
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/* Response times per endpoint for one load run
+    - Every request is kept (a morning peak is tens of thousands, not millions), so percentiles are exact
+    - Errors are non-2xx responses and IO failures - they count towards throughput but not towards latency
+*/
+class LatencyRecorder {
+
+    record Summary(String endpoint, int requests, int errors, double throughput, double p50Ms, double p99Ms, double maxMs) {}
+
+    private final Map<String, Samples> samples = new LinkedHashMap<>();
+
+    // Declares the endpoints up front, so the report keeps the workload's order
+    LatencyRecorder(List<String> endpoints) {
+        endpoints.forEach(endpoint -> samples.put(endpoint, new Samples()));
+    }
+
+    void record(String endpoint, long nanos, boolean ok) {
+        samples.get(endpoint).add(nanos, ok);
+    }
+
+    List<Summary> summarize(double elapsedSeconds) {
+        return samples.entrySet().stream()
+                .map(entry -> entry.getValue().summarize(entry.getKey(), elapsedSeconds))
+                .toList();
+    }
+
+    static void print(List<Summary> summaries, double elapsedSeconds) {
+        System.out.printf("%nMorning peak - %.1f s%n", elapsedSeconds);
+        System.out.printf("%-22s %9s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Summary summary : summaries) {
+            System.out.printf("%-22s %9d %7d %9.1f %9.1f %9.1f %9.1f%n", summary.endpoint(), summary.requests(),
+                    summary.errors(), summary.throughput(), summary.p50Ms(), summary.p99Ms(), summary.maxMs());
+        }
+    }
+
+    static void write(List<Summary> summaries, double elapsedSeconds, LoadSettings settings) {
+        // The workload only - the database password and JWT secret stay out of the file
+        Map<String, Object> workload = new LinkedHashMap<>();
+        workload.put("model", settings.model());
+        if (settings.model() == LoadSettings.Model.CLOSED) {
+            workload.put("parents", settings.parents());
+        } else {
+            workload.put("arrivalRate", settings.arrivalRate());
+        }
+        workload.put("kindergartens", settings.kindergartens());
+        workload.put("childrenPerKindergarten", settings.childrenPerKindergarten());
+        workload.put("staffPerKindergarten", settings.staffPerKindergarten());
+        workload.put("thinkTime", settings.thinkTime().toString());
+        workload.put("statusPolls", settings.statusPolls());
+        workload.put("boardInterval", settings.boardInterval().toString());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("workload", workload);
+        result.put("elapsedSeconds", elapsedSeconds);
+        result.put("endpoints", summaries);
+
+        File file = new File(settings.result());
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build().writeValue(file, result);
+        System.out.println("Result written to " + file.getAbsolutePath());
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private int errors;
+
+        synchronized void add(long value, boolean ok) {
+            if (!ok) {
+                errors++;
+                return;
+            }
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        synchronized Summary summarize(String endpoint, double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            int requests = size + errors;
+            return new Summary(endpoint, requests, errors, requests / elapsedSeconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(size == 0 ? 0 : sorted[size - 1]));
+        }
+
+        // Nearest rank - the smallest sample with at least p of all samples at or below it
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
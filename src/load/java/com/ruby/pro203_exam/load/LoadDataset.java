@@ -0,0 +1,188 @@
+package com.ruby.pro203_exam.load;
+
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/* Kindergartens, groups, staff, families and calendar events for one load run, written straight to the app database
+    - Names carry the run id, so runs never collide and cleanup only touches its own rows
+    - Every fourth family has two children in the same kindergarten, the rest one
+    - Nothing is written to the auth database - the harness mints v2 JWTs, which carry the whole principal
+*/
+class LoadDataset {
+
+    static final int GROUPS_PER_KINDERGARTEN = 4;
+    static final int EVENTS_PER_KINDERGARTEN = 12;
+
+    record Family(UUID parentId, UUID kindergartenId, List<UUID> childIds) {}
+
+    record StaffMember(UUID staffId, UUID kindergartenId) {}
+
+    private final String runId;
+    private final List<UUID> kindergartenIds = new ArrayList<>();
+    private final List<UUID> childIds = new ArrayList<>();
+    private final List<Family> families = new ArrayList<>();
+    private final List<StaffMember> staff = new ArrayList<>();
+
+    private LoadDataset(String runId) {
+        this.runId = runId;
+    }
+
+    List<Family> families() {
+        return families;
+    }
+
+    List<StaffMember> staff() {
+        return staff;
+    }
+
+    Map<UUID, List<UUID>> childIdsByKindergarten() {
+        return families.stream().collect(Collectors.groupingBy(Family::kindergartenId,
+                Collectors.flatMapping(family -> family.childIds().stream(), Collectors.toList())));
+    }
+
+    static LoadDataset seed(Connection connection, LoadSettings settings) throws SQLException {
+        LoadDataset dataset = new LoadDataset(Long.toString(System.currentTimeMillis(), 36));
+        LocalDate today = LocalDate.now();
+
+        try (PreparedStatement kindergarten = connection.prepareStatement(
+                     "INSERT INTO kindergartens (id, name) VALUES (?, ?)");
+             PreparedStatement group = connection.prepareStatement(
+                     "INSERT INTO groups (id, name, kindergarten_id) VALUES (?, ?, ?)");
+             PreparedStatement staff = connection.prepareStatement(
+                     "INSERT INTO staff (id, first_name, last_name, email, kindergarten_id) VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement parent = connection.prepareStatement(
+                     "INSERT INTO parents (id, first_name, last_name, email) VALUES (?, ?, ?, ?)");
+             PreparedStatement child = connection.prepareStatement(
+                     "INSERT INTO children (id, first_name, last_name, birth_date, group_id, group_name, kindergarten_id) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement relationship = connection.prepareStatement(
+                     "INSERT INTO parent_child_relationships (id, parent_id, child_id) VALUES (?, ?, ?)");
+             PreparedStatement event = connection.prepareStatement(
+                     "INSERT INTO calendar_events (id, kindergarten_id, group_id, title, event_date, created_by) " +
+                     "VALUES (?, ?, ?, ?, ?, ?)")) {
+
+            for (int k = 0; k < settings.kindergartens(); k++) {
+                UUID kindergartenId = TimeOrderedUuidGenerator.next();
+                dataset.kindergartenIds.add(kindergartenId);
+                kindergarten.setObject(1, kindergartenId);
+                kindergarten.setString(2, "Load " + dataset.runId + " barnehage " + k);
+                kindergarten.addBatch();
+
+                List<UUID> groupIds = new ArrayList<>();
+                for (int g = 0; g < GROUPS_PER_KINDERGARTEN; g++) {
+                    UUID groupId = TimeOrderedUuidGenerator.next();
+                    groupIds.add(groupId);
+                    group.setObject(1, groupId);
+                    group.setString(2, "Gruppe " + g);
+                    group.setObject(3, kindergartenId);
+                    group.addBatch();
+                }
+
+                for (int s = 0; s < settings.staffPerKindergarten(); s++) {
+                    UUID staffId = TimeOrderedUuidGenerator.next();
+                    dataset.staff.add(new StaffMember(staffId, kindergartenId));
+                    staff.setObject(1, staffId);
+                    staff.setString(2, "Ansatt");
+                    staff.setString(3, k + "-" + s);
+                    staff.setString(4, "staff-" + dataset.runId + "-" + k + "-" + s + "@load.checkkid.no");
+                    staff.setObject(5, kindergartenId);
+                    staff.addBatch();
+                }
+
+                int seated = 0;
+                for (int f = 0; seated < settings.childrenPerKindergarten(); f++) {
+                    UUID parentId = TimeOrderedUuidGenerator.next();
+                    parent.setObject(1, parentId);
+                    parent.setString(2, "Forelder");
+                    parent.setString(3, k + "-" + f);
+                    parent.setString(4, "parent-" + dataset.runId + "-" + k + "-" + f + "@load.checkkid.no");
+                    parent.addBatch();
+
+                    int siblings = f % 4 == 3 ? 2 : 1;
+                    List<UUID> familyChildIds = new ArrayList<>();
+                    for (int c = 0; c < siblings && seated < settings.childrenPerKindergarten(); c++, seated++) {
+                        UUID childId = TimeOrderedUuidGenerator.next();
+                        int groupIndex = seated % GROUPS_PER_KINDERGARTEN;
+                        familyChildIds.add(childId);
+                        child.setObject(1, childId);
+                        child.setString(2, "Barn");
+                        child.setString(3, k + "-" + seated);
+                        child.setDate(4, Date.valueOf(today.minusYears(1 + groupIndex)));
+                        child.setObject(5, groupIds.get(groupIndex));
+                        child.setString(6, "Gruppe " + groupIndex);
+                        child.setObject(7, kindergartenId);
+                        child.addBatch();
+
+                        relationship.setObject(1, TimeOrderedUuidGenerator.next());
+                        relationship.setObject(2, parentId);
+                        relationship.setObject(3, childId);
+                        relationship.addBatch();
+                    }
+                    dataset.childIds.addAll(familyChildIds);
+                    dataset.families.add(new Family(parentId, kindergartenId, familyChildIds));
+                }
+
+                // A third of the events are for the whole kindergarten, the rest for one group
+                for (int e = 0; e < EVENTS_PER_KINDERGARTEN; e++) {
+                    event.setObject(1, TimeOrderedUuidGenerator.next());
+                    event.setObject(2, kindergartenId);
+                    event.setObject(3, e % 3 == 0 ? null : groupIds.get(e % GROUPS_PER_KINDERGARTEN));
+                    event.setString(4, "Aktivitet " + e);
+                    event.setDate(5, Date.valueOf(today.plusDays(e * 2L)));
+                    event.setObject(6, dataset.staff.get(dataset.staff.size() - 1).staffId());
+                    event.addBatch();
+                }
+            }
+
+            // Parents before children before relationships - the batches run in foreign key order
+            kindergarten.executeBatch();
+            group.executeBatch();
+            staff.executeBatch();
+            parent.executeBatch();
+            child.executeBatch();
+            relationship.executeBatch();
+            event.executeBatch();
+        }
+        return dataset;
+    }
+
+    // Removes everything the run wrote, including check-ins and attendance rows the app created for its children
+    void cleanup(Connection connection) throws SQLException {
+        Array kindergartens = connection.createArrayOf("uuid", kindergartenIds.toArray());
+        Array children = connection.createArrayOf("uuid", childIds.toArray());
+        Array parents = connection.createArrayOf("uuid", families.stream().map(Family::parentId).toArray());
+        Array staffIds = connection.createArrayOf("uuid", staff.stream().map(StaffMember::staffId).toArray());
+
+        delete(connection, "DELETE FROM active_check_ins WHERE child_id = ANY(?)", children);
+        delete(connection, "DELETE FROM check_in_out_log WHERE child_id = ANY(?)", children);
+        delete(connection, "DELETE FROM daily_attendance WHERE child_id = ANY(?)", children);
+        delete(connection, "DELETE FROM parent_child_relationships WHERE child_id = ANY(?)", children);
+        delete(connection, "DELETE FROM calendar_events WHERE kindergarten_id = ANY(?)", kindergartens);
+        delete(connection, "DELETE FROM children WHERE id = ANY(?)", children);
+        delete(connection, "DELETE FROM parents WHERE id = ANY(?)", parents);
+        delete(connection, "DELETE FROM staff_group_assignments WHERE staff_id = ANY(?)", staffIds);
+        delete(connection, "DELETE FROM staff WHERE id = ANY(?)", staffIds);
+        delete(connection, "DELETE FROM groups WHERE kindergarten_id = ANY(?)", kindergartens);
+        delete(connection, "DELETE FROM kindergartens WHERE id = ANY(?)", kindergartens);
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private static void delete(Connection connection, String sql, Array ids) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setArray(1, ids);
+            statement.executeUpdate();
+        }
+    }
+}
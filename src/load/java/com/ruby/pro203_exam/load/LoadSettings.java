@@ -0,0 +1,67 @@
+package com.ruby.pro203_exam.load;
+
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.Duration;
+import java.util.Properties;
+
+/* Settings for MorningPeakSimulation - all are -Dload.* system properties
+    - Database and JWT secret default to the app's own application.yaml, so a local dev setup needs no flags
+    - model is CLOSED (a fixed number of parents in flight) or OPEN (families arrive at a fixed rate, however slow the app is)
+*/
+record LoadSettings(
+        String baseUrl,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        String jwtSecret,
+        long jwtExpiration,
+        int kindergartens,
+        int childrenPerKindergarten,
+        int staffPerKindergarten,
+        Model model,
+        int parents,
+        double arrivalRate,
+        Duration thinkTime,
+        int statusPolls,
+        Duration boardInterval,
+        Duration maxDuration,
+        String result,
+        boolean keepData) {
+
+    enum Model {
+        CLOSED,
+        OPEN
+    }
+
+    static LoadSettings fromSystemProperties() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yaml"));
+        Properties app = yaml.getObject();
+
+        return new LoadSettings(
+                property("load.base-url", "http://localhost:8080"),
+                property("load.jdbc-url", app.getProperty("spring.datasource.app.jdbc-url")),
+                property("load.jdbc-user", app.getProperty("spring.datasource.app.username")),
+                property("load.jdbc-password", app.getProperty("spring.datasource.app.password")),
+                property("load.jwt-secret", app.getProperty("jwt.secret")),
+                Long.parseLong(property("load.jwt-expiration", app.getProperty("jwt.expiration"))),
+                Integer.parseInt(property("load.kindergartens", "8")),
+                Integer.parseInt(property("load.children-per-kindergarten", "80")),
+                Integer.parseInt(property("load.staff-per-kindergarten", "6")),
+                Model.valueOf(property("load.model", "CLOSED").toUpperCase()),
+                Integer.parseInt(property("load.parents", "200")),
+                Double.parseDouble(property("load.arrival-rate", "20")),
+                Duration.parse(property("load.think-time", "PT2S")),
+                Integer.parseInt(property("load.status-polls", "3")),
+                Duration.parse(property("load.board-interval", "PT3S")),
+                Duration.parse(property("load.max-duration", "PT10M")),
+                property("load.result", "target/load-result.json"),
+                Boolean.parseBoolean(property("load.keep-data", "false")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+}
@@ -0,0 +1,297 @@
+package com.ruby.pro203_exam.load;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
+import com.ruby.pro203_exam.auth.model.UserRole;
+import com.ruby.pro203_exam.auth.service.JwtService;
+import org.slf4j.LoggerFactory;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/* Morning drop-off against a running app - parents check children in and watch their status while staff watch the board
+    - Seeds its own kindergartens and families in the app database and removes them again afterwards
+    - Tokens are minted with the app's JwtService, so no users are needed in the auth database
+    - Start the app first (mvn spring-boot:run), then: mvn -Pload test-compile exec:java [-Dload.model=OPEN ...]
+    - Settings and their defaults are in LoadSettings
+
+    One parent session:
+    - children list, check-in per child, then statusPolls rounds of (think time, status per child), then the calendar
+    Staff boards (every staff member) until the last parent is done:
+    - pending list every boardInterval, the kindergarten's children list every fifth round
+*/
+public class MorningPeakSimulation {
+
+    static final String CHILDREN_PARENT = "children (parent)";
+    static final String CHECK_IN = "check-in";
+    static final String STATUS = "status";
+    static final String CALENDAR = "calendar";
+    static final String PENDING = "pending";
+    static final String CHILDREN_STAFF = "children (staff)";
+
+    static final int BULK_LIMIT = 200;
+
+    private final LoadSettings settings;
+    private final HttpClient client;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final LatencyRecorder recorder = new LatencyRecorder(
+            List.of(CHILDREN_PARENT, CHECK_IN, STATUS, CALENDAR, PENDING, CHILDREN_STAFF));
+    private final Map<String, String> firstErrors = new ConcurrentHashMap<>();
+
+    private Instant deadline;
+
+    MorningPeakSimulation(LoadSettings settings, HttpClient client) {
+        this.settings = settings;
+        this.client = client;
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Spring classes log at DEBUG outside Spring Boot
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(httpExecutor)
+                    .build();
+            new MorningPeakSimulation(settings, client).run();
+        }
+    }
+
+    void run() throws Exception {
+        checkAppIsUp();
+
+        LoadDataset dataset;
+        try (Connection connection = connect()) {
+            dataset = LoadDataset.seed(connection, settings);
+        }
+        System.out.printf("Seeded %d kindergartens, %d families, %d staff%n",
+                settings.kindergartens(), dataset.families().size(), dataset.staff().size());
+
+        try {
+            JwtService jwtService = jwtService();
+            Map<UUID, String> parentTokens = new HashMap<>();
+            dataset.families().forEach(family -> parentTokens.put(family.parentId(), jwtService.generateToken(
+                    AuthenticatedUser.builder().id(UUID.randomUUID()).email(family.parentId() + "@load.checkkid.no")
+                            .role(UserRole.PARENT).profileId(family.parentId()).isAdmin(false).build())));
+            Map<UUID, String> staffTokens = new HashMap<>();
+            dataset.staff().forEach(member -> staffTokens.put(member.staffId(), jwtService.generateToken(
+                    AuthenticatedUser.builder().id(UUID.randomUUID()).email(member.staffId() + "@load.checkkid.no")
+                            .role(UserRole.STAFF).profileId(member.staffId()).kindergartenId(member.kindergartenId())
+                            .isAdmin(false).build())));
+
+            // Families from every kindergarten arrive mixed, the same way on every run
+            List<LoadDataset.Family> arrivals = new ArrayList<>(dataset.families());
+            Collections.shuffle(arrivals, new Random(42));
+
+            System.out.printf("Running %s%n", settings.model() == LoadSettings.Model.CLOSED
+                    ? "closed model, " + settings.parents() + " parents in flight"
+                    : "open model, " + settings.arrivalRate() + " families/s");
+            long start = System.nanoTime();
+            deadline = Instant.now().plus(settings.maxDuration());
+
+            AtomicBoolean parentsDone = new AtomicBoolean();
+            try (ExecutorService boards = Executors.newVirtualThreadPerTaskExecutor()) {
+                dataset.staff().forEach(member -> boards.submit(() -> staffBoard(staffTokens.get(member.staffId()), parentsDone)));
+                try {
+                    if (settings.model() == LoadSettings.Model.CLOSED) {
+                        runClosed(arrivals, parentTokens);
+                    } else {
+                        runOpen(arrivals, parentTokens);
+                    }
+                } finally {
+                    parentsDone.set(true);
+                }
+            }
+
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            List<LatencyRecorder.Summary> summaries = recorder.summarize(elapsedSeconds);
+            LatencyRecorder.print(summaries, elapsedSeconds);
+            firstErrors.forEach((endpoint, error) -> System.out.printf("First %s error: %s%n", endpoint, error));
+            LatencyRecorder.write(summaries, elapsedSeconds, settings);
+
+            checkOutAll(dataset, staffTokens);
+        } finally {
+            if (settings.keepData()) {
+                System.out.println("Keeping seeded data (load.keep-data=true)");
+            } else {
+                try (Connection connection = connect()) {
+                    dataset.cleanup(connection);
+                }
+                System.out.println("Removed seeded data");
+            }
+        }
+    }
+
+    // A fixed number of parents, each taking the next family as soon as they are done
+    private void runClosed(List<LoadDataset.Family> arrivals, Map<UUID, String> parentTokens) throws InterruptedException {
+        Queue<LoadDataset.Family> queue = new ConcurrentLinkedQueue<>(arrivals);
+        try (ExecutorService parents = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < Math.min(settings.parents(), arrivals.size()); i++) {
+                parents.submit(() -> {
+                    LoadDataset.Family family;
+                    while ((family = queue.poll()) != null && !pastDeadline()) {
+                        parentSession(family, parentTokens.get(family.parentId()));
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    // Families arrive at a fixed rate whether or not earlier ones are done - a slow app builds up a queue
+    private void runOpen(List<LoadDataset.Family> arrivals, Map<UUID, String> parentTokens) throws InterruptedException {
+        long intervalNanos = (long) (1e9 / settings.arrivalRate());
+        long start = System.nanoTime();
+        try (ExecutorService parents = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < arrivals.size() && !pastDeadline(); i++) {
+                long wait = start + i * intervalNanos - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                LoadDataset.Family family = arrivals.get(i);
+                parents.submit(() -> {
+                    parentSession(family, parentTokens.get(family.parentId()));
+                    return null;
+                });
+            }
+        }
+    }
+
+    private void parentSession(LoadDataset.Family family, String token) throws InterruptedException {
+        get(CHILDREN_PARENT, "/api/children", token);
+        for (UUID childId : family.childIds()) {
+            post(CHECK_IN, "/api/checker/check-in", Map.of("childId", childId, "droppedOffPersonType", "Parent"), token);
+        }
+        for (int poll = 0; poll < settings.statusPolls() && !pastDeadline(); poll++) {
+            Thread.sleep(settings.thinkTime());
+            for (UUID childId : family.childIds()) {
+                get(STATUS, "/api/checker/status/" + childId, token);
+            }
+        }
+        LocalDate today = LocalDate.now();
+        get(CALENDAR, "/api/calendar/parent/" + family.kindergartenId() + "/range?start=" + today + "&end=" + today.plusWeeks(4), token);
+    }
+
+    // Staff start at random points within one interval, so the boards do not poll in lockstep
+    private Void staffBoard(String token, AtomicBoolean parentsDone) throws InterruptedException {
+        Thread.sleep((long) (Math.random() * settings.boardInterval().toMillis()));
+        for (int round = 0; !parentsDone.get() && !pastDeadline(); round++) {
+            get(PENDING, "/api/checker/pending", token);
+            if (round % 5 == 0) {
+                get(CHILDREN_STAFF, "/api/children", token);
+            }
+            Thread.sleep(settings.boardInterval());
+        }
+        return null;
+    }
+
+    // Checks out everything the run checked in, through the app so its in-memory board stays in step - not recorded
+    private void checkOutAll(LoadDataset dataset, Map<UUID, String> staffTokens) throws InterruptedException {
+        Map<UUID, String> tokenByKindergarten = new HashMap<>();
+        dataset.staff().forEach(member -> tokenByKindergarten.putIfAbsent(member.kindergartenId(), staffTokens.get(member.staffId())));
+
+        for (Map.Entry<UUID, List<UUID>> entry : dataset.childIdsByKindergarten().entrySet()) {
+            List<UUID> childIds = entry.getValue();
+            for (int from = 0; from < childIds.size(); from += BULK_LIMIT) {
+                Map<String, Object> body = Map.of(
+                        "childIds", childIds.subList(from, Math.min(from + BULK_LIMIT, childIds.size())),
+                        "pickedUpPersonType", "Parent",
+                        "pickedUpConfirmed", true);
+                HttpResponse<Void> response = send(request("/api/checker/bulk/check-out", tokenByKindergarten.get(entry.getKey()))
+                        .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body))).build());
+                if (response == null || response.statusCode() != 200) {
+                    System.err.println("Bulk check-out failed for kindergarten " + entry.getKey() + " - cleanup removes the rows anyway");
+                }
+            }
+        }
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private void checkAppIsUp() throws InterruptedException {
+        HttpResponse<Void> response = send(HttpRequest.newBuilder(URI.create(settings.baseUrl() + "/readyz"))
+                .timeout(Duration.ofSeconds(5)).GET().build());
+        if (response == null || response.statusCode() != 200) {
+            throw new IllegalStateException("App is not up at " + settings.baseUrl()
+                    + " - start it first (mvn spring-boot:run) or set -Dload.base-url");
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(settings.jdbcUrl(), settings.jdbcUser(), settings.jdbcPassword());
+    }
+
+    // Only mints tokens - the revocation service is for reading claims back, which the app does
+    private JwtService jwtService() {
+        return new JwtService(null, settings.jwtSecret(), settings.jwtExpiration());
+    }
+
+    private void get(String endpoint, String path, String token) throws InterruptedException {
+        timed(endpoint, request(path, token).GET().build());
+    }
+
+    private void post(String endpoint, String path, Object body, String token) throws InterruptedException {
+        timed(endpoint, request(path, token)
+                .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body))).build());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(settings.baseUrl() + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json");
+    }
+
+    private void timed(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<Void> response = send(request);
+        long nanos = System.nanoTime() - start;
+
+        boolean ok = response != null && response.statusCode() / 100 == 2;
+        if (!ok) {
+            firstErrors.putIfAbsent(endpoint, response == null ? "no response" : "HTTP " + response.statusCode() + " " + request.uri());
+        }
+        recorder.record(endpoint, nanos, ok);
+    }
+
+    // Null when the request never got a response - refused connection, timeout
+    private HttpResponse<Void> send(HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private boolean pastDeadline() {
+        return Instant.now().isAfter(deadline);
+    }
+}
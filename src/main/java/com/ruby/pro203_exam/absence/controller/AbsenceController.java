@@ -3,7 +3,7 @@ package com.ruby.pro203_exam.absence.controller;
 import com.ruby.pro203_exam.absence.dto.AbsenceResponseDto;
 import com.ruby.pro203_exam.absence.dto.CreateAbsenceDto;
 import com.ruby.pro203_exam.absence.service.AbsenceService;
-import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.model.UserRole;
 import com.ruby.pro203_exam.auth.service.AuthorizationService;
 import com.ruby.pro203_exam.auth.util.SecurityUtils;
@@ -36,7 +36,7 @@ public class AbsenceController {
     public ResponseEntity<AbsenceResponseDto> createAbsence(
             @RequestBody CreateAbsenceDto dto) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Check if user can view this child (parent of child or staff at kindergarten)
         if (!authorizationService.canViewChild(user.getId(), dto.getChildId())) {
@@ -52,7 +52,7 @@ public class AbsenceController {
     // Get absences for a child
     @GetMapping("/child/{childId}")
     public ResponseEntity<List<AbsenceResponseDto>> getAbsencesByChild(@PathVariable UUID childId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         if (!authorizationService.canViewChild(user.getId(), childId)) {
             throw new AccessDeniedException("Cannot view absences for this child");
@@ -68,7 +68,7 @@ public class AbsenceController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         if (!authorizationService.canViewChild(user.getId(), childId)) {
             throw new AccessDeniedException("Cannot view absences for this child");
@@ -80,7 +80,7 @@ public class AbsenceController {
     // Approve absence
     @PostMapping("/{id}/approve")
     public ResponseEntity<AbsenceResponseDto> approveAbsence(@PathVariable UUID id) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only staff can approve
         if (user.getRole() == UserRole.PARENT) {
@@ -93,7 +93,7 @@ public class AbsenceController {
     // Reject absence
     @PostMapping("/{id}/reject")
     public ResponseEntity<AbsenceResponseDto> rejectAbsence(@PathVariable UUID id) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only staff can reject
         if (user.getRole() == UserRole.PARENT) {
@@ -106,7 +106,7 @@ public class AbsenceController {
     // Delete an absence
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAbsence(@PathVariable UUID id) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only boss can delete absences
         if (user.getRole() != UserRole.BOSS) {
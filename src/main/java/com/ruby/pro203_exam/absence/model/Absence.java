@@ -1,8 +1,10 @@
 package com.ruby.pro203_exam.absence.model;
 
 import com.ruby.pro203_exam.checker.model.PersonType;
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -18,7 +20,8 @@ import java.util.UUID;
 public class Absence {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
 
     @Column(name = "child_id", nullable = false)
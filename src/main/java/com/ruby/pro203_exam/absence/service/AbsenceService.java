@@ -17,7 +17,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -93,19 +97,18 @@ public class AbsenceService {
         return toResponseDto(absenceRepository.save(absence));
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<AbsenceResponseDto> getAbsencesByChild(UUID childId) {
-        return absenceRepository.findByChildId(childId).stream()
-                .map(this::toResponseDto)
-                .toList();
+        return toResponseDtos(absenceRepository.findByChildId(childId));
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<AbsenceResponseDto> getAbsencesByChildAndDateRange(UUID childId, LocalDate start, LocalDate end) {
-        return absenceRepository.findByChildIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(childId, end, start)
-                .stream()
-                .map(this::toResponseDto)
-                .toList();
+        return toResponseDtos(
+                absenceRepository.findByChildIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(childId, end, start));
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public boolean isChildAbsentOnDate(UUID childId, LocalDate date) {
         return absenceRepository.existsByChildIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(childId, date, date);
     }
@@ -118,23 +121,71 @@ public class AbsenceService {
     // ------------------------------------- HELPER METHODS ------------------------------------- //
 
     private AbsenceResponseDto toResponseDto(Absence absence) {
-        String childName = childRepository.findById(absence.getChildId())
-                .map(c -> c.getFirstName() + " " + c.getLastName())
-                .orElse(null);
+        return toResponseDtos(List.of(absence)).get(0);
+    }
+
+    // Batch mapping - one findAllById per person type instead of up to three lookups per absence
+    private List<AbsenceResponseDto> toResponseDtos(List<Absence> absences) {
+        if (absences.isEmpty()) {
+            return List.of();
+        }
 
-        String reportedByName = getPersonName(absence.getReportedBy(), absence.getReportedByType());
+        Set<UUID> childIds = new HashSet<>();
+        Set<UUID> parentIds = new HashSet<>();
+        Set<UUID> staffIds = new HashSet<>();
+        for (Absence absence : absences) {
+            childIds.add(absence.getChildId());
+            if (absence.getReportedBy() != null) {
+                if (absence.getReportedByType() == PersonType.Parent) {
+                    parentIds.add(absence.getReportedBy());
+                } else {
+                    staffIds.add(absence.getReportedBy());
+                }
+            }
+            if (absence.getApprovedByStaff() != null) {
+                staffIds.add(absence.getApprovedByStaff());
+            }
+        }
+
+        Map<UUID, String> childNames = new HashMap<>();
+        childRepository.findAllById(childIds)
+                .forEach(c -> childNames.put(c.getId(), c.getFirstName() + " " + c.getLastName()));
+
+        Map<UUID, String> parentNames = new HashMap<>();
+        if (!parentIds.isEmpty()) {
+            parentRepository.findAllById(parentIds)
+                    .forEach(p -> parentNames.put(p.getId(), p.getFirstName() + " " + p.getLastName()));
+        }
+
+        Map<UUID, String> staffNames = new HashMap<>();
+        if (!staffIds.isEmpty()) {
+            staffRepository.findAllById(staffIds)
+                    .forEach(st -> staffNames.put(st.getId(), st.getFirstName() + " " + st.getLastName()));
+        }
+
+        return absences.stream()
+                .map(absence -> toResponseDto(absence, childNames, parentNames, staffNames))
+                .toList();
+    }
+
+    private AbsenceResponseDto toResponseDto(Absence absence, Map<UUID, String> childNames,
+                                             Map<UUID, String> parentNames, Map<UUID, String> staffNames) {
+        String reportedByName = null;
+        if (absence.getReportedBy() != null) {
+            reportedByName = absence.getReportedByType() == PersonType.Parent
+                    ? parentNames.get(absence.getReportedBy())
+                    : staffNames.get(absence.getReportedBy());
+        }
 
         String approvedByName = null;
         if (absence.getApprovedByStaff() != null) {
-            approvedByName = staffRepository.findById(absence.getApprovedByStaff())
-                    .map(s -> s.getFirstName() + " " + s.getLastName())
-                    .orElse(null);
+            approvedByName = staffNames.get(absence.getApprovedByStaff());
         }
 
         return AbsenceResponseDto.builder()
                 .id(absence.getId())
                 .childId(absence.getChildId())
-                .childName(childName)
+                .childName(childNames.get(absence.getChildId()))
                 .startDate(absence.getStartDate())
                 .endDate(absence.getEndDate())
                 .type(absence.getType())
@@ -149,16 +200,4 @@ public class AbsenceService {
                 .createdAt(absence.getCreatedAt())
                 .build();
     }
-
-    private String getPersonName(UUID personId, PersonType type) {
-        if (type == PersonType.Parent) {
-            return parentRepository.findById(personId)
-                    .map(p -> p.getFirstName() + " " + p.getLastName())
-                    .orElse(null);
-        } else {
-            return staffRepository.findById(personId)
-                    .map(s -> s.getFirstName() + " " + s.getLastName())
-                    .orElse(null);
-        }
-    }
 }
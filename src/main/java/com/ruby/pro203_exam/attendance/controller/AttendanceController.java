@@ -0,0 +1,129 @@
+package com.ruby.pro203_exam.attendance.controller;
+
+import com.ruby.pro203_exam.attendance.dto.AttendanceReportDto;
+import com.ruby.pro203_exam.attendance.dto.DailyAttendanceDto;
+import com.ruby.pro203_exam.attendance.service.AttendanceExportService;
+import com.ruby.pro203_exam.attendance.service.AttendanceService;
+import com.ruby.pro203_exam.auth.exception.AccessDeniedException;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
+import com.ruby.pro203_exam.auth.service.AuthorizationService;
+import com.ruby.pro203_exam.auth.util.SecurityUtils;
+import com.ruby.pro203_exam.group.dto.GroupResponseDto;
+import com.ruby.pro203_exam.group.service.GroupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/attendance")
+@RequiredArgsConstructor
+@Slf4j
+public class AttendanceController {
+
+    private final AttendanceService attendanceService;
+    private final AttendanceExportService attendanceExportService;
+    private final GroupService groupService;
+    private final AuthorizationService authorizationService;
+    private final SecurityUtils securityUtils;
+
+    // Attendance report for a kindergarten - staff at that kindergarten only
+    @GetMapping("/kindergarten/{kindergartenId}")
+    public ResponseEntity<AttendanceReportDto> getKindergartenReport(
+            @PathVariable UUID kindergartenId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        AuthenticatedUser user = securityUtils.getCurrentUser();
+
+        if (!authorizationService.isStaffAt(user.getId(), kindergartenId)) {
+            throw new AccessDeniedException("Cannot view attendance for this kindergarten");
+        }
+
+        return ResponseEntity.ok(attendanceService.getKindergartenReport(kindergartenId, from, to));
+    }
+
+    // Attendance report for a group - staff at the group's kindergarten only
+    @GetMapping("/group/{groupId}")
+    public ResponseEntity<AttendanceReportDto> getGroupReport(
+            @PathVariable UUID groupId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        AuthenticatedUser user = securityUtils.getCurrentUser();
+        GroupResponseDto group = groupService.getGroupById(groupId);
+
+        if (!authorizationService.isStaffAt(user.getId(), group.getKindergartenId())) {
+            throw new AccessDeniedException("Cannot view attendance for this group");
+        }
+
+        return ResponseEntity.ok(attendanceService.getGroupReport(group.getKindergartenId(), groupId, from, to));
+    }
+
+    // A child's attendance day by day
+    @GetMapping("/child/{childId}")
+    public ResponseEntity<List<DailyAttendanceDto>> getChildAttendance(
+            @PathVariable UUID childId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        AuthenticatedUser user = securityUtils.getCurrentUser();
+
+        if (!authorizationService.canViewChild(user.getId(), childId)) {
+            throw new AccessDeniedException("Cannot view attendance for this child");
+        }
+
+        return ResponseEntity.ok(attendanceService.getChildAttendance(childId, from, to));
+    }
+
+    // Rebuild the rollups of the boss's kindergarten from check-in history
+    @PostMapping("/backfill")
+    public ResponseEntity<Map<String, Integer>> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        AuthenticatedUser user = securityUtils.getCurrentUser();
+
+        if (user.getKindergartenId() == null || !authorizationService.isBossAt(user.getId(), user.getKindergartenId())) {
+            throw new AccessDeniedException("Only boss can backfill attendance");
+        }
+
+        return ResponseEntity.ok(Map.of("days", attendanceService.backfill(user.getKindergartenId(), from, to)));
+    }
+
+    // Every check-in/out of the user's kindergarten in [from, to] as a download - boss or admin staff only
+    // format is csv (default) or jsonl, rows are streamed while they are read
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format) {
+
+        AuthenticatedUser user = securityUtils.getCurrentUser();
+
+        if (user.getKindergartenId() == null || !authorizationService.isPrivilegedAt(user.getId(), user.getKindergartenId())) {
+            throw new AccessDeniedException("Only boss or admin staff can export attendance");
+        }
+
+        AttendanceExportService.Format exportFormat = AttendanceExportService.parseFormat(format);
+        StreamingResponseBody body = attendanceExportService.export(user.getKindergartenId(), from, to, exportFormat);
+        String fileName = "attendance-" + from + "-" + to + (exportFormat == AttendanceExportService.Format.CSV ? ".csv" : ".jsonl");
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat == AttendanceExportService.Format.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ruby.pro203_exam.attendance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceDayDto {
+    private LocalDate day;
+    private long childrenPresent;
+    private long totalMinutes;
+}
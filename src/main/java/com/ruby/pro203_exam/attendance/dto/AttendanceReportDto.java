@@ -0,0 +1,24 @@
+package com.ruby.pro203_exam.attendance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+// Attendance of a kindergarten or a group over [from, to] - groupId is null for a kindergarten report
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceReportDto {
+    private UUID kindergartenId;
+    private UUID groupId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<AttendanceDayDto> days;
+    private List<ChildAttendanceDto> children;
+}
@@ -0,0 +1,18 @@
+package com.ruby.pro203_exam.attendance.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChildAttendanceDto {
+    private UUID childId;
+    private long daysPresent;
+    private long totalMinutes;
+}
@@ -0,0 +1,30 @@
+package com.ruby.pro203_exam.attendance.dto;
+
+import com.ruby.pro203_exam.checker.model.PersonType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyAttendanceDto {
+    private UUID childId;
+    private LocalDate day;
+    private LocalDateTime firstCheckIn;
+    private LocalDateTime lastCheckOut;
+    private int minutesPresent;
+    private int sessions;
+    private UUID droppedOffBy;
+    private PersonType droppedOffPersonType;
+    private String droppedOffPersonName;
+    private UUID pickedUpBy;
+    private PersonType pickedUpPersonType;
+    private String pickedUpPersonName;
+}
@@ -0,0 +1,79 @@
+package com.ruby.pro203_exam.attendance.model;
+
+import com.ruby.pro203_exam.checker.model.PersonType;
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One child's attendance on one day - rolled up from check_in_out_log, written only by DailyAttendanceRepositoryImpl
+@Entity
+@Table(name = "daily_attendance")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyAttendance {
+
+    @Id
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
+    private UUID id;
+
+    @Column(name = "child_id", nullable = false)
+    private UUID childId;
+
+    @Column(name = "attendance_date", nullable = false)
+    private LocalDate attendanceDate;
+
+    @Column(name = "kindergarten_id")
+    private UUID kindergartenId;
+
+    @Column(name = "group_id")
+    private UUID groupId;
+
+    // First arrival that day
+    @Column(name = "first_check_in", nullable = false)
+    private LocalDateTime firstCheckIn;
+
+    // Last pickup of the sessions started that day
+    @Column(name = "last_check_out", nullable = false)
+    private LocalDateTime lastCheckOut;
+
+    @Column(name = "minutes_present", nullable = false)
+    private int minutesPresent;
+
+    // Number of check-ins that day
+    @Column(name = "sessions", nullable = false)
+    private int sessions;
+
+    // WHO dropped off at the first check-in
+    @Column(name = "dropped_off_by")
+    private UUID droppedOffBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dropped_off_by_type", length = 20)
+    private PersonType droppedOffByType;
+
+    @Column(name = "dropped_off_by_name", length = 255)
+    private String droppedOffByName;
+
+    // WHO picked up at the last check-out
+    @Column(name = "picked_up_by")
+    private UUID pickedUpBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "picked_up_by_type", length = 20)
+    private PersonType pickedUpByType;
+
+    @Column(name = "picked_up_by_name", length = 255)
+    private String pickedUpByName;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,10 @@
+package com.ruby.pro203_exam.attendance.repository;
+
+import java.time.LocalDate;
+
+// Attendance totals for one day of a kindergarten or group
+public interface AttendanceDayTotals {
+    LocalDate getDay();
+    long getChildrenPresent();
+    long getTotalMinutes();
+}
@@ -0,0 +1,10 @@
+package com.ruby.pro203_exam.attendance.repository;
+
+import java.util.UUID;
+
+// Attendance totals for one child over a report period
+public interface ChildAttendanceTotals {
+    UUID getChildId();
+    long getDaysPresent();
+    long getTotalMinutes();
+}
@@ -0,0 +1,54 @@
+package com.ruby.pro203_exam.attendance.repository;
+
+import com.ruby.pro203_exam.attendance.model.DailyAttendance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DailyAttendanceRepository extends JpaRepository<DailyAttendance, UUID>, DailyAttendanceRepositoryCustom {
+
+    // A child's days within [from, to], oldest first
+    List<DailyAttendance> findByChildIdAndAttendanceDateBetweenOrderByAttendanceDate(UUID childId, LocalDate from, LocalDate to);
+
+    // Per-day totals for a kindergarten - idx_daily_attendance_kindergarten_day
+    @Query("SELECT d.attendanceDate AS day, COUNT(d) AS childrenPresent, SUM(d.minutesPresent) AS totalMinutes " +
+            "FROM DailyAttendance d " +
+            "WHERE d.kindergartenId = :kindergartenId AND d.attendanceDate BETWEEN :from AND :to " +
+            "GROUP BY d.attendanceDate ORDER BY d.attendanceDate")
+    List<AttendanceDayTotals> findDayTotalsByKindergarten(@Param("kindergartenId") UUID kindergartenId,
+                                                          @Param("from") LocalDate from,
+                                                          @Param("to") LocalDate to);
+
+    // Per-child totals for a kindergarten
+    @Query("SELECT d.childId AS childId, COUNT(d) AS daysPresent, SUM(d.minutesPresent) AS totalMinutes " +
+            "FROM DailyAttendance d " +
+            "WHERE d.kindergartenId = :kindergartenId AND d.attendanceDate BETWEEN :from AND :to " +
+            "GROUP BY d.childId")
+    List<ChildAttendanceTotals> findChildTotalsByKindergarten(@Param("kindergartenId") UUID kindergartenId,
+                                                              @Param("from") LocalDate from,
+                                                              @Param("to") LocalDate to);
+
+    // Per-day totals for a group - idx_daily_attendance_group_day
+    @Query("SELECT d.attendanceDate AS day, COUNT(d) AS childrenPresent, SUM(d.minutesPresent) AS totalMinutes " +
+            "FROM DailyAttendance d " +
+            "WHERE d.groupId = :groupId AND d.attendanceDate BETWEEN :from AND :to " +
+            "GROUP BY d.attendanceDate ORDER BY d.attendanceDate")
+    List<AttendanceDayTotals> findDayTotalsByGroup(@Param("groupId") UUID groupId,
+                                                   @Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to);
+
+    // Per-child totals for a group
+    @Query("SELECT d.childId AS childId, COUNT(d) AS daysPresent, SUM(d.minutesPresent) AS totalMinutes " +
+            "FROM DailyAttendance d " +
+            "WHERE d.groupId = :groupId AND d.attendanceDate BETWEEN :from AND :to " +
+            "GROUP BY d.childId")
+    List<ChildAttendanceTotals> findChildTotalsByGroup(@Param("groupId") UUID groupId,
+                                                       @Param("from") LocalDate from,
+                                                       @Param("to") LocalDate to);
+}
@@ -0,0 +1,15 @@
+package com.ruby.pro203_exam.attendance.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
+
+// Rebuilds daily_attendance rows from check_in_out_log - recomputing instead of adding keeps it safe to run twice
+public interface DailyAttendanceRepositoryCustom {
+
+    // Rebuild the given children's days in [from, to) - used on check-out, returns the number of rows written
+    int rollUpChildren(Collection<UUID> childIds, LocalDate from, LocalDate to);
+
+    // Rebuild every day in [from, to) for one kindergarten, or all of them when kindergartenId is null - used for backfill
+    int rollUpKindergarten(UUID kindergartenId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,83 @@
+package com.ruby.pro203_exam.attendance.repository;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
+
+/* JDBC side of DailyAttendanceRepository - Spring Data picks it up by the Impl suffix
+    - One INSERT ... SELECT aggregates the finished sessions per child and day and upserts them
+    - Only closed sessions count, a child still checked in shows up after check-out
+    - The check_in_time range keeps the scan on the partitions of check_in_out_log in range (V11)
+    - Runs inside the caller's appTransactionManager transaction
+*/
+public class DailyAttendanceRepositoryImpl implements DailyAttendanceRepositoryCustom {
+
+    // First drop-off and last pickup come from the earliest check-in and the latest check-out of the day
+    private static final String ROLL_UP =
+            "INSERT INTO daily_attendance (child_id, attendance_date, kindergarten_id, group_id, first_check_in, last_check_out, " +
+            "    minutes_present, sessions, dropped_off_by, dropped_off_by_type, dropped_off_by_name, " +
+            "    picked_up_by, picked_up_by_type, picked_up_by_name, updated_at) " +
+            "SELECT l.child_id, CAST(l.check_in_time AS DATE), ch.kindergarten_id, ch.group_id, " +
+            "    MIN(l.check_in_time), MAX(l.check_out_time), " +
+            "    CAST(SUM(EXTRACT(EPOCH FROM (l.check_out_time - l.check_in_time))) / 60 AS INTEGER), COUNT(*), " +
+            "    (array_agg(l.dropped_off_by ORDER BY l.check_in_time))[1], " +
+            "    (array_agg(l.dropped_off_by_type ORDER BY l.check_in_time))[1], " +
+            "    (array_agg(l.dropped_off_by_name ORDER BY l.check_in_time))[1], " +
+            "    (array_agg(l.picked_up_by ORDER BY l.check_out_time DESC))[1], " +
+            "    (array_agg(l.picked_up_by_type ORDER BY l.check_out_time DESC))[1], " +
+            "    (array_agg(l.picked_up_by_name ORDER BY l.check_out_time DESC))[1], " +
+            "    now() " +
+            "FROM check_in_out_log l " +
+            "LEFT JOIN children ch ON ch.id = l.child_id " +
+            "WHERE l.check_in_time >= :from AND l.check_in_time < :to " +
+            "AND l.check_out_time IS NOT NULL " +
+            "AND %s " +
+            "GROUP BY l.child_id, CAST(l.check_in_time AS DATE), ch.kindergarten_id, ch.group_id " +
+            "ON CONFLICT (child_id, attendance_date) DO UPDATE SET " +
+            "    kindergarten_id = EXCLUDED.kindergarten_id, group_id = EXCLUDED.group_id, " +
+            "    first_check_in = EXCLUDED.first_check_in, last_check_out = EXCLUDED.last_check_out, " +
+            "    minutes_present = EXCLUDED.minutes_present, sessions = EXCLUDED.sessions, " +
+            "    dropped_off_by = EXCLUDED.dropped_off_by, dropped_off_by_type = EXCLUDED.dropped_off_by_type, " +
+            "    dropped_off_by_name = EXCLUDED.dropped_off_by_name, picked_up_by = EXCLUDED.picked_up_by, " +
+            "    picked_up_by_type = EXCLUDED.picked_up_by_type, picked_up_by_name = EXCLUDED.picked_up_by_name, " +
+            "    updated_at = EXCLUDED.updated_at";
+
+    private static final String ROLL_UP_CHILDREN = String.format(ROLL_UP, "l.child_id IN (:childIds)");
+    private static final String ROLL_UP_KINDERGARTEN = String.format(ROLL_UP, "ch.kindergarten_id = :kindergartenId");
+    private static final String ROLL_UP_ALL = String.format(ROLL_UP, "TRUE");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public DailyAttendanceRepositoryImpl(@Qualifier("appJdbcTemplate") NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int rollUpChildren(Collection<UUID> childIds, LocalDate from, LocalDate to) {
+        if (childIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(ROLL_UP_CHILDREN, range(from, to).addValue("childIds", childIds));
+    }
+
+    @Override
+    public int rollUpKindergarten(UUID kindergartenId, LocalDate from, LocalDate to) {
+        if (kindergartenId == null) {
+            return jdbcTemplate.update(ROLL_UP_ALL, range(from, to));
+        }
+        return jdbcTemplate.update(ROLL_UP_KINDERGARTEN, range(from, to).addValue("kindergartenId", kindergartenId, Types.OTHER));
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private static MapSqlParameterSource range(LocalDate from, LocalDate to) {
+        return new MapSqlParameterSource()
+                .addValue("from", from.atStartOfDay())
+                .addValue("to", to.atStartOfDay());
+    }
+}
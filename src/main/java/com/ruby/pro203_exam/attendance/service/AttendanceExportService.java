@@ -0,0 +1,180 @@
+package com.ruby.pro203_exam.attendance.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/* Attendance export of a kindergarten for municipal reporting - every check-in/out in a period
+    - Rows go straight from a forward-only JDBC cursor to the response, no entities and no list in memory
+    - appExportJdbcTemplate reads fetchSize rows at a time - Postgres only uses a cursor inside a transaction,
+      so the query runs in a read-only appTransactionManager transaction on the streaming thread
+    - CSV or JSON lines, one check-in per line, oldest first
+*/
+@Service
+@Slf4j
+public class AttendanceExportService {
+
+    public enum Format { CSV, JSONL }
+
+    // Longest period one export covers
+    private static final int MAX_EXPORT_DAYS = 366;
+
+    private static final String EXPORT =
+            "SELECT l.id, l.child_id, ch.first_name, ch.last_name, g.name AS group_name, " +
+            "    l.check_in_time, l.check_out_time, l.dropped_off_by_type, l.dropped_off_by_name, " +
+            "    l.picked_up_by_type, l.picked_up_by_name, l.id_verified, l.notes " +
+            "FROM check_in_out_log l " +
+            "JOIN children ch ON ch.id = l.child_id " +
+            "LEFT JOIN groups g ON g.id = ch.group_id " +
+            "WHERE ch.kindergarten_id = :kindergartenId " +
+            "AND l.check_in_time >= :from AND l.check_in_time < :to " +
+            "ORDER BY l.check_in_time, l.id";
+
+    private static final String[] COLUMNS = {
+            "checkInId", "childId", "firstName", "lastName", "group", "checkIn", "checkOut", "minutesPresent",
+            "droppedOffByType", "droppedOffByName", "pickedUpByType", "pickedUpByName", "idVerified", "notes"
+    };
+
+    // First characters that make a spreadsheet read a cell as a formula
+    private static final String FORMULA_START = "=+-@\t\r";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+
+    public AttendanceExportService(@Qualifier("appExportJdbcTemplate") NamedParameterJdbcTemplate jdbcTemplate,
+                                   @Qualifier("appTransactionManager") PlatformTransactionManager transactionManager,
+                                   JsonMapper jsonMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonMapper = jsonMapper;
+    }
+
+    public static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown export format: " + format);
+        }
+    }
+
+    // Checked here, before the response starts - errors while streaming can only cut the download short
+    public StreamingResponseBody export(UUID kindergartenId, LocalDate from, LocalDate to, Format format) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("Export period must have from <= to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_EXPORT_DAYS) {
+            throw new RuntimeException("Export period cannot be longer than " + MAX_EXPORT_DAYS + " days");
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("kindergartenId", kindergartenId, Types.OTHER)
+                .addValue("from", from.atStartOfDay())
+                .addValue("to", to.plusDays(1).atStartOfDay());
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (format == Format.CSV) {
+                writer.write(String.join(",", COLUMNS));
+                writer.write("\n");
+            }
+
+            long[] rows = {0};
+            RowCallbackHandler handler = rs -> {
+                write(writer, format, toRow(rs));
+                rows[0]++;
+            };
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(EXPORT, params, handler));
+
+            writer.flush();
+            log.info("Exported {} check-ins for kindergarten: {} from {} to {}", rows[0], kindergartenId, from, to);
+        };
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    // One export line in COLUMNS order - null for missing values
+    private static Map<String, Object> toRow(ResultSet rs) throws SQLException {
+        Timestamp checkIn = rs.getTimestamp("check_in_time");
+        Timestamp checkOut = rs.getTimestamp("check_out_time");
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("checkInId", rs.getString("id"));
+        row.put("childId", rs.getString("child_id"));
+        row.put("firstName", rs.getString("first_name"));
+        row.put("lastName", rs.getString("last_name"));
+        row.put("group", rs.getString("group_name"));
+        row.put("checkIn", checkIn != null ? checkIn.toLocalDateTime().toString() : null);
+        row.put("checkOut", checkOut != null ? checkOut.toLocalDateTime().toString() : null);
+        row.put("minutesPresent", checkIn != null && checkOut != null
+                ? ChronoUnit.MINUTES.between(checkIn.toLocalDateTime(), checkOut.toLocalDateTime()) : null);
+        row.put("droppedOffByType", rs.getString("dropped_off_by_type"));
+        row.put("droppedOffByName", rs.getString("dropped_off_by_name"));
+        row.put("pickedUpByType", rs.getString("picked_up_by_type"));
+        row.put("pickedUpByName", rs.getString("picked_up_by_name"));
+        row.put("idVerified", rs.getBoolean("id_verified"));
+        row.put("notes", rs.getString("notes"));
+        return row;
+    }
+
+    private void write(Writer writer, Format format, Map<String, Object> row) {
+        try {
+            if (format == Format.JSONL) {
+                writer.write(jsonMapper.writeValueAsString(row));
+            } else {
+                StringJoiner line = new StringJoiner(",");
+                for (String column : COLUMNS) {
+                    line.add(csv(row.get(column)));
+                }
+                writer.write(line.toString());
+            }
+            writer.write("\n");
+        } catch (IOException e) {
+            // Client went away - unwinds the query and releases the cursor
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /* RFC 4180 - quote values holding a separator, quote or line break
+        - Text starting with = + - @ tab or CR would run as a formula in Excel - it gets a leading ' and is quoted
+    */
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && FORMULA_START.indexOf(text.charAt(0)) >= 0) {
+            return "\"'" + text.replace("\"", "\"\"") + "\"";
+        }
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,156 @@
+package com.ruby.pro203_exam.attendance.service;
+
+import com.ruby.pro203_exam.attendance.dto.AttendanceDayDto;
+import com.ruby.pro203_exam.attendance.dto.AttendanceReportDto;
+import com.ruby.pro203_exam.attendance.dto.ChildAttendanceDto;
+import com.ruby.pro203_exam.attendance.dto.DailyAttendanceDto;
+import com.ruby.pro203_exam.attendance.model.DailyAttendance;
+import com.ruby.pro203_exam.attendance.repository.AttendanceDayTotals;
+import com.ruby.pro203_exam.attendance.repository.ChildAttendanceTotals;
+import com.ruby.pro203_exam.attendance.repository.DailyAttendanceRepository;
+import com.ruby.pro203_exam.checker.model.CheckInOut;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/* Daily attendance rollups (daily_attendance) and the reports built on them
+    - Check-out rebuilds the checked-out children's day in the same transaction
+    - Backfill rebuilds past days from check_in_out_log, one month per statement
+    - Reports read only daily_attendance, never the raw log
+*/
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(transactionManager = "appTransactionManager")
+public class AttendanceService {
+
+    // Longest period one report covers
+    private static final int MAX_REPORT_DAYS = 366;
+
+    private final DailyAttendanceRepository dailyAttendanceRepository;
+
+    // Rebuild the rollup of each check-out's day - called by CheckerService with the rows it just closed
+    public void recordCheckOuts(Collection<CheckInOut> checkedOut) {
+        if (checkedOut.isEmpty()) {
+            return;
+        }
+        List<UUID> childIds = checkedOut.stream().map(CheckInOut::getChildId).distinct().toList();
+        LocalDate from = checkedOut.stream().map(c -> c.getCheckInTime().toLocalDate()).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = checkedOut.stream().map(c -> c.getCheckInTime().toLocalDate()).max(Comparator.naturalOrder()).orElseThrow();
+
+        int rows = dailyAttendanceRepository.rollUpChildren(childIds, from, to.plusDays(1));
+        log.debug("Rolled up {} attendance days for {} children", rows, childIds.size());
+    }
+
+    /* Rebuild the rollups of [from, to] from check_in_out_log - kindergartenId null means every kindergarten
+        - Each month is its own statement and commits on its own, so a long backfill can be stopped and run again
+        - Safe to repeat, rows are recomputed, not added to
+    */
+    @Transactional(transactionManager = "appTransactionManager", propagation = Propagation.NOT_SUPPORTED)
+    public int backfill(UUID kindergartenId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new RuntimeException("Backfill needs from <= to");
+        }
+        log.info("Backfilling attendance for kindergarten: {} from {} to {}", kindergartenId, from, to);
+
+        int rows = 0;
+        LocalDate end = to.plusDays(1);
+        for (LocalDate start = from; start.isBefore(end); start = start.withDayOfMonth(1).plusMonths(1)) {
+            LocalDate chunkEnd = start.withDayOfMonth(1).plusMonths(1);
+            rows += dailyAttendanceRepository.rollUpKindergarten(kindergartenId, start, chunkEnd.isBefore(end) ? chunkEnd : end);
+        }
+
+        log.info("Backfill wrote {} attendance days", rows);
+        return rows;
+    }
+
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
+    public AttendanceReportDto getKindergartenReport(UUID kindergartenId, LocalDate from, LocalDate to) {
+        checkPeriod(from, to);
+        return AttendanceReportDto.builder()
+                .kindergartenId(kindergartenId)
+                .from(from)
+                .to(to)
+                .days(toDayDtos(dailyAttendanceRepository.findDayTotalsByKindergarten(kindergartenId, from, to)))
+                .children(toChildDtos(dailyAttendanceRepository.findChildTotalsByKindergarten(kindergartenId, from, to)))
+                .build();
+    }
+
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
+    public AttendanceReportDto getGroupReport(UUID kindergartenId, UUID groupId, LocalDate from, LocalDate to) {
+        checkPeriod(from, to);
+        return AttendanceReportDto.builder()
+                .kindergartenId(kindergartenId)
+                .groupId(groupId)
+                .from(from)
+                .to(to)
+                .days(toDayDtos(dailyAttendanceRepository.findDayTotalsByGroup(groupId, from, to)))
+                .children(toChildDtos(dailyAttendanceRepository.findChildTotalsByGroup(groupId, from, to)))
+                .build();
+    }
+
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
+    public List<DailyAttendanceDto> getChildAttendance(UUID childId, LocalDate from, LocalDate to) {
+        checkPeriod(from, to);
+        return dailyAttendanceRepository.findByChildIdAndAttendanceDateBetweenOrderByAttendanceDate(childId, from, to).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private void checkPeriod(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("Report period must have from <= to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new RuntimeException("Report period cannot be longer than " + MAX_REPORT_DAYS + " days");
+        }
+    }
+
+    private List<AttendanceDayDto> toDayDtos(List<AttendanceDayTotals> totals) {
+        return totals.stream()
+                .map(day -> AttendanceDayDto.builder()
+                        .day(day.getDay())
+                        .childrenPresent(day.getChildrenPresent())
+                        .totalMinutes(day.getTotalMinutes())
+                        .build())
+                .toList();
+    }
+
+    private List<ChildAttendanceDto> toChildDtos(List<ChildAttendanceTotals> totals) {
+        return totals.stream()
+                .map(child -> ChildAttendanceDto.builder()
+                        .childId(child.getChildId())
+                        .daysPresent(child.getDaysPresent())
+                        .totalMinutes(child.getTotalMinutes())
+                        .build())
+                .toList();
+    }
+
+    private DailyAttendanceDto toDto(DailyAttendance attendance) {
+        return DailyAttendanceDto.builder()
+                .childId(attendance.getChildId())
+                .day(attendance.getAttendanceDate())
+                .firstCheckIn(attendance.getFirstCheckIn())
+                .lastCheckOut(attendance.getLastCheckOut())
+                .minutesPresent(attendance.getMinutesPresent())
+                .sessions(attendance.getSessions())
+                .droppedOffBy(attendance.getDroppedOffBy())
+                .droppedOffPersonType(attendance.getDroppedOffByType())
+                .droppedOffPersonName(attendance.getDroppedOffByName())
+                .pickedUpBy(attendance.getPickedUpBy())
+                .pickedUpPersonType(attendance.getPickedUpByType())
+                .pickedUpPersonName(attendance.getPickedUpByName())
+                .build();
+    }
+}
@@ -1,7 +1,12 @@
 package com.ruby.pro203_exam.auth.config;
 
 import com.ruby.pro203_exam.auth.filter.JwtAuthFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.actuate.endpoint.HealthEndpoint;
+import org.springframework.boot.micrometer.metrics.autoconfigure.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -24,8 +29,19 @@ public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
 
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception{
+        // On the API port the open actuator endpoints below would be public
+        if (managementPort == serverPort) {
+            throw new IllegalStateException("management.server.port must differ from server.port (" + serverPort + ")");
+        }
+
         http
                 // Disable CSRF - We are using JWT instead
                 .csrf(AbstractHttpConfigurer::disable)
@@ -35,10 +51,16 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 // Endpoint access rules
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches of already authorized requests (SSE streams) - the JWT filter only runs on the first dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/google").permitAll()
                         .requestMatchers("/api/auth/complete-registration/**").permitAll()
                         .requestMatchers("/api/kindergartens").permitAll()
                         .requestMatchers("/error").permitAll()
+                        // Liveness and readiness on the API port
+                        .requestMatchers("/livez", "/readyz").permitAll()
+                        // Health and Prometheus scraping - only matches on management.server.port, which the public proxy does not forward
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class)).permitAll()
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
@@ -2,7 +2,9 @@ package com.ruby.pro203_exam.auth.controller;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.ruby.pro203_exam.auth.dto.*;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.service.AuthService;
+import com.ruby.pro203_exam.auth.service.AuthenticatedUserService;
 import com.ruby.pro203_exam.auth.service.GoogleAuthService;
 import com.ruby.pro203_exam.auth.service.JwtService;
 import jakarta.validation.Valid;
@@ -28,6 +30,7 @@ public class AuthController {
     private final AuthService authService;
     private final GoogleAuthService googleAuthService;
     private final JwtService jwtService;
+    private final AuthenticatedUserService authenticatedUserService;
 
     // Called by frontend with Google ID token - verifies token and handles user login/registration
     @PostMapping("/google")
@@ -59,11 +62,7 @@ public class AuthController {
             UserResponseDto user = authService.handleOpenIdCallback(callbackDto);
 
             // Generate JWT token
-            String jwtToken = jwtService.generateToken(
-                    user.getEmail(),
-                    user.getRole() != null ? user.getRole().toString() : null,
-                    user.getId()
-            );
+            String jwtToken = generateToken(user);
 
             boolean reqReg = (user.getRole() == null || user.getProfileId() == null);
 
@@ -110,11 +109,7 @@ public class AuthController {
         UserResponseDto user = authService.completeRegistration(userId, dto);
 
         // Generate new JWT with updated role and profile
-        String jwtToken = jwtService.generateToken(
-                user.getEmail(),
-                user.getRole().toString(),
-                user.getId()
-        );
+        String jwtToken = generateToken(user);
 
         LoginResponseDto response = LoginResponseDto.builder()
                 .token(jwtToken)
@@ -154,4 +149,12 @@ public class AuthController {
         authService.acceptTos(userId, tosVersion);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+    // Token carries profile, kindergarten and admin claims so later requests need no db lookup
+    private String generateToken(UserResponseDto user) {
+        AuthenticatedUser principal = authenticatedUserService.loadById(user.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return jwtService.generateToken(principal);
+    }
+}
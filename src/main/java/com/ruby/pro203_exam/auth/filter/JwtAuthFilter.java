@@ -1,12 +1,18 @@
 package com.ruby.pro203_exam.auth.filter;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
+import com.ruby.pro203_exam.auth.model.UserRole;
+import com.ruby.pro203_exam.auth.model.VerifiedToken;
+import com.ruby.pro203_exam.auth.service.AuthenticatedUserService;
 import com.ruby.pro203_exam.auth.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,13 +23,39 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/* Authenticates Bearer tokens - the principal is set in the SecurityContext for the rest of the request
+    - Timings: jwt.verification is the signature check alone (cache misses), jwt.authentication the whole step
+      including the token cache and principal lookup - both tagged result=valid/invalid
+    - The caller's role is left in a request attribute for the role tag on http.server.requests
+*/
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    public static final String ROLE_ATTRIBUTE = JwtAuthFilter.class.getName() + ".role";
+
     private final JwtService jwtService;
+    private final AuthenticatedUserService authenticatedUserService;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final Timer verificationValid;
+    private final Timer verificationInvalid;
+    private final Timer authenticationValid;
+    private final Timer authenticationInvalid;
+
+    public JwtAuthFilter(JwtService jwtService, AuthenticatedUserService authenticatedUserService,
+                         VerifiedTokenCache verifiedTokenCache, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.authenticatedUserService = authenticatedUserService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.verificationValid = timer(meterRegistry, "jwt.verification", "Signature verification of a JWT", "valid");
+        this.verificationInvalid = timer(meterRegistry, "jwt.verification", "Signature verification of a JWT", "invalid");
+        this.authenticationValid = timer(meterRegistry, "jwt.authentication", "JWT authentication of a request", "valid");
+        this.authenticationInvalid = timer(meterRegistry, "jwt.authentication", "JWT authentication of a request", "invalid");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -42,38 +74,76 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         // Extract token (remove "Bearer " prefix)
         String token = authHeader.substring(7);
+        long start = System.nanoTime();
+        boolean authenticated = false;
 
         try {
-            // Validate token and extract claims
-            if (jwtService.validateToken(token)) {
-                String email = jwtService.extractEmail(token);
-                String role = jwtService.extractRole(token);
-
-                // Create authority from role (e.g., ROLE_BOSS, ROLE_STAFF, ROLE_PARENT)
-                List<SimpleGrantedAuthority> authorities;
-                if (role != null) {
-                    authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-                }else {
-                    authorities = List.of(new SimpleGrantedAuthority("ROLE_INCOMPLETE"));
-                }
+            // Validate token and extract claims - one signature verification per request, none on a cache hit
+            Optional<VerifiedToken> verified = verifiedTokenCache.get(token, this::verify);
+
+            if (verified.isPresent()) {
+                String email = verified.get().getEmail();
+
+                // Resolve the principal once - from the token claims when they are current, otherwise from the db
+                // SecurityUtils and AuthorizationService read it for the rest of the request
+                Optional<AuthenticatedUser> principal = jwtService.extractPrincipal(verified.get())
+                        .or(() -> authenticatedUserService.loadByEmail(email));
+
+                if (principal.isPresent()) {
+                    UserRole role = principal.get().getRole();
+
+                    // Create authority from role (e.g., ROLE_BOSS, ROLE_STAFF, ROLE_PARENT)
+                    List<SimpleGrantedAuthority> authorities;
+                    if (role != null) {
+                        authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+                    } else {
+                        authorities = List.of(new SimpleGrantedAuthority("ROLE_INCOMPLETE"));
+                    }
 
-                // Create authentication token
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(email, null, authorities);
+                    // Create authentication token
+                    UsernamePasswordAuthenticationToken authToken =
+                            new UsernamePasswordAuthenticationToken(principal.get(), null, authorities);
 
-                // Attach request details
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    // Attach request details
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                // Set in security context (makes user available throughout request)
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                    // Set in security context (makes user available throughout request)
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                    request.setAttribute(ROLE_ATTRIBUTE, role != null ? role.name() : "INCOMPLETE");
+                    authenticated = true;
 
-                log.debug("Authenticated user: {} with role: {}", email, role);
+                    log.debug("Authenticated user: {} with role: {}", email, role);
+                } else {
+                    log.warn("No user found for token subject: {}", email);
+                }
             }
         } catch (Exception e) {
             log.error("JWT authentication failed: {}", e.getMessage());
             // Don't set authentication - request will be rejected by security config
         }
-        
+        (authenticated ? authenticationValid : authenticationInvalid).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
         filterChain.doFilter(request, response);
     }
+
+    // Hit, miss and eviction counters of the verified token cache
+    public CacheStats getTokenCacheStats() {
+        return verifiedTokenCache.stats();
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private Optional<VerifiedToken> verify(String token) {
+        long start = System.nanoTime();
+        Optional<VerifiedToken> verified = jwtService.verify(token);
+        (verified.isPresent() ? verificationValid : verificationInvalid).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return verified;
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String description, String result) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("result", result)
+                .register(registry);
+    }
 }
@@ -0,0 +1,123 @@
+package com.ruby.pro203_exam.auth.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ruby.pro203_exam.auth.model.VerifiedToken;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Function;
+
+/* In-memory cache of already verified tokens - mobile clients resend the same token for its whole lifetime
+    - Keyed by SHA-256 of the token so raw tokens are not kept in memory
+    - Bounded by jwt.cache.max-size and jwt.cache.ttl, and an entry never outlives its token's own expiry
+    - Only valid tokens are cached, invalid ones are verified (and rejected) every time
+    - Hit/miss/eviction counts and size are exported as cache.* metrics with cache=verified-tokens
+*/
+@Component
+@Slf4j
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(
+            @Value("${jwt.cache.enabled:false}") boolean enabled,
+            @Value("${jwt.cache.max-size:10000}") long maxSize,
+            @Value("${jwt.cache.ttl:PT15M}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(ttl))
+                .recordStats()
+                .build();
+
+        log.info("Verified token cache enabled: {} (max size: {}, ttl: {})", enabled, maxSize, ttl);
+    }
+
+    // Cached token if present, otherwise verify and cache the result
+    public Optional<VerifiedToken> get(String token, Function<String, Optional<VerifiedToken>> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+
+        String key = digest(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<VerifiedToken> verified = verifier.apply(token);
+        verified.ifPresent(value -> cache.put(key, value));
+        return verified;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Hit, miss and eviction counters
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "verified-tokens");
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Entry lives for the configured ttl or until the token expires, whichever comes first
+    @RequiredArgsConstructor
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        private final Duration ttl;
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            long ttlNanos = ttl.toNanos();
+            if (token.getExpiration() == null) {
+                return ttlNanos;
+            }
+            long untilExpiry = Duration.ofMillis(token.getExpiration().getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
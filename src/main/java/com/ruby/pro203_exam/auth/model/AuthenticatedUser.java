@@ -0,0 +1,42 @@
+package com.ruby.pro203_exam.auth.model;
+
+// Resolved principal for the current request - built once by JwtAuthFilter and read by SecurityUtils/AuthorizationService
+
+import lombok.*;
+
+import java.security.Principal;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class AuthenticatedUser implements Principal {
+
+    // ID of the user in auth db
+    private final UUID id;
+
+    private final String email;
+
+    // Null until registration is completed
+    private final UserRole role;
+
+    // UUID link to Parent or Staff in app database
+    private final UUID profileId;
+
+    // Kindergarten of the staff profile - null for parents
+    private final UUID kindergartenId;
+
+    // Admin flag of the staff profile - false for parents
+    @Builder.Default
+    private final Boolean isAdmin = false;
+
+    public boolean isStaff() {
+        return role == UserRole.STAFF || role == UserRole.BOSS;
+    }
+
+    // Authentication.getName() returns this - keeps the email as the name like before
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ruby.pro203_exam.auth.model;
+
+// Claims revocation entity - when a staff profile's or a kindergarten's JWT claims went stale, shared by all instances
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "claims_revocations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimsRevocation {
+
+    public enum SubjectType {
+        PROFILE,
+        KINDERGARTEN
+    }
+
+    // Staff profile ID or kindergarten ID - both live in the app database
+    @Id
+    @Column(name = "subject_id", updatable = false, nullable = false)
+    private UUID subjectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subject_type", nullable = false, length = 20)
+    private SubjectType subjectType;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
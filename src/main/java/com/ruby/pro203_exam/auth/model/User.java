@@ -2,8 +2,10 @@ package com.ruby.pro203_exam.auth.model;
 
 // User entity - Stores Authentication and credentials separate from business data
 
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -18,7 +20,8 @@ import java.util.UUID;
 public class User {
     // Primary key is UUID
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID) // Auto generate UUID
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class) // Auto generate time-ordered UUID
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -0,0 +1,48 @@
+package com.ruby.pro203_exam.auth.model;
+
+// JWT whose signature and expiry are already verified - parse once per request, then read claims from here
+
+import com.ruby.pro203_exam.auth.service.JwtService;
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Getter
+@RequiredArgsConstructor
+public class VerifiedToken {
+
+    private final Claims claims;
+
+    // Subject is the user's email
+    public String getEmail() {
+        return claims.getSubject();
+    }
+
+    public String getRole() {
+        return claims.get(JwtService.CLAIM_ROLE, String.class);
+    }
+
+    public UUID getUserId() {
+        return getUuid(JwtService.CLAIM_USER_ID);
+    }
+
+    public Date getIssuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    // UUID claims are stored as strings
+    public UUID getUuid(String name) {
+        Object value = claims.get(name);
+        if (value instanceof String id) {
+            return UUID.fromString(id);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ruby.pro203_exam.auth.repository;
+
+import com.ruby.pro203_exam.auth.model.ClaimsRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ClaimsRevocationRepository extends JpaRepository<ClaimsRevocation, UUID> {
+
+    // Revocations that can still affect an unexpired token
+    List<ClaimsRevocation> findByRevokedAtAfter(Instant since);
+
+    // One statement, safe when two instances revoke the same subject at once - keeps the latest time
+    @Modifying
+    @Query(value = "INSERT INTO claims_revocations (subject_id, subject_type, revoked_at) " +
+            "VALUES (:subjectId, :subjectType, :revokedAt) " +
+            "ON CONFLICT (subject_id) DO UPDATE SET revoked_at = GREATEST(claims_revocations.revoked_at, EXCLUDED.revoked_at)",
+            nativeQuery = true)
+    void upsert(@Param("subjectId") UUID subjectId, @Param("subjectType") String subjectType, @Param("revokedAt") Instant revokedAt);
+}
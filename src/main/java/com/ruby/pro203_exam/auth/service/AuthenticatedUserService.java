@@ -0,0 +1,64 @@
+package com.ruby.pro203_exam.auth.service;
+
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
+import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.UserRole;
+import com.ruby.pro203_exam.auth.repository.UserRepository;
+import com.ruby.pro203_exam.staff.model.Staff;
+import com.ruby.pro203_exam.staff.repository.StaffRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+// Resolves users into AuthenticatedUser principals - one auth db lookup plus one staff lookup for STAFF/BOSS
+// Staff lookups stay on the primary (no readOnly) like AuthorizationService - the principal decides access
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(transactionManager = "appTransactionManager")
+public class AuthenticatedUserService {
+
+    private final UserRepository userRepository;
+    private final StaffRepository staffRepository;
+
+    // Used by JwtAuthFilter - the JWT subject is the email
+    public Optional<AuthenticatedUser> loadByEmail(String email) {
+        return userRepository.findByEmail(email).map(this::resolve);
+    }
+
+    // Used by AuthorizationService when asked about a user other than the current one
+    public Optional<AuthenticatedUser> loadById(UUID userId) {
+        return userRepository.findById(userId).map(this::resolve);
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private AuthenticatedUser resolve(User user) {
+        UUID kindergartenId = null;
+        boolean isAdmin = false;
+
+        // Staff and boss carry their kindergarten and admin flag from the staff profile
+        if ((user.getRole() == UserRole.STAFF || user.getRole() == UserRole.BOSS) && user.getProfileId() != null) {
+            Optional<Staff> staff = staffRepository.findById(user.getProfileId());
+            if (staff.isPresent()) {
+                kindergartenId = staff.get().getKindergartenId();
+                isAdmin = Boolean.TRUE.equals(staff.get().getIsAdmin());
+            } else {
+                log.warn("Staff profile not found: {}", user.getProfileId());
+            }
+        }
+
+        return AuthenticatedUser.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .profileId(user.getProfileId())
+                .kindergartenId(kindergartenId)
+                .isAdmin(isAdmin)
+                .build();
+    }
+}
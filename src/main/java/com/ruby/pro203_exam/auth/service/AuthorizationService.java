@@ -1,8 +1,8 @@
 package com.ruby.pro203_exam.auth.service;
 
-import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.model.UserRole;
-import com.ruby.pro203_exam.auth.repository.UserRepository;
+import com.ruby.pro203_exam.auth.util.SecurityUtils;
 import com.ruby.pro203_exam.child.model.Child;
 import com.ruby.pro203_exam.child.repository.ChildRepository;
 import com.ruby.pro203_exam.child.repository.ParentChildRelationshipRepository;
@@ -11,16 +11,20 @@ import com.ruby.pro203_exam.staff.repository.StaffRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.UUID;
 
 // Handles permission checks for what users can do
+// Always on the primary (no readOnly) - a replica may not have seen another user unlinking a parent or removing staff
 @RequiredArgsConstructor
 @Service
 @Slf4j
+@Transactional(transactionManager = "appTransactionManager")
 public class AuthorizationService {
 
-    private final UserRepository userRepository;
+    private final AuthenticatedUserService authenticatedUserService;
     private final StaffRepository staffRepository;
     private final ChildRepository childRepository;
     private final ParentChildRelationshipRepository parentChildRepo;
@@ -28,40 +32,36 @@ public class AuthorizationService {
 
     // Check if user is boss at a kindergarten
     public boolean isBossAt(UUID userId, UUID kindergartenId) {
-        User user = getUser(userId);
+        AuthenticatedUser user = getUser(userId);
 
         if (user.getRole() != UserRole.BOSS) {
             return false;
         }
 
-        Staff staff = getStaffProfile(user.getProfileId());
-        return kindergartenId.equals(staff.getKindergartenId());
+        return kindergartenId.equals(user.getKindergartenId());
     }
 
     // Check if user is staff at any kindergarten
     public boolean isStaffAt(UUID userId, UUID kindergartenId) {
-        User user = getUser(userId);
+        AuthenticatedUser user = getUser(userId);
 
         if (user.getRole() != UserRole.STAFF && user.getRole() != UserRole.BOSS) {
             return false;
         }
 
-        Staff staff = getStaffProfile(user.getProfileId());
-        return kindergartenId.equals(staff.getKindergartenId());
+        return kindergartenId.equals(user.getKindergartenId());
     }
 
     // Check if user is boss or privileged staff - admin rights
     public boolean isPrivilegedAt(UUID userId, UUID kindergartenId) {
-        User user = getUser(userId);
+        AuthenticatedUser user = getUser(userId);
 
         if (user.getRole() == UserRole.BOSS) {
-            Staff staff = getStaffProfile(user.getProfileId());
-            return kindergartenId.equals(staff.getKindergartenId());
+            return kindergartenId.equals(user.getKindergartenId());
         }
 
         if (user.getRole() == UserRole.STAFF) {
-            Staff staff = getStaffProfile(user.getProfileId());
-            return staff.getIsAdmin() && kindergartenId.equals(staff.getKindergartenId());
+            return user.getIsAdmin() && kindergartenId.equals(user.getKindergartenId());
         }
 
         return false;
@@ -70,7 +70,7 @@ public class AuthorizationService {
 
     // Check if user can view a child
     public boolean canViewChild(UUID userId, UUID childId) {
-        User user = getUser(userId);
+        AuthenticatedUser user = getUser(userId);
         Child child = getChild(childId);
 
         if (user.getRole() == UserRole.PARENT) {
@@ -86,7 +86,7 @@ public class AuthorizationService {
 
     // Check if a user can edit a child
     public boolean canEditChild(UUID userId, UUID childId) {
-        User user = getUser(userId);
+        AuthenticatedUser user = getUser(userId);
         Child child = getChild(childId);
 
         if (user.getRole() == UserRole.PARENT || user.getRole() == UserRole.BOSS) {
@@ -98,7 +98,7 @@ public class AuthorizationService {
 
     // Check if a user can add a child to a kindergarten
     public boolean canAddChild(UUID userId, UUID kindergartenId) {
-        User user = getUser(userId);
+        AuthenticatedUser user = getUser(userId);
 
         if (user.getRole() == UserRole.PARENT || user.getRole() == UserRole.BOSS) {
             return true;
@@ -115,7 +115,7 @@ public class AuthorizationService {
 
     // Check if a user can edit health data
     public boolean canEditHealthData(UUID userId, UUID childId) {
-        User user = getUser(userId);
+        AuthenticatedUser user = getUser(userId);
         Child child = getChild(childId);
 
         if (user.getRole() == UserRole.PARENT) {
@@ -146,7 +146,7 @@ public class AuthorizationService {
 
     // Check if a user can check out
     public boolean canCheckOut(UUID userId, UUID childId) {
-        User user = getUser(userId);
+        AuthenticatedUser user = getUser(userId);
         Child child = getChild(childId);
 
         if (user.getRole() == UserRole.PARENT) {
@@ -187,14 +187,24 @@ public class AuthorizationService {
 
     // Get staff's kindergarten ID
     public UUID getStaffKindergartenId(UUID staffProfileId) {
+        // Current staff member's kindergarten is already on the principal
+        Optional<AuthenticatedUser> current = SecurityUtils.findCurrentUser()
+                .filter(user -> staffProfileId.equals(user.getProfileId()) && user.isStaff());
+        if (current.isPresent()) {
+            return current.get().getKindergartenId();
+        }
+
         Staff staff = getStaffProfile(staffProfileId);
         return staff.getKindergartenId();
     }
 
     // ------------------------------------- HELPER METHODS ------------------------------------- //
 
-    private User getUser(UUID userId) {
-        return userRepository.findById(userId)
+    // Current request's principal when it matches - otherwise resolve from the db
+    private AuthenticatedUser getUser(UUID userId) {
+        return SecurityUtils.findCurrentUser()
+                .filter(current -> userId.equals(current.getId()))
+                .or(() -> authenticatedUserService.loadById(userId))
                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
     }
 
@@ -0,0 +1,181 @@
+package com.ruby.pro203_exam.auth.service;
+
+import com.ruby.pro203_exam.auth.model.ClaimsRevocation;
+import com.ruby.pro203_exam.auth.model.ClaimsRevocation.SubjectType;
+import com.ruby.pro203_exam.auth.repository.ClaimsRevocationRepository;
+import com.ruby.pro203_exam.staff.model.Staff;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* Tracks when profile claims embedded in JWTs went stale
+    - Tokens issued before a staff profile changed (promote/demote, kindergarten reassignment) are not trusted for claims
+    - Revocations are written to claims_revocations in the auth db once the app transaction that changed the profile
+      commits - a change that rolls back revokes nothing
+    - Every instance syncs claims_revocations into memory
+      every jwt.revocation-sync-interval - isStale never touches the db
+    - Another instance trusts revoked claims for at most one sync interval, and no instance trusts any claims
+      before its first sync
+    - A revocation first seen in a sync evicts the revoked staff from the app second-level cache, so the fallback
+      principal lookup does not read the flags that were revoked
+    Stale tokens are still valid for authentication - JwtAuthFilter just resolves the principal from the db instead
+*/
+@Service
+@Slf4j
+public class ClaimsRevocationService {
+
+    private final ClaimsRevocationRepository revocationRepository;
+    private final Cache appCache;
+    private final TransactionOperations authTransactions;
+    private final Duration tokenLifetime;
+    private final Clock clock;
+
+    // Staff profile ID -> time its claims were revoked
+    private final Map<UUID, Long> revokedProfiles = new ConcurrentHashMap<>();
+
+    // Kindergarten ID -> time claims for all its staff were revoked
+    private final Map<UUID, Long> revokedKindergartens = new ConcurrentHashMap<>();
+
+    private volatile boolean synced = false;
+
+    @Autowired
+    public ClaimsRevocationService(ClaimsRevocationRepository revocationRepository,
+                                   @Qualifier("appEntityManagerFactory") EntityManagerFactory appEntityManagerFactory,
+                                   @Qualifier("authTransactionManager") PlatformTransactionManager authTransactionManager,
+                                   @Value("${jwt.expiration}") long expiration) {
+        this(revocationRepository, appEntityManagerFactory.getCache().unwrap(Cache.class),
+                authTransaction(authTransactionManager), Duration.ofMillis(expiration), Clock.systemUTC());
+    }
+
+    // Tests and benchmarks pass their own cache, transactions and clock
+    public ClaimsRevocationService(ClaimsRevocationRepository revocationRepository, Cache appCache,
+                                   TransactionOperations authTransactions, Duration tokenLifetime, Clock clock) {
+        this.revocationRepository = revocationRepository;
+        this.appCache = appCache;
+        this.authTransactions = authTransactions;
+        this.tokenLifetime = tokenLifetime;
+        this.clock = clock;
+    }
+
+    // Called when a staff profile's admin flag or kindergarten changes - takes effect after the caller commits
+    public void revokeProfile(UUID profileId) {
+        afterCommit(() -> {
+            log.info("Revoking token claims for profile: {}", profileId);
+            revoke(profileId, SubjectType.PROFILE);
+        });
+    }
+
+    // Called when a kindergarten is removed - every staff member at it has stale claims
+    public void revokeKindergarten(UUID kindergartenId) {
+        afterCommit(() -> {
+            log.info("Revoking token claims for kindergarten: {}", kindergartenId);
+            revoke(kindergartenId, SubjectType.KINDERGARTEN);
+        });
+    }
+
+    // JWT iat has second precision - a token issued in the same second as a revocation counts as stale
+    public boolean isStale(UUID profileId, UUID kindergartenId, Date issuedAt) {
+        if (!synced || issuedAt == null) {
+            return true;
+        }
+        long issued = issuedAt.getTime();
+
+        if (profileId != null && issued <= revokedProfiles.getOrDefault(profileId, 0L)) {
+            return true;
+        }
+        return kindergartenId != null && issued <= revokedKindergartens.getOrDefault(kindergartenId, 0L);
+    }
+
+    // Picks up revocations made on other instances - only those younger than a token can still matter
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation-sync-interval:PT5S}", initialDelayString = "${jwt.revocation-sync-interval:PT5S}")
+    public void sync() {
+        long cutoff = clock.instant().minus(tokenLifetime).toEpochMilli();
+        try {
+            for (ClaimsRevocation revocation : revocationRepository.findByRevokedAtAfter(Instant.ofEpochMilli(cutoff))) {
+                if (remember(revocation.getSubjectId(), revocation.getSubjectType(), revocation.getRevokedAt().toEpochMilli())) {
+                    evictStaff(revocation.getSubjectId(), revocation.getSubjectType());
+                }
+            }
+        } catch (RuntimeException e) {
+            // Keeps the last known revocations - the auth db is also where the fallback principal lookup goes
+            log.warn("Claims revocation sync failed: {}", e.getMessage());
+            return;
+        }
+
+        revokedProfiles.values().removeIf(revokedAt -> revokedAt <= cutoff);
+        revokedKindergartens.values().removeIf(revokedAt -> revokedAt <= cutoff);
+        if (!synced) {
+            log.info("Claims revocations loaded - JWT claims are trusted from now on");
+            synced = true;
+        }
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    // The caller's transaction is on the app db - the auth write can't join it, so it waits for the commit
+    private void afterCommit(Runnable revocation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revocation.run();
+                }
+            });
+        } else {
+            revocation.run();
+        }
+    }
+
+    private void revoke(UUID subjectId, SubjectType subjectType) {
+        Instant now = clock.instant();
+        authTransactions.executeWithoutResult(status -> revocationRepository.upsert(subjectId, subjectType.name(), now));
+        remember(subjectId, subjectType, now.toEpochMilli());
+    }
+
+    // Runs inside the app transaction's afterCommit, so it must not join what is still bound there
+    private static TransactionOperations authTransaction(PlatformTransactionManager authTransactionManager) {
+        TransactionTemplate template = new TransactionTemplate(authTransactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    // True when the revocation is newer than what this instance knew about
+    private boolean remember(UUID subjectId, SubjectType subjectType, long revokedAt) {
+        Map<UUID, Long> revoked = subjectType == SubjectType.PROFILE ? revokedProfiles : revokedKindergartens;
+        boolean newer = revoked.getOrDefault(subjectId, 0L) < revokedAt;
+        revoked.merge(subjectId, revokedAt, Math::max);
+        return newer;
+    }
+
+    // The write happened on another instance, so this one's cached staff rows and staff lists still show the old profile
+    private void evictStaff(UUID subjectId, SubjectType subjectType) {
+        if (subjectType == SubjectType.PROFILE) {
+            appCache.evict(Staff.class, subjectId);
+        } else {
+            appCache.evict(Staff.class);
+        }
+        appCache.evictDefaultQueryRegion();
+    }
+}
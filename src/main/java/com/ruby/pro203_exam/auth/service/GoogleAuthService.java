@@ -2,8 +2,12 @@ package com.ruby.pro203_exam.auth.service;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GoogleOAuthConstants;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.HttpTransport;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
+import jakarta.annotation.PostConstruct;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -19,18 +23,34 @@ import java.util.List;
 @ConfigurationProperties(prefix = "google")
 public class GoogleAuthService {
 
+    // Shared by every verification - NetHttpTransport is thread safe and keeps its connection setup
+    private static final HttpTransport TRANSPORT = new NetHttpTransport();
+
     private List<String> clientIds;
 
-    public GoogleIdToken.Payload verifyToken(String idTokenString)
-            throws GeneralSecurityException, IOException {
-        log.debug("Verifying Google token");
+    // Where Google's signing certs are fetched from - point at a local stand-in server in tests
+    private String certsUrl = GoogleOAuthConstants.DEFAULT_PUBLIC_CERTS_ENCODED_URL;
+
+    // Built once - the keys manager caches Google's certs for as long as their Cache-Control max-age allows
+    private GoogleIdTokenVerifier verifier;
+
+    @PostConstruct
+    void init() {
+        GooglePublicKeysManager publicKeys = new GooglePublicKeysManager.Builder(TRANSPORT, GsonFactory.getDefaultInstance())
+                .setPublicCertsEncodedUrl(certsUrl)
+                .build();
 
-        GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                new NetHttpTransport(),
-                GsonFactory.getDefaultInstance())
+        verifier = new GoogleIdTokenVerifier.Builder(publicKeys)
                 .setAudience(clientIds)
                 .build();
 
+        log.info("Google token verifier using certs from: {}", certsUrl);
+    }
+
+    public GoogleIdToken.Payload verifyToken(String idTokenString)
+            throws GeneralSecurityException, IOException {
+        log.debug("Verifying Google token");
+
         GoogleIdToken idToken = verifier.verify(idTokenString);
 
         if (idToken != null) {
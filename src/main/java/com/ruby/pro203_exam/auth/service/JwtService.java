@@ -1,6 +1,11 @@
 package com.ruby.pro203_exam.auth.service;
 
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
+import com.ruby.pro203_exam.auth.model.UserRole;
+import com.ruby.pro203_exam.auth.model.VerifiedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -12,24 +17,54 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @Slf4j
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    /* Claims schema
+        v1: role, userId
+        v2: v1 + profileId, kindergartenId, isAdmin - lets AuthorizationService answer staff/boss checks without the db
+    */
+    public static final int CLAIMS_VERSION = 2;
+
+    public static final String CLAIM_VERSION = "ver";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_PROFILE_ID = "profileId";
+    public static final String CLAIM_KINDERGARTEN_ID = "kindergartenId";
+    public static final String CLAIM_IS_ADMIN = "isAdmin";
+
+    private final ClaimsRevocationService claimsRevocationService;
+    private final long expiration;
+
+    // Built once at startup - HMAC key derivation and parser setup are not free
+    private final SecretKey key;
+    private final JwtParser parser;
+
+    public JwtService(ClaimsRevocationService claimsRevocationService,
+                      @Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration}") long expiration) {
+        this.claimsRevocationService = claimsRevocationService;
+        this.expiration = expiration;
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+    }
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    public String generateToken(AuthenticatedUser user) {
+        String email = user.getEmail();
 
-    public String generateToken(String email, String role, UUID userId) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role);
-        claims.put("userId", userId != null ? userId.toString() : null);
-
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        claims.put(CLAIM_VERSION, CLAIMS_VERSION);
+        claims.put(CLAIM_ROLE, user.getRole() != null ? user.getRole().toString() : null);
+        claims.put(CLAIM_USER_ID, toClaim(user.getId()));
+        claims.put(CLAIM_PROFILE_ID, toClaim(user.getProfileId()));
+        claims.put(CLAIM_KINDERGARTEN_ID, toClaim(user.getKindergartenId()));
+        claims.put(CLAIM_IS_ADMIN, Boolean.TRUE.equals(user.getIsAdmin()));
 
         String token = Jwts.builder()
                 .claims(claims)
@@ -43,14 +78,24 @@ public class JwtService {
         return token;
     }
 
-    public Claims extractClaims(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    // Verify signature and expiry once and expose all claims - empty if the token is invalid
+    public Optional<VerifiedToken> verify(String token) {
+        try {
+            Claims claims = extractClaims(token);
+            if (claims.getSubject() == null) {
+                log.error("Validation of the token failed: missing subject");
+                return Optional.empty();
+            }
+            return Optional.of(new VerifiedToken(claims));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Validation of the token failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
 
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // Throws if the signature is invalid or the token is expired
+    public Claims extractClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String extractEmail(String token) {
@@ -58,30 +103,51 @@ public class JwtService {
     }
 
     public String extractRole(String token) {
-        return (String) extractClaims(token).get("role");
+        return extractClaims(token).get(CLAIM_ROLE, String.class);
     }
 
     public UUID extractUserId(String token) {
-        Object userId = extractClaims(token).get("userId");
-        if (userId == null) {
-            return null;
+        return new VerifiedToken(extractClaims(token)).getUserId();
+    }
+
+    // Build the principal straight from verified claims - empty for old schema versions or stale claims
+    public Optional<AuthenticatedUser> extractPrincipal(VerifiedToken token) {
+        Claims claims = token.getClaims();
+        Integer version = claims.get(CLAIM_VERSION, Integer.class);
+        if (version == null || version < CLAIMS_VERSION) {
+            return Optional.empty();
         }
-        if (userId instanceof String) {
-            return UUID.fromString((String) userId);
+
+        UUID userId = token.getUserId();
+        UUID profileId = token.getUuid(CLAIM_PROFILE_ID);
+        UUID kindergartenId = token.getUuid(CLAIM_KINDERGARTEN_ID);
+        if (userId == null || claimsRevocationService.isStale(profileId, kindergartenId, token.getIssuedAt())) {
+            return Optional.empty();
         }
-        return null;
+
+        String role = token.getRole();
+        return Optional.of(AuthenticatedUser.builder()
+                .id(userId)
+                .email(token.getEmail())
+                .role(role != null ? UserRole.valueOf(role) : null)
+                .profileId(profileId)
+                .kindergartenId(kindergartenId)
+                .isAdmin(Boolean.TRUE.equals(claims.get(CLAIM_IS_ADMIN, Boolean.class)))
+                .build());
     }
 
     public boolean tokenExpirationCheck(String token) {
         return extractClaims(token).getExpiration().before(new Date());
     }
 
+    // Single parse - the parser already rejects expired tokens
     public boolean validateToken(String token) {
-        try {
-            return extractClaims(token).getSubject().equals(extractEmail(token)) && !tokenExpirationCheck(token);
-        } catch (Exception e) {
-            log.error("Validation of the token failed: {}", e.getMessage());
-            return false;
-        }
+        return verify(token).isPresent();
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private String toClaim(UUID id) {
+        return id != null ? id.toString() : null;
     }
 }
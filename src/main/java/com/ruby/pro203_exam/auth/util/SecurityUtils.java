@@ -1,32 +1,20 @@
 package com.ruby.pro203_exam.auth.util;
 
-import com.ruby.pro203_exam.auth.model.User;
-import com.ruby.pro203_exam.auth.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 public class SecurityUtils {
-    private final UserRepository userRepository;
 
-    // Get current authenticated user from JWT token
-    public User getCurrentUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-
-        if (auth == null || !auth.isAuthenticated()) {
-            throw new RuntimeException("Not authenticated");
-        }
-
-        // Principal is the email set by JwtAuthFilter
-        String email = auth.getName();
-
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // Get current authenticated user - resolved once per request by JwtAuthFilter, no db lookup here
+    public AuthenticatedUser getCurrentUser() {
+        return findCurrentUser()
+                .orElseThrow(() -> new RuntimeException("Not authenticated"));
     }
 
     // Get current user's profile ID (Parent or Staff UUID)
@@ -38,4 +26,19 @@ public class SecurityUtils {
     public UUID getCurrentUserId() {
         return getCurrentUser().getId();
     }
+
+    // Current principal if the request is authenticated with a JWT, empty otherwise
+    public static Optional<AuthenticatedUser> findCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        if (auth == null || !auth.isAuthenticated()) {
+            return Optional.empty();
+        }
+
+        // Principal is the AuthenticatedUser set by JwtAuthFilter
+        if (auth.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
 }
@@ -1,6 +1,6 @@
 package com.ruby.pro203_exam.calendar.controller;
 
-import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.model.UserRole;
 import com.ruby.pro203_exam.auth.service.AuthorizationService;
 import com.ruby.pro203_exam.auth.util.SecurityUtils;
@@ -36,7 +36,7 @@ public class CalendarEventController {
     // Create an event
     @PostMapping
     public ResponseEntity<CalendarEventResponseDto> createEvent(@RequestBody CreateCalendarEventDto dto) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only privileged staff can create events
         if (!authorizationService.isPrivilegedAt(user.getId(), dto.getKindergartenId())) {
@@ -76,7 +76,7 @@ public class CalendarEventController {
     public ResponseEntity<CalendarEventResponseDto> updateEvent(
             @PathVariable UUID id,
             @RequestBody UpdateCalendarEventDto dto) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only boss/staff can update events (more specific auth would check kindergarten)
         if (user.getRole() != UserRole.BOSS && user.getRole() != UserRole.STAFF) {
@@ -89,7 +89,7 @@ public class CalendarEventController {
     // Delete an event for kindergarten
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEvent(@PathVariable UUID id) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only boss can delete events
         if (user.getRole() != UserRole.BOSS && user.getRole() != UserRole.STAFF) {
@@ -107,7 +107,7 @@ public class CalendarEventController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Must be a parent
         if (user.getRole() != UserRole.PARENT) {
@@ -1,7 +1,9 @@
 package com.ruby.pro203_exam.calendar.model;
 
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -18,7 +20,8 @@ import java.util.UUID;
 public class CalendarEvent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
 
     @Column(name = "kindergarten_id", nullable = false)
@@ -14,7 +14,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -48,45 +52,37 @@ public class CalendarEventService {
         return toResponseDto(saved);
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<CalendarEventResponseDto> getEventsByKindergarten(UUID kindergartenId) {
-        return eventRepository.findByKindergartenId(kindergartenId).stream()
-                .map(this::toResponseDto)
-                .toList();
+        return toResponseDtos(eventRepository.findByKindergartenId(kindergartenId));
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<CalendarEventResponseDto> getEventsByKindergartenAndDateRange(UUID kindergartenId, LocalDate start, LocalDate end) {
-        return eventRepository.findByKindergartenIdAndEventDateBetween(kindergartenId, start, end).stream()
-                .map(this::toResponseDto)
-                .toList();
+        return toResponseDtos(eventRepository.findByKindergartenIdAndEventDateBetween(kindergartenId, start, end));
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<CalendarEventResponseDto> getEventsForGroups(List<UUID> groupIds, LocalDate start, LocalDate end) {
         // Get group-specific events
-        List<CalendarEvent> events = eventRepository.findByGroupIdInAndEventDateBetween(groupIds, start, end);
-        return events.stream()
-                .map(this::toResponseDto)
-                .toList();
+        return toResponseDtos(eventRepository.findByGroupIdInAndEventDateBetween(groupIds, start, end));
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<CalendarEventResponseDto> getEventsForParent(UUID kindergartenId, List<UUID> childGroupIds, LocalDate start, LocalDate end) {
         // Get kindergarten-wide events (groupId is null) + group-specific events
-        List<CalendarEventResponseDto> result = new ArrayList<>();
+        List<CalendarEvent> events = new ArrayList<>();
 
         // Kindergarten-wide events
-        result.addAll(eventRepository.findByKindergartenIdAndGroupIdIsNullAndEventDateBetween(kindergartenId, start, end)
-                .stream()
-                .map(this::toResponseDto)
-                .toList());
+        events.addAll(eventRepository.findByKindergartenIdAndGroupIdIsNullAndEventDateBetween(kindergartenId, start, end));
 
         // Group-specific events
         if (!childGroupIds.isEmpty()) {
-            result.addAll(eventRepository.findByGroupIdInAndEventDateBetween(childGroupIds, start, end)
-                    .stream()
-                    .map(this::toResponseDto)
-                    .toList());
+            events.addAll(eventRepository.findByGroupIdInAndEventDateBetween(childGroupIds, start, end));
         }
 
-        return result;
+        // Names for both lists are looked up together
+        return toResponseDtos(events);
     }
 
 // Update an existing calendar event. Only non-null fields in the DTO will be updated.
@@ -127,6 +123,7 @@ public class CalendarEventService {
     }
 
 // Get a single calendar event by ID.
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public CalendarEventResponseDto getEventById(UUID eventId) {
         CalendarEvent event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Calendar event not found"));
@@ -140,22 +137,46 @@ public class CalendarEventService {
 
     // ------------------------------------- HELPER METHODS ------------------------------------- //
     private CalendarEventResponseDto toResponseDto(CalendarEvent event) {
-        String groupName = null;
-        if (event.getGroupId() != null) {
-            groupName = groupRepository.findById(event.getGroupId())
-                    .map(g -> g.getName())
-                    .orElse(null);
+        return toResponseDtos(List.of(event)).get(0);
+    }
+
+    // Batch mapping - one findAllById for groups and one for staff instead of two lookups per event
+    private List<CalendarEventResponseDto> toResponseDtos(List<CalendarEvent> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> groupIds = new HashSet<>();
+        Set<UUID> staffIds = new HashSet<>();
+        for (CalendarEvent event : events) {
+            if (event.getGroupId() != null) {
+                groupIds.add(event.getGroupId());
+            }
+            staffIds.add(event.getCreatedBy());
+        }
+
+        Map<UUID, String> groupNames = new HashMap<>();
+        if (!groupIds.isEmpty()) {
+            groupRepository.findAllById(groupIds)
+                    .forEach(g -> groupNames.put(g.getId(), g.getName()));
         }
 
-        String createdByName = staffRepository.findById(event.getCreatedBy())
-                .map(s -> s.getFirstName() + " " + s.getLastName())
-                .orElse(null);
+        Map<UUID, String> staffNames = new HashMap<>();
+        staffRepository.findAllById(staffIds)
+                .forEach(st -> staffNames.put(st.getId(), st.getFirstName() + " " + st.getLastName()));
+
+        return events.stream()
+                .map(event -> toResponseDto(event, groupNames, staffNames))
+                .toList();
+    }
 
+    private CalendarEventResponseDto toResponseDto(CalendarEvent event, Map<UUID, String> groupNames,
+                                                   Map<UUID, String> staffNames) {
         return CalendarEventResponseDto.builder()
                 .id(event.getId())
                 .kindergartenId(event.getKindergartenId())
                 .groupId(event.getGroupId())
-                .groupName(groupName)
+                .groupName(event.getGroupId() != null ? groupNames.get(event.getGroupId()) : null)
                 .title(event.getTitle())
                 .description(event.getDescription())
                 .eventDate(event.getEventDate())
@@ -164,7 +185,7 @@ public class CalendarEventService {
                 .location(event.getLocation())
                 .isSpecialOccasion(event.getIsSpecialOccasion())
                 .createdBy(event.getCreatedBy())
-                .createdByName(createdByName)
+                .createdByName(staffNames.get(event.getCreatedBy()))
                 .createdAt(event.getCreatedAt())
                 .build();
     }
@@ -1,19 +1,30 @@
 package com.ruby.pro203_exam.checker.controller;
 
-import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.model.UserRole;
 import com.ruby.pro203_exam.auth.service.AuthorizationService;
 import com.ruby.pro203_exam.auth.util.SecurityUtils;
+import com.ruby.pro203_exam.checker.dto.BulkCheckInDto;
+import com.ruby.pro203_exam.checker.dto.BulkCheckOutDto;
+import com.ruby.pro203_exam.checker.dto.BulkCheckResultDto;
 import com.ruby.pro203_exam.checker.dto.CheckInDto;
+import com.ruby.pro203_exam.checker.dto.CheckerHistoryPageDto;
 import com.ruby.pro203_exam.checker.dto.CheckOutDto;
 import com.ruby.pro203_exam.checker.dto.CheckerResponseDto;
 import com.ruby.pro203_exam.checker.service.CheckerService;
+import com.ruby.pro203_exam.checker.service.ChildStatusStream;
+import com.ruby.pro203_exam.child.dto.ChildResponseDto;
+import com.ruby.pro203_exam.child.service.ChildService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import com.ruby.pro203_exam.auth.exception.AccessDeniedException;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,10 +36,12 @@ public class CheckerController {
     private final CheckerService checkerService;
     private final AuthorizationService authService;
     private final SecurityUtils securityUtils;
+    private final ChildStatusStream childStatusStream;
+    private final ChildService childService;
 
     @PostMapping("/check-in")
     public ResponseEntity<CheckerResponseDto> checkIn(@RequestBody CheckInDto dto) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Parents can check in their own children, staff can check in any child
         if (!authService.canCheckIn(user.getId(), dto.getChildId())) {
@@ -41,7 +54,7 @@ public class CheckerController {
 
     @PostMapping("/confirm/{checkInId}")
     public ResponseEntity<CheckerResponseDto> confirmCheckIn(@PathVariable UUID checkInId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only staff can confirm check-ins
         if (user.getRole() == UserRole.PARENT) {
@@ -53,21 +66,20 @@ public class CheckerController {
 
     @GetMapping("/pending")
     public ResponseEntity<List<CheckerResponseDto>> getPendingConfirmations() {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only staff can see pending check-ins
         if (user.getRole() == UserRole.PARENT) {
             throw new AccessDeniedException("Only staff can view pending check-ins");
         }
 
-        // Get kindergarten ID from staff profile
-        UUID kindergartenId = authService.getStaffKindergartenId(user.getProfileId());
-        return ResponseEntity.ok(checkerService.getPendingConfirmations(kindergartenId));
+        // Kindergarten ID from the staff profile on the principal
+        return ResponseEntity.ok(checkerService.getPendingConfirmations(user.getKindergartenId()));
     }
 
     @PostMapping("/check-out")
     public ResponseEntity<CheckerResponseDto> checkOut(@RequestBody CheckOutDto dto) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only staff can check out
         if (!authService.canCheckOut(user.getId(), dto.getChildId())) {
@@ -77,22 +89,52 @@ public class CheckerController {
         return ResponseEntity.ok(checkerService.checkOut(dto, user.getProfileId()));
     }
 
+    @PostMapping("/bulk/check-in")
+    public ResponseEntity<List<BulkCheckResultDto>> bulkCheckIn(@RequestBody BulkCheckInDto dto) {
+        AuthenticatedUser user = securityUtils.getCurrentUser();
+
+        // Only staff can check in several children at once - each child is checked against their kindergarten
+        if (!user.isStaff()) {
+            throw new AccessDeniedException("Only staff can check in groups");
+        }
+
+        return ResponseEntity.ok(checkerService.bulkCheckIn(dto, user.getProfileId(), user.getKindergartenId()));
+    }
+
+    @PostMapping("/bulk/check-out")
+    public ResponseEntity<List<BulkCheckResultDto>> bulkCheckOut(@RequestBody BulkCheckOutDto dto) {
+        AuthenticatedUser user = securityUtils.getCurrentUser();
+
+        // Only staff can check out - each child is checked against their kindergarten
+        if (!user.isStaff()) {
+            throw new AccessDeniedException("Only staff can check out children");
+        }
+
+        return ResponseEntity.ok(checkerService.bulkCheckOut(dto, user.getProfileId(), user.getKindergartenId()));
+    }
+
     @GetMapping("/active")
     public ResponseEntity<List<CheckerResponseDto>> getActiveChecker() {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only staff can see all active check-ins
         if (user.getRole() == UserRole.PARENT) {
             throw new AccessDeniedException("Only staff can view all active check-ins");
         }
 
-        log.info("Checked in children");
-        return ResponseEntity.ok(checkerService.getActiveCheckins());
+        // Scoped to the staff member's kindergarten
+        return ResponseEntity.ok(checkerService.getActiveCheckins(user.getKindergartenId()));
     }
 
+    // Paged, newest first - pass nextCursor from the previous page as cursor
     @GetMapping("/history/{childId}")
-    public ResponseEntity<List<CheckerResponseDto>> getChildHistory(@PathVariable UUID childId) {
-        User user = securityUtils.getCurrentUser();
+    public ResponseEntity<CheckerHistoryPageDto> getChildHistory(
+            @PathVariable UUID childId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "50") int limit) {
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Parents can only see their own children's history
         if (!authService.canViewChild(user.getId(), childId)) {
@@ -100,12 +142,12 @@ public class CheckerController {
         }
 
         log.info("History for child: {}", childId);
-        return ResponseEntity.ok(checkerService.getChildHistory(childId));
+        return ResponseEntity.ok(checkerService.getChildHistory(childId, cursor, from, to, limit));
     }
 
     @GetMapping("/status/{childId}")
     public ResponseEntity<CheckerResponseDto> getChildStatus(@PathVariable UUID childId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Parents can only see their own children's status
         if (!authService.canViewChild(user.getId(), childId)) {
@@ -116,4 +158,30 @@ public class CheckerController {
         CheckerResponseDto status = checkerService.getActiveCheckIn(childId);
         return ResponseEntity.ok(status);
     }
+
+    // Live status stream - parents get their own children by default, anyone can pass childIds they may view
+    @GetMapping(path = "/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChildStatus(@RequestParam(required = false) List<UUID> childIds) {
+        AuthenticatedUser user = securityUtils.getCurrentUser();
+
+        List<UUID> watched;
+        if (childIds == null || childIds.isEmpty()) {
+            if (user.getRole() != UserRole.PARENT) {
+                throw new AccessDeniedException("childIds is required for staff");
+            }
+            watched = childService.getChildrenByParent(user.getProfileId()).stream()
+                    .map(ChildResponseDto::getId)
+                    .toList();
+        } else {
+            watched = childIds.stream().distinct().toList();
+            for (UUID childId : watched) {
+                if (!authService.canViewChild(user.getId(), childId)) {
+                    throw new AccessDeniedException("Cannot view status for this child");
+                }
+            }
+        }
+
+        log.info("Status stream for {} children", watched.size());
+        return childStatusStream.subscribe(watched, () -> checkerService.getChildStatuses(watched));
+    }
 }
@@ -0,0 +1,24 @@
+package com.ruby.pro203_exam.checker.dto;
+
+import com.ruby.pro203_exam.checker.model.PersonType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+// Check in a whole group or a list of children - set either groupId or childIds
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCheckInDto {
+    private UUID groupId;
+    private List<UUID> childIds;
+    private UUID droppedOffBy;
+    private PersonType droppedOffPersonType;
+    private String droppedOffPersonName;
+    private String notes;
+}
@@ -0,0 +1,25 @@
+package com.ruby.pro203_exam.checker.dto;
+
+import com.ruby.pro203_exam.checker.model.PersonType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+// Check out a whole group or a list of children - set either groupId or childIds
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCheckOutDto {
+    private UUID groupId;
+    private List<UUID> childIds;
+    private UUID pickedUpBy;
+    private PersonType pickedUpPersonType;
+    private String pickedUpPersonName;
+    private boolean pickedUpConfirmed;
+    private String notes;
+}
@@ -0,0 +1,28 @@
+package com.ruby.pro203_exam.checker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// Outcome for one child in a bulk check-in/out - checkIn is set when the child was checked in or out
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCheckResultDto {
+    private UUID childId;
+    private Status status;
+    private CheckerResponseDto checkIn;
+
+    public enum Status {
+        CHECKED_IN,
+        CHECKED_OUT,
+        ALREADY_CHECKED_IN,
+        NOT_CHECKED_IN,
+        NOT_FOUND,
+        FORBIDDEN
+    }
+}
@@ -0,0 +1,18 @@
+package com.ruby.pro203_exam.checker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of a child's check-in history, newest first - pass nextCursor back to get the next page, null on the last page
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckerHistoryPageDto {
+    private List<CheckerResponseDto> items;
+    private String nextCursor;
+}
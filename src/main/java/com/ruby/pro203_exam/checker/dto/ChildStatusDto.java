@@ -0,0 +1,19 @@
+package com.ruby.pro203_exam.checker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// One event on the child status stream - checkIn is the open check-in, or null once the child is picked up
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChildStatusDto {
+    private UUID childId;
+    private boolean checkedIn;
+    private CheckerResponseDto checkIn;
+}
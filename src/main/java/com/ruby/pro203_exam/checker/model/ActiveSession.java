@@ -0,0 +1,29 @@
+package com.ruby.pro203_exam.checker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A child's open check-in - one row per child, claimed on check-in and released on check-out (V11)
+// Joined on (checkInId, checkInTime) so lookups of open check-ins only touch the partition holding the row
+@Entity
+@Table(name = "active_check_ins")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActiveSession {
+
+    @Id
+    @Column(name = "child_id")
+    private UUID childId;
+
+    @Column(name = "check_in_id", nullable = false)
+    private UUID checkInId;
+
+    @Column(name = "check_in_time", nullable = false)
+    private LocalDateTime checkInTime;
+}
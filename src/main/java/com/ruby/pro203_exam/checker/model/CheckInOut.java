@@ -1,7 +1,9 @@
 package com.ruby.pro203_exam.checker.model;
 
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -16,15 +18,16 @@ import java.util.UUID;
 public class CheckInOut {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
 
     // Which child
     @Column(name = "child_id", nullable = false)
     private UUID childId;
 
-    // When the child arrived
-    @Column(name = "check_in_time")
+    // When the child arrived - partition key of check_in_out_log (V11)
+    @Column(name = "check_in_time", nullable = false)
     private LocalDateTime checkInTime;
 
     // WHO dropped off the child
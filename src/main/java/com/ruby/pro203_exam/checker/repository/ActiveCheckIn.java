@@ -0,0 +1,13 @@
+package com.ruby.pro203_exam.checker.repository;
+
+import com.ruby.pro203_exam.checker.model.CheckInOut;
+
+import java.util.UUID;
+
+// Open check-in together with the child's kindergarten - see CheckerRepository.findAllActiveWithKindergarten
+public interface ActiveCheckIn {
+
+    CheckInOut getCheckIn();
+
+    UUID getKindergartenId();
+}
@@ -1,30 +1,50 @@
 package com.ruby.pro203_exam.checker.repository;
 
 import com.ruby.pro203_exam.checker.model.CheckInOut;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface CheckerRepository extends JpaRepository<CheckInOut, UUID> {
+public interface CheckerRepository extends JpaRepository<CheckInOut, UUID>, CheckerRepositoryCustom {
 
-    // Find active check-in - if no checkout time then child is currently in kindergarten
-    Optional<CheckInOut> findByChildIdAndCheckOutTimeIsNull(UUID childId);
+    /* Open check-ins are found through ActiveSession (active_check_ins), not by check_out_time IS NULL
+        - check_in_out_log is partitioned by month on check_in_time (V11)
+        - Joining on (id, checkInTime) lets Postgres prune down to the partition holding each open row
+    */
+
+    // Active check-ins for several children at once
+    @Query("SELECT c FROM CheckInOut c " +
+            "JOIN ActiveSession a ON a.checkInId = c.id AND a.checkInTime = c.checkInTime " +
+            "WHERE a.childId IN :childIds")
+    List<CheckInOut> findByChildIdInAndCheckOutTimeIsNull(@Param("childIds") Collection<UUID> childIds);
 
     // Find all check-ins for a child, newest first
     List<CheckInOut> findByChildIdOrderByCheckInTimeDesc(UUID childId);
 
-    // Find check-ins within date range - used for reports and statistics
-    List<CheckInOut> findByCheckInTimeBetween(LocalDateTime start, LocalDateTime end);
+    // One page of a child's history older than the (checkInTime, id) cursor, within [from, to) - idx_check_in_out_child_history
+    @Query("SELECT c FROM CheckInOut c " +
+            "WHERE c.childId = :childId " +
+            "AND c.checkInTime >= :from AND c.checkInTime < :to " +
+            "AND (c.checkInTime, c.id) < (:cursorTime, :cursorId) " +
+            "ORDER BY c.checkInTime DESC, c.id DESC")
+    List<CheckInOut> findHistoryPage(@Param("childId") UUID childId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("cursorTime") LocalDateTime cursorTime,
+                                     @Param("cursorId") UUID cursorId,
+                                     Limit limit);
 
-    // Find all currently checked-in children
-    List<CheckInOut> findByCheckOutTimeIsNull();
+    // Find check-ins within date range - used for reports and statistics, only scans the partitions in range
+    List<CheckInOut> findByCheckInTimeBetween(LocalDateTime start, LocalDateTime end);
 
     // Find check-ins by staff member - audit trail of staff actions
     @Query("SELECT c FROM CheckInOut c " +
@@ -34,14 +54,22 @@ public interface CheckerRepository extends JpaRepository<CheckInOut, UUID> {
 
     // Find pending check-ins (not confirmed by staff) for a kindergarten
     @Query("SELECT c FROM CheckInOut c " +
-            "JOIN Child ch ON c.childId = ch.id " +
+            "JOIN ActiveSession a ON a.checkInId = c.id AND a.checkInTime = c.checkInTime " +
+            "JOIN Child ch ON a.childId = ch.id " +
             "WHERE c.checkInConfirmedByStaff IS NULL " +
-            "AND c.checkOutTime IS NULL " +
             "AND ch.kindergartenId = :kindergartenId " +
             "ORDER BY c.checkInTime DESC")
     List<CheckInOut> findPendingConfirmationsByKindergarten(@Param("kindergartenId") UUID kindergartenId);
 
     // Find active check-in for a specific child (for parent to see status)
-    @Query("SELECT c FROM CheckInOut c WHERE c.childId = :childId AND c.checkOutTime IS NULL ORDER BY c.checkInTime DESC")
+    @Query("SELECT c FROM CheckInOut c " +
+            "JOIN ActiveSession a ON a.checkInId = c.id AND a.checkInTime = c.checkInTime " +
+            "WHERE a.childId = :childId")
     Optional<CheckInOut> findActiveCheckInByChildId(@Param("childId") UUID childId);
+
+    // Every open check-in with the child's kindergarten - rebuilds the active check-in board at startup
+    @Query("SELECT c AS checkIn, ch.kindergartenId AS kindergartenId FROM CheckInOut c " +
+            "JOIN ActiveSession a ON a.checkInId = c.id AND a.checkInTime = c.checkInTime " +
+            "JOIN Child ch ON a.childId = ch.id")
+    List<ActiveCheckIn> findAllActiveWithKindergarten();
 }
@@ -0,0 +1,21 @@
+package com.ruby.pro203_exam.checker.repository;
+
+import com.ruby.pro203_exam.checker.model.CheckInOut;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Single-statement check-in state changes - each is one round trip and safe with several devices at once
+public interface CheckerRepositoryCustom {
+
+    // Open a check-in for each child using the drop-off fields of checkIn - children already checked in are left out
+    List<CheckInOut> insertIfNotCheckedIn(Collection<UUID> childIds, CheckInOut checkIn);
+
+    // Confirm an open check-in not confirmed yet - empty if it doesn't exist, is already confirmed or checked out
+    Optional<CheckInOut> confirmIfUnconfirmed(UUID checkInId, UUID staffId);
+
+    // Close the open check-in of each child using the pickup fields of checkOut - children not checked in are left out
+    List<CheckInOut> checkOutActive(Collection<UUID> childIds, CheckInOut checkOut);
+}
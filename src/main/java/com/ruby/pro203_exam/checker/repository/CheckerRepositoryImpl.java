@@ -0,0 +1,156 @@
+package com.ruby.pro203_exam.checker.repository;
+
+import com.ruby.pro203_exam.checker.model.CheckInOut;
+import com.ruby.pro203_exam.checker.model.PersonType;
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/* JDBC side of CheckerRepository - Spring Data picks it up by the Impl suffix
+    - Every method is one statement that checks and changes state at once, no read-then-write
+    - Rows come back through RETURNING, so the caller gets the stored state without another query
+    - Runs inside the caller's appTransactionManager transaction
+*/
+public class CheckerRepositoryImpl implements CheckerRepositoryCustom {
+
+    /* check_in_out_log is partitioned by month (V11), so one open check-in per child is kept by active_check_ins
+        - Check-in claims the child's row there, check-out releases it, both in the same statement as the log write
+        - The log row is reached through (id, check_in_time), so only its own partition is touched
+    */
+
+    // Only children whose claim succeeds get a log row - :rows expands to (id, child_id) tuples
+    private static final String INSERT_IF_NOT_CHECKED_IN =
+            "WITH input (id, child_id) AS (VALUES :rows), " +
+            "claimed AS ( " +
+            "    INSERT INTO active_check_ins (child_id, check_in_id, check_in_time) " +
+            "    SELECT child_id, id, :checkInTime FROM input " +
+            "    ON CONFLICT (child_id) DO NOTHING " +
+            "    RETURNING child_id, check_in_id) " +
+            "INSERT INTO check_in_out_log (id, child_id, check_in_time, dropped_off_by, dropped_off_by_type, " +
+            "    check_in_confirmed_by_staff, dropped_off_by_name, id_verified, notes, created_at) " +
+            "SELECT check_in_id, child_id, :checkInTime, :droppedOffBy, :droppedOffByType, " +
+            "    :confirmedBy, :droppedOffByName, false, :notes, :createdAt " +
+            "FROM claimed " +
+            "RETURNING *";
+
+    // Only open check-ins can be confirmed
+    private static final String CONFIRM_IF_UNCONFIRMED =
+            "UPDATE check_in_out_log l SET check_in_confirmed_by_staff = :staffId " +
+            "FROM active_check_ins a " +
+            "WHERE a.check_in_id = :id AND l.id = a.check_in_id AND l.check_in_time = a.check_in_time " +
+            "AND l.check_in_confirmed_by_staff IS NULL " +
+            "RETURNING l.*";
+
+    // New notes are appended to the check-in notes with " | ", same as the old read-modify-write
+    private static final String CHECK_OUT_ACTIVE =
+            "WITH released AS ( " +
+            "    DELETE FROM active_check_ins WHERE child_id IN (:childIds) " +
+            "    RETURNING check_in_id, check_in_time) " +
+            "UPDATE check_in_out_log l SET " +
+            "    check_out_time = :checkOutTime, picked_up_by = :pickedUpBy, picked_up_by_type = :pickedUpByType, " +
+            "    picked_up_by_name = :pickedUpByName, check_out_approved_by_staff = :approvedBy, id_verified = :idVerified, " +
+            "    notes = CASE WHEN COALESCE(:notes, '') = '' THEN l.notes " +
+            "                 WHEN COALESCE(l.notes, '') = '' THEN :notes " +
+            "                 ELSE l.notes || ' | ' || :notes END " +
+            "FROM released r " +
+            "WHERE l.id = r.check_in_id AND l.check_in_time = r.check_in_time " +
+            "RETURNING l.*";
+
+    private static final RowMapper<CheckInOut> ROW_MAPPER = CheckerRepositoryImpl::mapRow;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CheckerRepositoryImpl(@Qualifier("appJdbcTemplate") NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<CheckInOut> insertIfNotCheckedIn(Collection<UUID> childIds, CheckInOut checkIn) {
+        if (childIds.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = childIds.stream()
+                .map(childId -> new Object[]{TimeOrderedUuidGenerator.next(), childId})
+                .toList();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("rows", rows)
+                .addValue("checkInTime", checkIn.getCheckInTime() != null ? checkIn.getCheckInTime() : now)
+                .addValue("droppedOffBy", checkIn.getDroppedOffBy(), Types.OTHER)
+                .addValue("droppedOffByType", name(checkIn.getDroppedOffByType()), Types.VARCHAR)
+                .addValue("confirmedBy", checkIn.getCheckInConfirmedByStaff(), Types.OTHER)
+                .addValue("droppedOffByName", checkIn.getDroppedOffByName(), Types.VARCHAR)
+                .addValue("notes", checkIn.getNotes(), Types.VARCHAR)
+                .addValue("createdAt", checkIn.getCreatedAt() != null ? checkIn.getCreatedAt() : now);
+
+        return jdbcTemplate.query(INSERT_IF_NOT_CHECKED_IN, params, ROW_MAPPER);
+    }
+
+    @Override
+    public Optional<CheckInOut> confirmIfUnconfirmed(UUID checkInId, UUID staffId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", checkInId, Types.OTHER)
+                .addValue("staffId", staffId, Types.OTHER);
+
+        return jdbcTemplate.query(CONFIRM_IF_UNCONFIRMED, params, ROW_MAPPER).stream().findFirst();
+    }
+
+    @Override
+    public List<CheckInOut> checkOutActive(Collection<UUID> childIds, CheckInOut checkOut) {
+        if (childIds.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("childIds", childIds)
+                .addValue("checkOutTime", checkOut.getCheckOutTime() != null ? checkOut.getCheckOutTime() : LocalDateTime.now())
+                .addValue("pickedUpBy", checkOut.getPickedUpBy(), Types.OTHER)
+                .addValue("pickedUpByType", name(checkOut.getPickedUpByType()), Types.VARCHAR)
+                .addValue("pickedUpByName", checkOut.getPickedUpByName(), Types.VARCHAR)
+                .addValue("approvedBy", checkOut.getCheckOutApprovedByStaff(), Types.OTHER)
+                .addValue("idVerified", checkOut.isIdVerified())
+                .addValue("notes", checkOut.getNotes(), Types.VARCHAR);
+
+        return jdbcTemplate.query(CHECK_OUT_ACTIVE, params, ROW_MAPPER);
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private static CheckInOut mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return CheckInOut.builder()
+                .id(rs.getObject("id", UUID.class))
+                .childId(rs.getObject("child_id", UUID.class))
+                .checkInTime(rs.getObject("check_in_time", LocalDateTime.class))
+                .droppedOffBy(rs.getObject("dropped_off_by", UUID.class))
+                .droppedOffByType(personType(rs.getString("dropped_off_by_type")))
+                .checkInConfirmedByStaff(rs.getObject("check_in_confirmed_by_staff", UUID.class))
+                .droppedOffByName(rs.getString("dropped_off_by_name"))
+                .checkOutTime(rs.getObject("check_out_time", LocalDateTime.class))
+                .pickedUpBy(rs.getObject("picked_up_by", UUID.class))
+                .pickedUpByType(personType(rs.getString("picked_up_by_type")))
+                .checkOutApprovedByStaff(rs.getObject("check_out_approved_by_staff", UUID.class))
+                .pickedUpByName(rs.getString("picked_up_by_name"))
+                .idVerified(rs.getBoolean("id_verified"))
+                .notes(rs.getString("notes"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static String name(PersonType type) {
+        return type != null ? type.name() : null;
+    }
+
+    private static PersonType personType(String value) {
+        return value != null ? PersonType.valueOf(value) : null;
+    }
+}
@@ -0,0 +1,199 @@
+package com.ruby.pro203_exam.checker.service;
+
+import com.ruby.pro203_exam.checker.dto.CheckerResponseDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/* In-memory "who is here now" view per kindergarten - staff boards poll it every few seconds
+    - Rebuilt from active_check_ins by CheckerService at startup and every checker.board.rebuild-interval, and kept
+      up to date by checkIn/confirmCheckIn/checkOut in between
+    - Changes made inside a transaction are applied after it commits, so a rollback never shows up on the board
+    - Per instance - changes made on another instance show up here with the next rebuild, so the board lags them by at
+      most one rebuild interval
+    - A rebuild swaps in a whole new view, with local changes made while it read the database replayed on top
+*/
+@Component
+@Slf4j
+public class ActiveCheckInBoard {
+
+    private static final Comparator<CheckerResponseDto> NEWEST_FIRST =
+            Comparator.comparing(CheckerResponseDto::getCheckInDate, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private volatile View view = new View();
+
+    // Held while changing the view - never around database reads
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Local changes made while a rebuild reads the database, null when no rebuild is running
+    private List<Consumer<View>> changesDuringRebuild;
+
+    // Children checked in at a kindergarten right now, newest check-in first
+    public List<CheckerResponseDto> getActive(UUID kindergartenId) {
+        if (kindergartenId == null) {
+            return List.of();
+        }
+        Map<UUID, CheckerResponseDto> active = view.byKindergarten.get(kindergartenId);
+        if (active == null) {
+            return List.of();
+        }
+        return active.values().stream()
+                .sorted(NEWEST_FIRST)
+                .toList();
+    }
+
+    // Child checked in - children without a kindergarten are not on any board
+    public void checkedIn(UUID kindergartenId, CheckerResponseDto checkIn) {
+        if (kindergartenId == null) {
+            return;
+        }
+        afterCommit(board -> board.put(kindergartenId, checkIn));
+    }
+
+    // Check-in changed (e.g. confirmed by staff) - replaces the entry if the child is on a board
+    public void updated(CheckerResponseDto checkIn) {
+        afterCommit(board -> {
+            UUID kindergartenId = board.kindergartenByChild.get(checkIn.getChildId());
+            if (kindergartenId != null) {
+                board.put(kindergartenId, checkIn);
+            }
+        });
+    }
+
+    // Child checked out or deleted
+    public void removed(UUID childId) {
+        afterCommit(board -> board.remove(childId));
+    }
+
+    // Child moved to another kindergarten while checked in
+    public void moved(UUID childId, UUID kindergartenId) {
+        afterCommit(board -> {
+            CheckerResponseDto checkIn = board.remove(childId);
+            if (checkIn != null && kindergartenId != null) {
+                board.put(kindergartenId, checkIn);
+            }
+        });
+    }
+
+    // Replace the whole view with open check-ins grouped by kindergarten - read by the supplier, outside the lock
+    public void rebuild(Supplier<Map<UUID, List<CheckerResponseDto>>> activeByKindergarten) {
+        lock.lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        View rebuilt = new View();
+        try {
+            activeByKindergarten.get().forEach((kindergartenId, checkIns) ->
+                    checkIns.forEach(checkIn -> rebuilt.put(kindergartenId, checkIn)));
+        } catch (RuntimeException e) {
+            stopRecording();
+            throw e;
+        }
+
+        View previous;
+        lock.lock();
+        try {
+            changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changesDuringRebuild = null;
+            previous = view;
+            view = rebuilt;
+        } finally {
+            lock.unlock();
+        }
+
+        // Children that appeared, left or moved - changes made on other instances since the last rebuild
+        Set<UUID> children = new HashSet<>(previous.kindergartenByChild.keySet());
+        children.addAll(rebuilt.kindergartenByChild.keySet());
+        long corrected = children.stream()
+                .filter(childId -> !Objects.equals(previous.kindergartenByChild.get(childId), rebuilt.kindergartenByChild.get(childId)))
+                .count();
+        if (corrected > 0) {
+            log.info("Active check-in board rebuilt: {} children in {} kindergartens, {} corrected",
+                    rebuilt.kindergartenByChild.size(), rebuilt.byKindergarten.size(), corrected);
+        } else {
+            log.debug("Active check-in board rebuilt: {} children, nothing to correct", rebuilt.kindergartenByChild.size());
+        }
+    }
+
+    public int size() {
+        return view.kindergartenByChild.size();
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    // One complete board - swapped as a whole by rebuild
+    private static final class View {
+
+        // kindergartenId -> childId -> open check-in
+        private final Map<UUID, Map<UUID, CheckerResponseDto>> byKindergarten = new ConcurrentHashMap<>();
+
+        // childId -> kindergartenId, so check-out and confirm don't need the child's kindergarten
+        private final Map<UUID, UUID> kindergartenByChild = new ConcurrentHashMap<>();
+
+        private void put(UUID kindergartenId, CheckerResponseDto checkIn) {
+            kindergartenByChild.put(checkIn.getChildId(), kindergartenId);
+            byKindergarten.computeIfAbsent(kindergartenId, id -> new ConcurrentHashMap<>())
+                    .put(checkIn.getChildId(), checkIn);
+        }
+
+        private CheckerResponseDto remove(UUID childId) {
+            UUID kindergartenId = kindergartenByChild.remove(childId);
+            if (kindergartenId == null) {
+                return null;
+            }
+            Map<UUID, CheckerResponseDto> active = byKindergarten.get(kindergartenId);
+            return active != null ? active.remove(childId) : null;
+        }
+    }
+
+    private void apply(Consumer<View> change) {
+        lock.lock();
+        try {
+            change.accept(view);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void stopRecording() {
+        lock.lock();
+        try {
+            changesDuringRebuild = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<View> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+}
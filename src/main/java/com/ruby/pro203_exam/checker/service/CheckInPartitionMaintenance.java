@@ -0,0 +1,142 @@
+package com.ruby.pro203_exam.checker.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/* Keeps the monthly partitions of check_in_out_log (V11) in shape
+    - Creates the partitions for this month and the next checker.partitions.months-ahead months
+    - Detaches or drops partitions older than checker.partitions.retention-months - 0 keeps everything
+    - A partition still holding an open check-in is never retired
+    - Creating a month moves its rows out of the default partition (V15) - rows still left there are outside every
+      month and logged as a warning until someone creates or retires their month
+    - Runs at startup and then on checker.partitions.cron - only one instance at a time does the work (advisory lock)
+*/
+@Component
+@Slf4j
+public class CheckInPartitionMaintenance {
+
+    // DETACH leaves the old month as a plain table for archiving, DROP deletes it
+    public enum RetentionAction { DETACH, DROP }
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("check_in_out_log_y(\\d{4})m(\\d{2})");
+
+    // Any constant works as long as nothing else takes the same advisory lock
+    private static final long LOCK_KEY = 0x636865636b696eL;
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(:key)";
+    private static final String CREATE_PARTITION = "SELECT create_check_in_out_partition(:month)";
+    private static final String LIST_PARTITIONS =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = 'check_in_out_log' " +
+            "ORDER BY c.relname";
+    private static final String HAS_OPEN_CHECK_INS =
+            "SELECT EXISTS (SELECT 1 FROM active_check_ins WHERE check_in_time >= :start AND check_in_time < :end)";
+    private static final String DEFAULT_PARTITION_ROWS =
+            "SELECT COUNT(*), MIN(check_in_time), MAX(check_in_time) FROM check_in_out_log_default";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final RetentionAction retentionAction;
+
+    public CheckInPartitionMaintenance(@Qualifier("appJdbcTemplate") NamedParameterJdbcTemplate jdbcTemplate,
+                                       @Value("${checker.partitions.months-ahead:3}") int monthsAhead,
+                                       @Value("${checker.partitions.retention-months:0}") int retentionMonths,
+                                       @Value("${checker.partitions.retention-action:DETACH}") RetentionAction retentionAction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.retentionAction = retentionAction;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${checker.partitions.cron:0 15 3 * * *}")
+    @Transactional(transactionManager = "appTransactionManager")
+    public void maintain() {
+        maintain(YearMonth.now());
+    }
+
+    // Split out so tests can pick the current month
+    void maintain(YearMonth current) {
+        Boolean locked = jdbcTemplate.queryForObject(TRY_LOCK, new MapSqlParameterSource("key", LOCK_KEY), Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Partition maintenance already running elsewhere - skipping");
+            return;
+        }
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+        if (retentionMonths > 0) {
+            retireBefore(current.minusMonths(retentionMonths));
+        }
+        checkDefaultPartition();
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private void createPartition(YearMonth month) {
+        String name = jdbcTemplate.queryForObject(CREATE_PARTITION,
+                new MapSqlParameterSource("month", month.atDay(1)), String.class);
+        log.debug("Partition {} is in place", name);
+    }
+
+    private void retireBefore(YearMonth oldestKept) {
+        List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS, new MapSqlParameterSource(), String.class);
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            if (hasOpenCheckIns(month)) {
+                log.warn("Partition {} is past retention but still has open check-ins - keeping it", partition);
+                continue;
+            }
+
+            // Name matched PARTITION_NAME, so it is safe to put in the statement
+            String sql = retentionAction == RetentionAction.DROP
+                    ? "DROP TABLE \"" + partition + "\""
+                    : "ALTER TABLE check_in_out_log DETACH PARTITION \"" + partition + "\"";
+            jdbcTemplate.update(sql, new MapSqlParameterSource());
+            log.info("Partition {} past retention of {} months - {}", partition, retentionMonths, retentionAction);
+        }
+    }
+
+    private void checkDefaultPartition() {
+        jdbcTemplate.query(DEFAULT_PARTITION_ROWS, new MapSqlParameterSource(), rs -> {
+            long rows = rs.getLong(1);
+            if (rows > 0) {
+                log.warn("{} check-in rows between {} and {} are in check_in_out_log_default - create their months to move them out",
+                        rows, rs.getTimestamp(2), rs.getTimestamp(3));
+            }
+        });
+    }
+
+    private boolean hasOpenCheckIns(YearMonth month) {
+        LocalDate start = month.atDay(1);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("start", start.atStartOfDay())
+                .addValue("end", start.plusMonths(1).atStartOfDay());
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_OPEN_CHECK_INS, params, Boolean.class));
+    }
+}
@@ -1,17 +1,38 @@
 package com.ruby.pro203_exam.checker.service;
 
+import com.ruby.pro203_exam.attendance.service.AttendanceService;
+import com.ruby.pro203_exam.checker.dto.BulkCheckInDto;
+import com.ruby.pro203_exam.checker.dto.BulkCheckOutDto;
+import com.ruby.pro203_exam.checker.dto.BulkCheckResultDto;
 import com.ruby.pro203_exam.checker.dto.CheckInDto;
+import com.ruby.pro203_exam.checker.dto.CheckerHistoryPageDto;
 import com.ruby.pro203_exam.checker.dto.CheckOutDto;
 import com.ruby.pro203_exam.checker.dto.CheckerResponseDto;
+import com.ruby.pro203_exam.checker.dto.ChildStatusDto;
 import com.ruby.pro203_exam.checker.model.CheckInOut;
+import com.ruby.pro203_exam.checker.repository.ActiveCheckIn;
 import com.ruby.pro203_exam.checker.repository.CheckerRepository;
+import com.ruby.pro203_exam.child.model.Child;
+import com.ruby.pro203_exam.child.repository.ChildRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -19,51 +40,71 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(transactionManager = "appTransactionManager")
-public class CheckerService {
+public class CheckerService implements SmartInitializingSingleton {
+
+    // History bounds used when from/to/cursor are not given - keeps the query free of nullable parameters
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(2000, 1, 1, 0, 0);
+    private static final LocalDateTime HISTORY_END = LocalDateTime.of(9999, 1, 1, 0, 0);
+    private static final UUID MAX_UUID = new UUID(-1L, -1L);
+    private static final int MAX_HISTORY_PAGE_SIZE = 200;
+
+    // Upper bound for one bulk request - a large group is around 25 children
+    private static final int MAX_BULK_SIZE = 200;
 
     private final CheckerRepository checkerRepository;
+    private final ChildRepository childRepository;
+    private final ActiveCheckInBoard activeCheckInBoard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AttendanceService attendanceService;
 
-    public CheckerResponseDto checkIn(CheckInDto dto, UUID userId, boolean isStaff) {
-        log.info("Child for checking in: {}", dto.getChildId());
+    // Load the board before the web server starts taking requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuildActiveBoard();
+    }
 
-        // Check if already checked in
-        checkerRepository.findByChildIdAndCheckOutTimeIsNull(dto.getChildId())
-                .ifPresent(existingChecker -> {
-                    throw new RuntimeException("Child is already checked in");
-                });
+    // Rebuild the in-memory active check-in board from active_check_ins, on the primary - the schedule picks up
+    // check-ins and check-outs made on other instances
+    @Scheduled(fixedDelayString = "${checker.board.rebuild-interval:PT10S}", initialDelayString = "${checker.board.rebuild-interval:PT10S}")
+    public void rebuildActiveBoard() {
+        activeCheckInBoard.rebuild(() -> checkerRepository.findAllActiveWithKindergarten().stream()
+                .filter(active -> active.getKindergartenId() != null)
+                .collect(Collectors.groupingBy(ActiveCheckIn::getKindergartenId,
+                        Collectors.mapping(active -> toResponseDto(active.getCheckIn()), Collectors.toList()))));
+    }
 
-        CheckInOut checkIn = CheckInOut.builder()
-                .childId(dto.getChildId())
-                .checkInTime(LocalDateTime.now())
-                .droppedOffBy(dto.getDroppedOffBy())
-                .droppedOffByType(dto.getDroppedOffPersonType())
-                .droppedOffByName(dto.getDroppedOffPersonName())
-                // Only set confirmation if staff is doing the check-in
-                .checkInConfirmedByStaff(isStaff ? userId : null)
-                .notes(dto.getNotes())
-                .build();
+    public CheckerResponseDto checkIn(CheckInDto dto, UUID userId, boolean isStaff) {
+        log.info("Child for checking in: {}", dto.getChildId());
 
-        CheckInOut savedCheckIn = checkerRepository.save(checkIn);
+        // One statement - the database refuses a second open check-in for the same child
+        CheckInOut savedCheckIn = checkerRepository.insertIfNotCheckedIn(List.of(dto.getChildId()), newCheckIn(dto, userId, isStaff)).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Child is already checked in"));
         log.info("Saved checkIn: {}", savedCheckIn.getId());
-        return toResponseDto(savedCheckIn);
+
+        CheckerResponseDto response = toResponseDto(savedCheckIn);
+        activeCheckInBoard.checkedIn(childRepository.findKindergartenIdById(dto.getChildId()).orElse(null), response);
+        publishStatus(savedCheckIn.getChildId(), response);
+        return response;
     }
 
     public CheckerResponseDto confirmCheckIn(UUID checkInId, UUID staffId) {
         log.info("Confirming check-in: {} by staff: {}", checkInId, staffId);
 
-        CheckInOut checkIn = checkerRepository.findById(checkInId)
-                .orElseThrow(() -> new RuntimeException("Check-in not found"));
-
-        if (checkIn.getCheckInConfirmedByStaff() != null) {
-            throw new RuntimeException("Check-in already confirmed");
-        }
-
-        checkIn.setCheckInConfirmedByStaff(staffId);
-        CheckInOut saved = checkerRepository.save(checkIn);
+        // One conditional update - the extra lookup only runs to explain a failure
+        CheckInOut saved = checkerRepository.confirmIfUnconfirmed(checkInId, staffId)
+                .orElseThrow(() -> checkerRepository.existsById(checkInId)
+                        ? new RuntimeException("Check-in already confirmed or checked out")
+                        : new RuntimeException("Check-in not found"));
         log.info("Check-in confirmed: {}", saved.getId());
-        return toResponseDto(saved);
+
+        CheckerResponseDto response = toResponseDto(saved);
+        activeCheckInBoard.updated(response);
+        publishStatus(saved.getChildId(), response);
+        return response;
     }
 
+    // Status reads stay on the primary (no readOnly) - a check-in from another device may not be on the replica yet
     public List<CheckerResponseDto> getPendingConfirmations(UUID kindergartenId) {
         log.info("Finding pending check-ins for kindergarten: {}", kindergartenId);
         return checkerRepository.findPendingConfirmationsByKindergarten(kindergartenId).stream()
@@ -73,40 +114,119 @@ public class CheckerService {
 
     public CheckerResponseDto checkOut(CheckOutDto dto, UUID approvedByStaff) {
         log.info("Child for checking out: {}", dto.getChildId());
-        CheckInOut checkIn = checkerRepository.findByChildIdAndCheckOutTimeIsNull(dto.getChildId())
+        // One conditional update of the open check-in
+        CheckInOut savedCheckIn = checkerRepository.checkOutActive(List.of(dto.getChildId()), toCheckOut(dto, approvedByStaff)).stream()
+                .findFirst()
                 .orElseThrow(() -> new RuntimeException("Child is not checked in"));
+        log.info("Saved checkout: {}", savedCheckIn.getId());
+        attendanceService.recordCheckOuts(List.of(savedCheckIn));
 
-        checkIn.setCheckOutTime(LocalDateTime.now());
-        checkIn.setPickedUpBy(dto.getPickedUpBy());
-        checkIn.setPickedUpByType(dto.getPickedUpPersonType());
-        checkIn.setPickedUpByName(dto.getPickedUpPersonName());
-        checkIn.setCheckOutApprovedByStaff(approvedByStaff); // Use passed-in staff ID
-        checkIn.setIdVerified(dto.isPickedUpConfirmed());
+        activeCheckInBoard.removed(savedCheckIn.getChildId());
+        publishStatus(savedCheckIn.getChildId(), null);
+        return toResponseDto(savedCheckIn);
+    }
+
+    /* Check in a whole group or a list of children at the staff member's kindergarten
+        - Children are authorized in one query
+        - All new check-ins are written in one statement - children already checked in, also on another device, are skipped
+        - One result per requested child, in request order
+    */
+    public List<BulkCheckResultDto> bulkCheckIn(BulkCheckInDto dto, UUID staffId, UUID kindergartenId) {
+        Map<UUID, Child> children = resolveChildren(dto.getGroupId(), dto.getChildIds());
+        log.info("Bulk check-in of {} children by staff: {}", children.size(), staffId);
+
+        Map<UUID, BulkCheckResultDto> results = authorize(children, kindergartenId);
+        CheckInDto checkIn = CheckInDto.builder()
+                .droppedOffBy(dto.getDroppedOffBy())
+                .droppedOffPersonType(dto.getDroppedOffPersonType())
+                .droppedOffPersonName(dto.getDroppedOffPersonName())
+                .notes(dto.getNotes())
+                .build();
 
-        if (dto.getNotes() != null && !dto.getNotes().isEmpty()) {
-            String existingNotes = checkIn.getNotes() != null ? checkIn.getNotes() : "";
-            checkIn.setNotes(existingNotes + (existingNotes.isEmpty() ? "" : " | ") + dto.getNotes());
+        List<CheckInOut> checkedIn = checkerRepository.insertIfNotCheckedIn(pending(results), newCheckIn(checkIn, staffId, true));
+        for (CheckInOut saved : checkedIn) {
+            CheckerResponseDto response = toResponseDto(saved);
+            activeCheckInBoard.checkedIn(kindergartenId, response);
+            publishStatus(saved.getChildId(), response);
+            results.put(saved.getChildId(), result(saved.getChildId(), BulkCheckResultDto.Status.CHECKED_IN, response));
         }
+        pending(results).forEach(childId ->
+                results.put(childId, result(childId, BulkCheckResultDto.Status.ALREADY_CHECKED_IN, null)));
 
-        CheckInOut savedCheckIn = checkerRepository.save(checkIn);
-        log.info("Saved checkout: {}", savedCheckIn.getId());
-        return toResponseDto(savedCheckIn);
+        log.info("Bulk check-in saved {} check-ins", checkedIn.size());
+        return new ArrayList<>(results.values());
     }
 
-    public List<CheckerResponseDto> getActiveCheckins() {
-        log.info("Finding active checkins");
-        return checkerRepository.findByCheckOutTimeIsNull().stream()
-                .map(this::toResponseDto)
-                .collect(Collectors.toList());
+    // Check out a whole group or a list of children - same shape as bulkCheckIn
+    public List<BulkCheckResultDto> bulkCheckOut(BulkCheckOutDto dto, UUID staffId, UUID kindergartenId) {
+        Map<UUID, Child> children = resolveChildren(dto.getGroupId(), dto.getChildIds());
+        log.info("Bulk check-out of {} children by staff: {}", children.size(), staffId);
+
+        Map<UUID, BulkCheckResultDto> results = authorize(children, kindergartenId);
+        CheckOutDto checkOut = CheckOutDto.builder()
+                .pickedUpBy(dto.getPickedUpBy())
+                .pickedUpPersonType(dto.getPickedUpPersonType())
+                .pickedUpPersonName(dto.getPickedUpPersonName())
+                .pickedUpConfirmed(dto.isPickedUpConfirmed())
+                .notes(dto.getNotes())
+                .build();
+
+        // One conditional update for the whole set - children without an open check-in are not touched
+        List<CheckInOut> checkedOut = checkerRepository.checkOutActive(pending(results), toCheckOut(checkOut, staffId));
+        attendanceService.recordCheckOuts(checkedOut);
+        for (CheckInOut saved : checkedOut) {
+            activeCheckInBoard.removed(saved.getChildId());
+            publishStatus(saved.getChildId(), null);
+            results.put(saved.getChildId(), result(saved.getChildId(), BulkCheckResultDto.Status.CHECKED_OUT, toResponseDto(saved)));
+        }
+        pending(results).forEach(childId ->
+                results.put(childId, result(childId, BulkCheckResultDto.Status.NOT_CHECKED_IN, null)));
+
+        log.info("Bulk check-out saved {} check-outs", checkedOut.size());
+        return new ArrayList<>(results.values());
     }
 
-    public List<CheckerResponseDto> getChildHistory(UUID childId) {
+    // Served from the in-memory board - no database round trip
+    public List<CheckerResponseDto> getActiveCheckins(UUID kindergartenId) {
+        log.debug("Finding active checkins for kindergarten: {}", kindergartenId);
+        return activeCheckInBoard.getActive(kindergartenId);
+    }
+
+    /* One page of a child's history, newest first - keyset pagination on (check_in_time, id)
+        - cursor is the nextCursor of the previous page, null for the first page
+        - from/to are optional inclusive dates
+        - Each page is one index range scan, so it costs the same on page 1 and page 100
+    */
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
+    public CheckerHistoryPageDto getChildHistory(UUID childId, String cursor, LocalDate from, LocalDate to, int limit) {
         log.info("Finding history for child: {}", childId);
-        return checkerRepository.findByChildIdOrderByCheckInTimeDesc(childId).stream()
-                .map(this::toResponseDto)
-                .collect(Collectors.toList());
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+
+        LocalDateTime cursorTime = HISTORY_END;
+        UUID cursorId = MAX_UUID;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            cursorTime = LocalDateTime.parse(parts[0]);
+            cursorId = UUID.fromString(parts[1]);
+        }
+
+        // Fetch one extra row to know whether there is a next page
+        List<CheckInOut> rows = checkerRepository.findHistoryPage(childId,
+                from != null ? from.atStartOfDay() : HISTORY_START,
+                to != null ? to.plusDays(1).atStartOfDay() : HISTORY_END,
+                cursorTime, cursorId, Limit.of(pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<CheckInOut> page = hasMore ? rows.subList(0, pageSize) : rows;
+        CheckInOut last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CheckerHistoryPageDto.builder()
+                .items(page.stream().map(this::toResponseDto).toList())
+                .nextCursor(hasMore ? encodeCursor(last) : null)
+                .build();
     }
 
+    // On the primary like getPendingConfirmations
     public CheckerResponseDto getActiveCheckIn(UUID childId) {
         log.info("Finding active check-in for child: {}", childId);
         return checkerRepository.findActiveCheckInByChildId(childId)
@@ -114,6 +234,127 @@ public class CheckerService {
                 .orElse(null);
     }
 
+    // Current status of several children in one query - first events on the status stream, on the primary
+    public List<ChildStatusDto> getChildStatuses(Collection<UUID> childIds) {
+        Map<UUID, CheckerResponseDto> active = checkerRepository.findByChildIdInAndCheckOutTimeIsNull(childIds).stream()
+                .collect(Collectors.toMap(CheckInOut::getChildId, this::toResponseDto, (first, second) -> first));
+        return childIds.stream()
+                .map(childId -> toStatusDto(childId, active.get(childId)))
+                .toList();
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private CheckInOut newCheckIn(CheckInDto dto, UUID userId, boolean isStaff) {
+        return CheckInOut.builder()
+                .childId(dto.getChildId())
+                .checkInTime(LocalDateTime.now())
+                .droppedOffBy(dto.getDroppedOffBy())
+                .droppedOffByType(dto.getDroppedOffPersonType())
+                .droppedOffByName(dto.getDroppedOffPersonName())
+                // Only set confirmation if staff is doing the check-in
+                .checkInConfirmedByStaff(isStaff ? userId : null)
+                .notes(dto.getNotes())
+                .build();
+    }
+
+    // Pickup fields for CheckerRepository.checkOutActive - notes are appended to the check-in notes there
+    private CheckInOut toCheckOut(CheckOutDto dto, UUID approvedByStaff) {
+        return CheckInOut.builder()
+                .checkOutTime(LocalDateTime.now())
+                .pickedUpBy(dto.getPickedUpBy())
+                .pickedUpByType(dto.getPickedUpPersonType())
+                .pickedUpByName(dto.getPickedUpPersonName())
+                .checkOutApprovedByStaff(approvedByStaff) // Use passed-in staff ID
+                .idVerified(dto.isPickedUpConfirmed())
+                .notes(dto.getNotes())
+                .build();
+    }
+
+    // Requested children in request order - one query for a group or a list of ids, null for unknown ids
+    private Map<UUID, Child> resolveChildren(UUID groupId, List<UUID> childIds) {
+        boolean hasChildIds = childIds != null && !childIds.isEmpty();
+        if ((groupId == null) == !hasChildIds) {
+            throw new RuntimeException("Either groupId or childIds is required");
+        }
+
+        Map<UUID, Child> children = new LinkedHashMap<>();
+        if (groupId != null) {
+            childRepository.findByGroupId(groupId).forEach(child -> children.put(child.getId(), child));
+        } else {
+            childIds.forEach(childId -> children.put(childId, null));
+            childRepository.findAllById(children.keySet()).forEach(child -> children.put(child.getId(), child));
+        }
+
+        if (children.size() > MAX_BULK_SIZE) {
+            throw new RuntimeException("Cannot check in or out more than " + MAX_BULK_SIZE + " children at once");
+        }
+        return children;
+    }
+
+    // Unknown children and children at other kindergartens get their final result straight away, the rest stay pending (null)
+    private Map<UUID, BulkCheckResultDto> authorize(Map<UUID, Child> children, UUID kindergartenId) {
+        Map<UUID, BulkCheckResultDto> results = new LinkedHashMap<>();
+        children.forEach((childId, child) -> {
+            if (child == null) {
+                results.put(childId, result(childId, BulkCheckResultDto.Status.NOT_FOUND, null));
+            } else if (kindergartenId == null || !kindergartenId.equals(child.getKindergartenId())) {
+                results.put(childId, result(childId, BulkCheckResultDto.Status.FORBIDDEN, null));
+            } else {
+                results.put(childId, null);
+            }
+        });
+        return results;
+    }
+
+    private static List<UUID> pending(Map<UUID, BulkCheckResultDto> results) {
+        return results.entrySet().stream()
+                .filter(entry -> entry.getValue() == null)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static BulkCheckResultDto result(UUID childId, BulkCheckResultDto.Status status, CheckerResponseDto checkIn) {
+        return BulkCheckResultDto.builder()
+                .childId(childId)
+                .status(status)
+                .checkIn(checkIn)
+                .build();
+    }
+
+    private static String encodeCursor(CheckInOut last) {
+        String value = last.getCheckInTime() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Wrong number of parts");
+            }
+            // Parse here so a bad cursor fails as a bad request, not deep in the query
+            LocalDateTime.parse(parts[0]);
+            UUID.fromString(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid history cursor");
+        }
+    }
+
+    // Tell status stream subscribers - delivered after this transaction commits
+    private void publishStatus(UUID childId, CheckerResponseDto activeCheckIn) {
+        eventPublisher.publishEvent(new ChildStatusChangedEvent(toStatusDto(childId, activeCheckIn)));
+    }
+
+    private ChildStatusDto toStatusDto(UUID childId, CheckerResponseDto activeCheckIn) {
+        return ChildStatusDto.builder()
+                .childId(childId)
+                .checkedIn(activeCheckIn != null)
+                .checkIn(activeCheckIn)
+                .build();
+    }
+
     private CheckerResponseDto toResponseDto(CheckInOut savedCheckers) {
         return CheckerResponseDto.builder()
                 .id(savedCheckers.getId())
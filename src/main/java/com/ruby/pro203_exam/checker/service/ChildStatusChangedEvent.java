@@ -0,0 +1,13 @@
+package com.ruby.pro203_exam.checker.service;
+
+import com.ruby.pro203_exam.checker.dto.ChildStatusDto;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Published by CheckerService when a child is checked in, confirmed or checked out
+@Getter
+@RequiredArgsConstructor
+public class ChildStatusChangedEvent {
+
+    private final ChildStatusDto status;
+}
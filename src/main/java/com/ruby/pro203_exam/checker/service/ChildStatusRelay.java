@@ -0,0 +1,176 @@
+package com.ruby.pro203_exam.checker.service;
+
+import com.ruby.pro203_exam.checker.dto.ChildStatusDto;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/* Carries child status changes between instances - Postgres LISTEN/NOTIFY on the shared app database
+    - Changes made here are sent as NOTIFY child_status '<instance id>:<child id>' once they commit
+    - Every instance LISTENs, skips its own notifications, and re-reads the status of the children its streams watch
+      from the primary - the notification only says which child changed, so an 8000 byte payload limit never matters
+    - One connection outside the pool, owned by one platform thread that both sends and listens - a pooled connection
+      held for hours would trip leak detection
+    - After a reconnect every watched child's status is sent again, since notifications during the gap are lost
+*/
+@Component
+@Slf4j
+public class ChildStatusRelay {
+
+    static final String CHANNEL = "child_status";
+
+    private static final String NOTIFY = "SELECT pg_notify('" + CHANNEL + "', payload) FROM unnest(?) AS payload";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final BlockingQueue<UUID> outgoing = new LinkedBlockingQueue<>();
+
+    private final HikariDataSource dataSource;
+    private final CheckerService checkerService;
+    private final ChildStatusStream childStatusStream;
+    private final boolean enabled;
+    private final int pollMillis;
+    private final long reconnectMillis;
+
+    private volatile Thread relay;
+
+    public ChildStatusRelay(@Qualifier("appPrimaryDataSource") HikariDataSource dataSource,
+                            CheckerService checkerService,
+                            ChildStatusStream childStatusStream,
+                            @Value("${checker.stream.relay.enabled:true}") boolean enabled,
+                            @Value("${checker.stream.relay.poll:PT0.05S}") Duration poll,
+                            @Value("${checker.stream.relay.reconnect:PT5S}") Duration reconnect) {
+        this.dataSource = dataSource;
+        this.checkerService = checkerService;
+        this.childStatusStream = childStatusStream;
+        this.enabled = enabled;
+        this.pollMillis = (int) poll.toMillis();
+        this.reconnectMillis = reconnect.toMillis();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Child status relay disabled - status streams only see changes made on this instance");
+            return;
+        }
+        relay = Thread.ofPlatform().name("child-status-relay").daemon().start(this::run);
+    }
+
+    // Queue a committed change for the other instances - the relay thread sends it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(ChildStatusChangedEvent event) {
+        if (relay != null) {
+            outgoing.add(event.getStatus().getChildId());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        Thread running = relay;
+        relay = null;
+        if (running != null) {
+            running.interrupt();
+        }
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private void run() {
+        while (relay != null) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSource.getJdbcUrl(), dataSource.getUsername(), dataSource.getPassword())) {
+                try (Statement listen = connection.createStatement()) {
+                    listen.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Child status relay listening on {}", CHANNEL);
+                resendWatched();
+                relay(connection);
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Child status relay lost its connection, retrying in {} ms: {}", reconnectMillis, e.getMessage());
+            }
+            try {
+                Thread.sleep(reconnectMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void relay(Connection connection) throws SQLException {
+        PGConnection listener = connection.unwrap(PGConnection.class);
+        try (PreparedStatement notify = connection.prepareStatement(NOTIFY)) {
+            while (relay != null && !Thread.currentThread().isInterrupted()) {
+                send(connection, notify);
+
+                PGNotification[] notifications = listener.getNotifications(pollMillis);
+                if (notifications != null) {
+                    receive(notifications);
+                }
+            }
+        }
+    }
+
+    private void send(Connection connection, PreparedStatement notify) throws SQLException {
+        List<UUID> changed = new ArrayList<>();
+        outgoing.drainTo(changed);
+        if (changed.isEmpty()) {
+            return;
+        }
+        Array payloads = connection.createArrayOf("text",
+                changed.stream().distinct().map(childId -> instanceId + ":" + childId).toArray());
+        notify.setArray(1, payloads);
+        notify.execute();
+    }
+
+    // Changes made on other instances, for children someone here is watching
+    private void receive(PGNotification[] notifications) {
+        Set<UUID> watched = new LinkedHashSet<>();
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            int separator = payload.indexOf(':');
+            if (separator < 0 || payload.substring(0, separator).equals(instanceId)) {
+                continue;
+            }
+            UUID childId = UUID.fromString(payload.substring(separator + 1));
+            if (childStatusStream.isWatched(childId)) {
+                watched.add(childId);
+            }
+        }
+        publish(watched);
+    }
+
+    private void resendWatched() {
+        publish(childStatusStream.watchedChildren());
+    }
+
+    private void publish(Set<UUID> childIds) {
+        if (childIds.isEmpty()) {
+            return;
+        }
+        for (ChildStatusDto status : checkerService.getChildStatuses(childIds)) {
+            childStatusStream.onStatusChanged(new ChildStatusChangedEvent(status));
+        }
+    }
+}
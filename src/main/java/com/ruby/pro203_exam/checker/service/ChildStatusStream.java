@@ -0,0 +1,176 @@
+package com.ruby.pro203_exam.checker.service;
+
+import com.ruby.pro203_exam.checker.dto.ChildStatusDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/* Server-Sent Events for live child check-in status - replaces parents polling /api/checker/status
+    - Emitters run on the async servlet, so an idle subscriber holds no request thread
+    - Events are sent after the check-in/out transaction commits, each send on its own virtual thread so a slow phone never holds up staff
+    - Changes made on other instances arrive through ChildStatusRelay
+    - A comment line every checker.stream.heartbeat keeps proxies from closing idle connections and clears out dead ones
+    - Sends to one emitter are serialized by its own ReentrantLock - synchronized would pin the carrier thread for the
+      whole socket write, and a few slow phones could stall every virtual thread, request handling included
+    - A new stream is registered before its current status is read, so a change committed in between is not lost -
+      changes that arrive meanwhile wait on the stream's lock and are sent after the current status
+*/
+@Component
+@Slf4j
+public class ChildStatusStream {
+
+    private static final String STATUS_EVENT = "status";
+
+    private final long timeoutMillis;
+
+    // childId -> open streams watching that child
+    private final Map<UUID, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    // Open stream -> lock held while sending to it - SseEmitter is not safe for concurrent sends
+    private final Map<SseEmitter, ReentrantLock> sendLocks = new ConcurrentHashMap<>();
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("child-status-heartbeat").daemon().factory());
+
+    public ChildStatusStream(
+            @Value("${checker.stream.timeout:PT30M}") Duration timeout,
+            @Value("${checker.stream.heartbeat:PT25S}") Duration heartbeatInterval) {
+        this.timeoutMillis = timeout.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Open a stream for the given children, starting with their current status - read once the stream is registered
+    public SseEmitter subscribe(Collection<UUID> childIds, Supplier<List<ChildStatusDto>> currentStatus) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        ReentrantLock lock = new ReentrantLock();
+        // Held until the current status is sent - changes for these children queue up behind it
+        lock.lock();
+        try {
+            sendLocks.put(emitter, lock);
+            for (UUID childId : childIds) {
+                // Add inside compute so a concurrent unsubscribe can't drop the set we are adding to
+                subscribers.compute(childId, (id, emitters) -> {
+                    Set<SseEmitter> watching = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+                    watching.add(emitter);
+                    return watching;
+                });
+            }
+            Runnable unsubscribe = () -> unsubscribe(childIds, emitter);
+            emitter.onCompletion(unsubscribe);
+            emitter.onTimeout(unsubscribe);
+            emitter.onError(error -> unsubscribe.run());
+
+            List<ChildStatusDto> statuses;
+            try {
+                statuses = currentStatus.get();
+            } catch (RuntimeException e) {
+                unsubscribe.run();
+                throw e;
+            }
+            for (ChildStatusDto status : statuses) {
+                send(emitter, statusEvent(status));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return emitter;
+    }
+
+    // Fan a status change out to everyone watching the child - after commit, or straight away outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(ChildStatusChangedEvent event) {
+        ChildStatusDto status = event.getStatus();
+        Set<SseEmitter> emitters = subscribers.get(status.getChildId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            senders.execute(() -> send(emitter, statusEvent(status)));
+        }
+    }
+
+    // Whether any open stream on this instance watches the child
+    public boolean isWatched(UUID childId) {
+        return subscribers.containsKey(childId);
+    }
+
+    // Every child some open stream on this instance watches
+    public Set<UUID> watchedChildren() {
+        return Set.copyOf(subscribers.keySet());
+    }
+
+    // Number of open streams
+    public int subscriberCount() {
+        return (int) subscribers.values().stream()
+                .flatMap(Set::stream)
+                .distinct()
+                .count();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+        sendLocks.clear();
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private SseEmitter.SseEventBuilder statusEvent(ChildStatusDto status) {
+        return SseEmitter.event().name(STATUS_EVENT).data(status);
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        ReentrantLock lock = sendLocks.get(emitter);
+        if (lock == null) {
+            // Already unsubscribed
+            return;
+        }
+        lock.lock();
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping child status stream: {}", e.getMessage());
+            emitter.completeWithError(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sendHeartbeat() {
+        sendLocks.keySet().forEach(emitter ->
+                senders.execute(() -> send(emitter, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private void unsubscribe(Collection<UUID> childIds, SseEmitter emitter) {
+        for (UUID childId : childIds) {
+            subscribers.computeIfPresent(childId, (id, emitters) -> {
+                emitters.remove(emitter);
+                return emitters.isEmpty() ? null : emitters;
+            });
+        }
+        sendLocks.remove(emitter);
+    }
+}
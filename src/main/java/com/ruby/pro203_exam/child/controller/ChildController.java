@@ -1,6 +1,6 @@
 package com.ruby.pro203_exam.child.controller;
 
-import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.model.UserRole;
 import com.ruby.pro203_exam.auth.service.AuthorizationService;
 import com.ruby.pro203_exam.auth.util.SecurityUtils;
@@ -8,8 +8,6 @@ import com.ruby.pro203_exam.child.dto.ChildResponseDto;
 import com.ruby.pro203_exam.child.dto.CreateChildDto;
 import com.ruby.pro203_exam.child.dto.UpdateChildDto;
 import com.ruby.pro203_exam.child.service.ChildService;
-import com.ruby.pro203_exam.staff.model.Staff;
-import com.ruby.pro203_exam.staff.repository.StaffRepository;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,12 +28,11 @@ public class ChildController {
     private final ChildService childService;
     private final AuthorizationService authorizationService;
     private final SecurityUtils securityUtils;
-    private final StaffRepository staffRepository;
 
     // Get all children - filtered by role
     @GetMapping
     public ResponseEntity<List<ChildResponseDto>> getAllChildren() {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Parents see only their children
         if (user.getRole() == UserRole.PARENT) {
@@ -44,9 +41,7 @@ public class ChildController {
 
         // Staff and Boss see only children in their kindergarten
         if (user.getRole() == UserRole.STAFF || user.getRole() == UserRole.BOSS) {
-            Staff staff = staffRepository.findById(user.getProfileId())
-                    .orElseThrow(() -> new RuntimeException("Staff profile not found"));
-            return ResponseEntity.ok(childService.getChildrenByKindergarten(staff.getKindergartenId()));
+            return ResponseEntity.ok(childService.getChildrenByKindergarten(user.getKindergartenId()));
         }
 
         return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -55,7 +50,7 @@ public class ChildController {
     // Get one child
     @GetMapping("/{id}")
     public ResponseEntity<ChildResponseDto> getChildById(@PathVariable UUID id) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         if (!authorizationService.canViewChild(user.getId(), id)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -67,20 +62,16 @@ public class ChildController {
     // Get children by parent - staff can look up which children belong to a parent
     @GetMapping("/parent/{parentId}")
     public ResponseEntity<List<ChildResponseDto>> getChildrenByParent(@PathVariable UUID parentId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only staff/boss can use this endpoint to look up children by parent
         if (user.getRole() != UserRole.STAFF && user.getRole() != UserRole.BOSS) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        // Get staff's kindergarten to filter results
-        Staff staff = staffRepository.findById(user.getProfileId())
-                .orElseThrow(() -> new RuntimeException("Staff profile not found"));
-
         // Get children and filter to only those in staff's kindergarten
         List<ChildResponseDto> children = childService.getChildrenByParent(parentId).stream()
-                .filter(child -> staff.getKindergartenId().equals(child.getKindergartenId()))
+                .filter(child -> child.getKindergartenId() != null && child.getKindergartenId().equals(user.getKindergartenId()))
                 .toList();
 
         return ResponseEntity.ok(children);
@@ -89,7 +80,7 @@ public class ChildController {
     // Get children by kindergarten - only accessible by staff at that kindergarten
     @GetMapping("/kindergarten/{kindergartenId}")
     public ResponseEntity<List<ChildResponseDto>> getChildrenByKindergarten(@PathVariable UUID kindergartenId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only staff/boss at this kindergarten can view
         if (!authorizationService.isStaffAt(user.getId(), kindergartenId)) {
@@ -102,7 +93,7 @@ public class ChildController {
     // Create child - parent adds their child
     @PostMapping
     public ResponseEntity<ChildResponseDto> createChild(@Valid @RequestBody CreateChildDto dto) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Check if user can add a child (kindergartenId is optional - parent can add later)
         if (!authorizationService.canAddChild(user.getId(), dto.getKindergartenId())) {
@@ -119,7 +110,7 @@ public class ChildController {
     public ResponseEntity<ChildResponseDto> updateChild(
             @PathVariable UUID id,
             @Valid @RequestBody UpdateChildDto dto) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         if (!authorizationService.canEditChild(user.getId(), id)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -131,7 +122,7 @@ public class ChildController {
     // Delete child - only privileged staff (boss or admin staff) at the kindergarten
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteChild(@PathVariable UUID id) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         if (!authorizationService.canEditChild(user.getId(), id)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -1,6 +1,6 @@
 package com.ruby.pro203_exam.child.controller;
 
-import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.model.UserRole;
 import com.ruby.pro203_exam.auth.service.AuthorizationService;
 import com.ruby.pro203_exam.auth.util.SecurityUtils;
@@ -28,7 +28,7 @@ public class ChildPermissionsController {
     // Get permissions for a child
     @GetMapping("/child/{childId}")
     public ResponseEntity<ChildPermissionsResponseDto> getPermissions(@PathVariable UUID childId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         if (!authorizationService.canViewChild(user.getId(), childId)) {
             throw new AccessDeniedException("Cannot view permissions for this child");
@@ -43,7 +43,7 @@ public class ChildPermissionsController {
             @PathVariable UUID childId,
             @RequestBody CreateChildPermissionsDto dto) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only parents of this child can set permissions
         if (user.getRole() != UserRole.PARENT) {
@@ -63,7 +63,7 @@ public class ChildPermissionsController {
             @PathVariable UUID childId,
             @RequestBody UpdateChildPermissionsDto dto) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only parents of this child can update permissions
         if (user.getRole() != UserRole.PARENT) {
@@ -80,7 +80,7 @@ public class ChildPermissionsController {
     // Delete permissions for a child
     @DeleteMapping("/child/{childId}")
     public ResponseEntity<Void> deletePermissions(@PathVariable UUID childId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only boss can delete permissions
         if (user.getRole() != UserRole.PARENT) {
@@ -1,7 +1,9 @@
 package com.ruby.pro203_exam.child.model;
 
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -16,7 +18,8 @@ import java.util.UUID;
 public class Child {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
 
     @Column(name = "first_name", nullable = false, length = 100)
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -26,6 +27,10 @@ public interface ChildRepository extends JpaRepository<Child, UUID> {
             ")")
     List<Child> findByParentId(@Param("parentId") UUID parentId);
 
+    // Kindergarten of a child without loading the whole row
+    @Query("SELECT c.kindergartenId FROM Child c WHERE c.id = :childId")
+    Optional<UUID> findKindergartenIdById(@Param("childId") UUID childId);
+
     // Find children by kindergarten
     List<Child> findByKindergartenId(UUID kindergartenId);
 
@@ -25,6 +25,7 @@ public class ChildPermissionsService {
     private final ParentRepository parentRepository;
 
     // Find a child's permissions
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public ChildPermissionsResponseDto getPermissionsByChild(UUID childId) {
         log.info("Fetching permissions for child: {}", childId);
 
@@ -1,5 +1,6 @@
 package com.ruby.pro203_exam.child.service;
 
+import com.ruby.pro203_exam.checker.service.ActiveCheckInBoard;
 import com.ruby.pro203_exam.child.dto.ChildResponseDto;
 import com.ruby.pro203_exam.child.dto.CreateChildDto;
 import com.ruby.pro203_exam.child.dto.UpdateChildDto;
@@ -7,8 +8,8 @@ import com.ruby.pro203_exam.child.model.Child;
 import com.ruby.pro203_exam.child.model.ParentChildRelationship;
 import com.ruby.pro203_exam.child.repository.ChildRepository;
 import com.ruby.pro203_exam.child.repository.ParentChildRelationshipRepository;
-import com.ruby.pro203_exam.kindergarten.model.Kindergarten;
 import com.ruby.pro203_exam.kindergarten.repository.KindergartenRepository;
+import com.ruby.pro203_exam.kindergarten.service.KindergartenNameCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,8 +28,11 @@ public class ChildService {
     private final ChildRepository childRepository;
     private final ParentChildRelationshipRepository relationshipRepository;
     private final KindergartenRepository kindergartenRepository;
+    private final KindergartenNameCache kindergartenNameCache;
+    private final ActiveCheckInBoard activeCheckInBoard;
 
     // Get all children - staff view
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<ChildResponseDto> getAllChildren() {
         log.info("Fetching all children");
         return childRepository.findAll().stream()
@@ -38,6 +42,7 @@ public class ChildService {
 
 
     // Get child by ID
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public ChildResponseDto getChildById(UUID id) {
         log.info("Fetching child: {}", id);
         Child child = childRepository.findById(id)
@@ -46,6 +51,7 @@ public class ChildService {
     }
 
     // Get child by parent ID - parents only see their child
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<ChildResponseDto> getChildrenByParent(UUID parentId) {
         log.info("Fetching children for parent: {}", parentId);
         List<Child> children = childRepository.findByParentId(parentId);
@@ -55,6 +61,7 @@ public class ChildService {
     }
 
     // Get children by kindergarten - for staff at specific kindergartens
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<ChildResponseDto> getChildrenByKindergarten(UUID kindergartenId) {
         log.info("Fetching children for kindergarten: {}", kindergartenId);
         List<Child> children = childRepository.findByKindergartenId(kindergartenId);
@@ -133,6 +140,9 @@ public class ChildService {
             if (!kindergartenRepository.existsById(dto.getKindergartenId())) {
                 throw new RuntimeException("Kindergarten not found");
             }
+            if (!dto.getKindergartenId().equals(child.getKindergartenId())) {
+                activeCheckInBoard.moved(id, dto.getKindergartenId());
+            }
             child.setKindergartenId(dto.getKindergartenId());
         }
 
@@ -157,20 +167,13 @@ public class ChildService {
 
         // Delete child
         childRepository.deleteById(id);
+        activeCheckInBoard.removed(id);
         log.info("Deleted child: {}", id);
     }
 
     // ------------------------------------- HELPER METHODS ------------------------------------- //
     // Entity -> DTO
     private ChildResponseDto toResponseDto(Child child) {
-        // Lookup kindergarten name if exists
-        String kindergartenName = null;
-        if (child.getKindergartenId() != null) {
-            kindergartenName = kindergartenRepository.findById(child.getKindergartenId())
-                    .map(Kindergarten::getName)
-                    .orElse(null);
-        }
-
         return ChildResponseDto.builder()
                 .id(child.getId())
                 .firstName(child.getFirstName())
@@ -179,7 +182,7 @@ public class ChildService {
                 .groupName(child.getGroupName())
                 .groupId(child.getGroupId())
                 .kindergartenId(child.getKindergartenId())
-                .kindergartenName(kindergartenName)
+                .kindergartenName(kindergartenNameCache.getName(child.getKindergartenId()))
                 .checkedIn(child.getCheckedIn())
                 .build();
     }
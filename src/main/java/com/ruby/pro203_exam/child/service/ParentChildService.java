@@ -43,6 +43,7 @@ public class ParentChildService {
 
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<ParentChildDto> getRelationshipsOfParent(UUID parentId) {
         log.info("Get relationships of parent: {}", parentId);
         return relationshipRepo.findByParentId(parentId).stream()
@@ -51,6 +52,7 @@ public class ParentChildService {
 
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<ParentChildDto> getRelationshipOfChild(UUID childId) {
         log.info("Get relationships of child: {}", childId);
         return relationshipRepo.findByParentId(childId).stream()
@@ -59,6 +61,7 @@ public class ParentChildService {
 
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public ParentChildDto getRelationshipById(UUID id) {
         log.info("Get relationships status: {}", id);
         ParentChildRelationship relationship = relationshipRepo.findById(id)
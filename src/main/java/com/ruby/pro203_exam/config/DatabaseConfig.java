@@ -1,26 +1,37 @@
 package com.ruby.pro203_exam.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import jakarta.persistence.EntityManagerFactory;
 import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import javax.cache.CacheManager;
 import javax.sql.DataSource;
+import java.time.Duration;
 import java.util.HashMap;
 
 /* Db Config for Check-Kid application - Configures the TWO separate DB's
     1. Auth Db - user credentials and authentication
-    2. App Db - business data parent, staff, child, health data
+    2. App Db - business data parent, staff, child, health data - optionally with a read replica for readOnly transactions
+       and a second-level cache for reference entities (HibernateCacheConfig)
+    Each has its own Hikari pool - size, timeouts, leak detection and validation under spring.datasource.auth/app
 */
 
 @Configuration
@@ -29,12 +40,12 @@ public class DatabaseConfig {
 
     // ----------------------------------------- AUTH DATABASE CONFIG (primary) ----------------------------------------- //
 
-    // Create an actual db connection for auth db - reads from spring.datasource.auth in application.yaml
+    // Create an actual db connection pool for auth db - reads from spring.datasource.auth in application.yaml
     @Bean
     @Primary
     @ConfigurationProperties(prefix = "spring.datasource.auth")
-    public DataSource authDataSource() {
-        return DataSourceBuilder.create().build();
+    public HikariDataSource authDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
     }
 
     // Flyway configuration for auth database
@@ -64,6 +75,8 @@ public class DatabaseConfig {
         HashMap<String, Object> properties = new HashMap<>();
         properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
         properties.put("hibernate.hbm2ddl.auto", "validate");
+        // Query, session and transaction counts exported as hibernate.* metrics
+        properties.put("hibernate.generate_statistics", true);
         em.setJpaPropertyMap(properties);
 
         return em;
@@ -88,18 +101,50 @@ public class DatabaseConfig {
 
     // ----------------------------------------- APP DATABASE CONFIG (secondary) ----------------------------------------- //
 
-    // Create the actual db connection for app database - contains parents, staff, child, health tables
+    // Create the actual db connection pool for app database - contains parents, staff, child, health tables
     @Bean
     @ConfigurationProperties(prefix = "spring.datasource.app")
-    public DataSource appDataSource() {
-        return DataSourceBuilder.create().build();
+    public HikariDataSource appPrimaryDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
     }
 
-    // Flyway configuration for app database
+    // Optional read replica of the app database - reads from spring.datasource.app-replica, only with app-replica.enabled
+    @Bean
+    @ConditionalOnProperty(name = "app-replica.enabled", havingValue = "true")
+    @ConfigurationProperties(prefix = "spring.datasource.app-replica")
+    public HikariDataSource appReplicaDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+
+    // Replica lag and read-after-write rules for the replica
+    @Bean
+    @ConditionalOnProperty(name = "app-replica.enabled", havingValue = "true")
+    public ReplicaConsistency replicaConsistency(@Qualifier("appReplicaDataSource") DataSource appReplicaDataSource,
+                                                 @Value("${app-replica.max-lag:PT5S}") Duration maxLag) {
+        return new ReplicaConsistency(new JdbcTemplate(appReplicaDataSource), maxLag);
+    }
+
+    /* DataSource used by JPA and JDBC on the app db
+        - Without a replica this is the primary pool
+        - With one, readOnly = true transactions go to the replica and the rest to the primary (ReplicaRoutingDataSource)
+    */
+    @Bean
+    public DataSource appDataSource(@Qualifier("appPrimaryDataSource") DataSource appPrimaryDataSource,
+                                    @Qualifier("appReplicaDataSource") ObjectProvider<DataSource> appReplicaDataSource,
+                                    ObjectProvider<ReplicaConsistency> replicaConsistency) {
+        DataSource replica = appReplicaDataSource.getIfAvailable();
+        ReplicaConsistency consistency = replicaConsistency.getIfAvailable();
+        if (replica == null || consistency == null) {
+            return appPrimaryDataSource;
+        }
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(appPrimaryDataSource, replica, consistency));
+    }
+
+    // Flyway configuration for app database - always migrates the primary
     @Bean(initMethod = "migrate")
-    public Flyway appFlyway(@Qualifier("appDataSource") DataSource appDataSource) {
+    public Flyway appFlyway(@Qualifier("appPrimaryDataSource") DataSource appPrimaryDataSource) {
         return Flyway.configure()
-                .dataSource(appDataSource)
+                .dataSource(appPrimaryDataSource)
                 .locations("classpath:db/migration/app")
                 .baselineOnMigrate(true)
                 .load();
@@ -109,7 +154,8 @@ public class DatabaseConfig {
     @Bean
     public LocalContainerEntityManagerFactoryBean appEntityManagerFactory(
             @Qualifier("appDataSource") DataSource appDataSource,
-            @Qualifier("appFlyway") Flyway appFlyway) {
+            @Qualifier("appFlyway") Flyway appFlyway,
+            @Qualifier("appHibernateCacheManager") CacheManager appHibernateCacheManager) {
 
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
         em.setDataSource(appDataSource);
@@ -123,7 +169,8 @@ public class DatabaseConfig {
                 "com.ruby.pro203_exam.group.model",
                 "com.ruby.pro203_exam.absence.model",
                 "com.ruby.pro203_exam.note.model",
-                "com.ruby.pro203_exam.calendar.model"
+                "com.ruby.pro203_exam.calendar.model",
+                "com.ruby.pro203_exam.attendance.model"
         );
         em.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
         em.setPersistenceUnitName("app");
@@ -131,16 +178,43 @@ public class DatabaseConfig {
         HashMap<String, Object> properties = new HashMap<>();
         properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
         properties.put("hibernate.hbm2ddl.auto", "validate");
+        // Second-level cache for reference entities and cacheable queries - regions and limits in HibernateCacheConfig
+        properties.put("hibernate.cache.use_second_level_cache", true);
+        properties.put("hibernate.cache.use_query_cache", true);
+        properties.put("hibernate.cache.region.factory_class", "jcache");
+        properties.put("hibernate.javax.cache.cache_manager", appHibernateCacheManager);
+        properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+        properties.put("hibernate.generate_statistics", true);
         em.setJpaPropertyMap(properties);
 
         return em;
     }
 
-    // Transactions manager for app db
+    // Transactions manager for app db - with a replica it also pins users to the primary after their writes
     @Bean
     public PlatformTransactionManager appTransactionManager(
-            @Qualifier("appEntityManagerFactory") EntityManagerFactory appEntityManagerFactory) {
-        return new JpaTransactionManager(appEntityManagerFactory);
+            @Qualifier("appEntityManagerFactory") EntityManagerFactory appEntityManagerFactory,
+            ObjectProvider<ReplicaConsistency> replicaConsistency) {
+        ReplicaConsistency consistency = replicaConsistency.getIfAvailable();
+        if (consistency == null) {
+            return new JpaTransactionManager(appEntityManagerFactory);
+        }
+        return new ReplicaAwareTransactionManager(appEntityManagerFactory, consistency);
+    }
+
+    // Plain JDBC on the app db for single-statement writes - joins the surrounding appTransactionManager transaction
+    @Bean
+    public NamedParameterJdbcTemplate appJdbcTemplate(@Qualifier("appDataSource") DataSource appDataSource) {
+        return new NamedParameterJdbcTemplate(appDataSource);
+    }
+
+    // JDBC on the app db for large exports - rows are fetched from a server-side cursor fetchSize at a time, not all at once
+    @Bean
+    public NamedParameterJdbcTemplate appExportJdbcTemplate(@Qualifier("appDataSource") DataSource appDataSource,
+                                                            @Value("${attendance.export.fetch-size:1000}") int fetchSize) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(appDataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        return new NamedParameterJdbcTemplate(jdbcTemplate);
     }
 
     // Configures Spring Data JPA repo for app db - scans all the business domain repo packages
@@ -156,7 +230,8 @@ public class DatabaseConfig {
                     "com.ruby.pro203_exam.group.repository",
                     "com.ruby.pro203_exam.absence.repository",
                     "com.ruby.pro203_exam.note.repository",
-                    "com.ruby.pro203_exam.calendar.repository"
+                    "com.ruby.pro203_exam.calendar.repository",
+                    "com.ruby.pro203_exam.attendance.repository"
             },
             entityManagerFactoryRef = "appEntityManagerFactory",
             transactionManagerRef = "appTransactionManager"
@@ -0,0 +1,65 @@
+package com.ruby.pro203_exam.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+
+/* In-process Hibernate second-level cache for the app db - Caffeine behind the JCache API
+    - Only reference data that is read on almost every request and rarely written: kindergartens, groups, staff and
+      staff group assignments - entities opt in with @Cache(region = ...)
+    - Every region is created here with its own size and TTL, Hibernate fails at startup on a region that is missing
+    - READ_WRITE entities are updated/evicted by Hibernate when they are written through JPA - writes that bypass it
+      (JDBC, native SQL) must evict through EntityManagerFactory.getCache()
+    - Hit/miss/put counts are kept per region and published as JCache MXBeans (javax.cache:type=CacheStatistics)
+*/
+@Slf4j
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String KINDERGARTEN_REGION = "kindergarten";
+    public static final String GROUP_REGION = "group";
+    public static final String STAFF_REGION = "staff";
+    public static final String STAFF_GROUP_ASSIGNMENT_REGION = "staff-group-assignment";
+
+    // Results of repository queries marked cacheable - dropped whenever one of the tables they read is written
+    public static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+
+    // Last write time per table, used to check cached query results - must never expire or be evicted
+    public static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    static final List<String> BOUNDED_REGIONS = List.of(
+            KINDERGARTEN_REGION, GROUP_REGION, STAFF_REGION, STAFF_GROUP_ASSIGNMENT_REGION, QUERY_RESULTS_REGION);
+
+    @Bean
+    public CacheManager appHibernateCacheManager(HibernateCacheProperties properties) {
+        CacheManager cacheManager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("check-kid-app-hibernate"), getClass().getClassLoader());
+
+        for (String region : BOUNDED_REGIONS) {
+            HibernateCacheProperties.Region limits = properties.region(region);
+            cacheManager.createCache(region, configuration()
+                    .setMaximumSize(OptionalLong.of(limits.getMaxSize()))
+                    .setExpireAfterWrite(OptionalLong.of(limits.getTtl().toNanos())));
+            log.info("Hibernate cache region {} max size: {}, ttl: {}", region, limits.getMaxSize(), limits.getTtl());
+        }
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, configuration());
+
+        return cacheManager;
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private static CaffeineConfiguration<Object, Object> configuration() {
+        return new CaffeineConfiguration<>()
+                .setStatisticsEnabled(true)
+                .setManagementEnabled(true);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ruby.pro203_exam.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// Size and TTL per Hibernate second-level cache region - reads hibernate-cache.regions.<region> in application.yaml
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "hibernate-cache")
+public class HibernateCacheProperties {
+
+    // Used for a region that has no entry of its own
+    private Region defaults = new Region();
+
+    private Map<String, Region> regions = new HashMap<>();
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Region {
+        private long maxSize = 1000;
+        private Duration ttl = Duration.ofMinutes(30);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ruby.pro203_exam.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+// appTransactionManager when a replica is configured - tells ReplicaConsistency about every committed read-write transaction
+public class ReplicaAwareTransactionManager extends JpaTransactionManager {
+
+    private final transient ReplicaConsistency consistency;
+
+    public ReplicaAwareTransactionManager(EntityManagerFactory entityManagerFactory, ReplicaConsistency consistency) {
+        super(entityManagerFactory);
+        this.consistency = consistency;
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            consistency.recordWrite();
+        }
+    }
+}
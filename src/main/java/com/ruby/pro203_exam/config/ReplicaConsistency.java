@@ -0,0 +1,79 @@
+package com.ruby.pro203_exam.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ruby.pro203_exam.auth.util.SecurityUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/* Decides whether a read-only transaction may use the app replica right now
+    - Replica lag is measured every app-replica.lag-check-interval - above app-replica.max-lag, or unreachable,
+      every read goes to the primary until it catches up
+    - A user who just committed a write reads from the primary for max-lag, so they always see their own changes
+    - Requests without a JWT user only follow the lag rule
+*/
+@Slf4j
+public class ReplicaConsistency {
+
+    // Seconds the replica is behind - 0 when it has replayed everything it received, or when it isn't a standby at all
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private final Cache<UUID, Boolean> recentWriters;
+
+    // Primary only until the first lag check has passed
+    private volatile boolean replicaUsable = false;
+
+    public ReplicaConsistency(JdbcTemplate replicaJdbcTemplate, Duration maxLag) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(maxLag)
+                .build();
+    }
+
+    public boolean replicaAllowed() {
+        if (!replicaUsable) {
+            return false;
+        }
+        return SecurityUtils.findCurrentUser()
+                .map(user -> recentWriters.getIfPresent(user.getId()) == null)
+                .orElse(true);
+    }
+
+    // Called after a read-write transaction commits - pins the current user to the primary for max-lag
+    public void recordWrite() {
+        SecurityUtils.findCurrentUser().ifPresent(user -> recentWriters.put(user.getId(), Boolean.TRUE));
+    }
+
+    @Scheduled(fixedDelayString = "${app-replica.lag-check-interval:PT2S}")
+    public void checkLag() {
+        boolean usable;
+        try {
+            Double lagSeconds = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            usable = lagSeconds != null && lagSeconds * 1000 <= maxLag.toMillis();
+            if (!usable) {
+                log.warn("App replica is {}s behind - reading from the primary", lagSeconds);
+            }
+        } catch (RuntimeException e) {
+            usable = false;
+            log.warn("App replica lag check failed - reading from the primary: {}", e.getMessage());
+        }
+
+        if (usable && !replicaUsable) {
+            log.info("App replica is in sync - read-only transactions use it again");
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ruby.pro203_exam.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/* App DataSource that sends readOnly = true transactions to the replica and everything else to the primary
+    - Wrapped in a LazyConnectionDataSourceProxy (DatabaseConfig) so the connection is taken at the first statement,
+      after the transaction manager has marked the transaction read-only
+    - ReplicaConsistency can hold reads on the primary - replica lag and read-after-write
+*/
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaConsistency consistency;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaConsistency consistency) {
+        this.consistency = consistency;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && consistency.replicaAllowed() ? Target.REPLICA : Target.PRIMARY;
+    }
+}
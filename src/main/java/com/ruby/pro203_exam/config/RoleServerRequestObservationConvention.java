@@ -0,0 +1,32 @@
+package com.ruby.pro203_exam.config;
+
+import com.ruby.pro203_exam.auth.filter.JwtAuthFilter;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/* http.server.requests with the caller's role as an extra tag - PARENT, STAFF, BOSS, INCOMPLETE or ANONYMOUS
+    - Read from the request attribute JwtAuthFilter sets - the SecurityContext is already cleared when the
+      observation stops
+    - Keeps the default method/uri/status/outcome/exception tags, uri is the route template so ids don't add series
+*/
+@Component
+public class RoleServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String ROLE_TAG = "role";
+    static final String ANONYMOUS = "ANONYMOUS";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(role(context));
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private static KeyValue role(ServerRequestObservationContext context) {
+        Object role = context.getCarrier().getAttribute(JwtAuthFilter.ROLE_ATTRIBUTE);
+        return KeyValue.of(ROLE_TAG, role != null ? role.toString() : ANONYMOUS);
+    }
+}
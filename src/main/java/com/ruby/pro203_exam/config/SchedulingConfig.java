@@ -0,0 +1,10 @@
+package com.ruby.pro203_exam.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Turns on @Scheduled jobs - check_in_out_log partition maintenance
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,41 @@
+package com.ruby.pro203_exam.config;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* Time-ordered (version 7, RFC 9562) UUIDs for primary keys on both databases
+    - Random v4 keys land anywhere in the primary key B-tree, so every insert dirties a different page
+    - v7 keys start with the Unix time in ms, so new rows go to the right edge of the index like a sequence
+    - Still a plain uuid - old v4 rows stay valid and both kinds sort and join together
+    - Entities use it with @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class), JDBC inserts call next()
+      - swapping the algorithm here changes every key generated by the app
+*/
+public class TimeOrderedUuidGenerator implements UuidValueGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Last (ms << 12 | counter) handed out - the 12 bit counter keeps ids from one JVM increasing within the same ms
+    private static final AtomicLong LAST_STAMP = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    /* 48 bit Unix ms | version 7 | 12 bit counter | variant | 62 random bits
+        - More than 4096 ids in one ms borrow from the next ms instead of going backwards
+        - A clock that steps back keeps counting on from the last stamp
+    */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long stamp = LAST_STAMP.updateAndGet(last -> now > last ? now : last + 1);
+
+        long mostSigBits = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long leastSigBits = RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
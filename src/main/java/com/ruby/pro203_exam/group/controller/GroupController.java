@@ -1,6 +1,6 @@
 package com.ruby.pro203_exam.group.controller;
 
-import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.service.AuthorizationService;
 import com.ruby.pro203_exam.auth.util.SecurityUtils;
 import com.ruby.pro203_exam.group.dto.AssignStaffDto;
@@ -30,7 +30,7 @@ public class GroupController {
     // Create a group
     @PostMapping
     public ResponseEntity<GroupResponseDto> createGroup(@RequestBody @Valid CreateGroupDto dto) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only privileged staff can create groups
         if (!authorizationService.canManageGroups(user.getId(), dto.getKindergartenId())) {
@@ -60,7 +60,7 @@ public class GroupController {
             @PathVariable UUID id,
             @RequestBody UpdateGroupDto dto) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
         GroupResponseDto group = groupService.getGroupById(id);
 
         if (!authorizationService.canManageGroups(user.getId(), group.getKindergartenId())) {
@@ -73,7 +73,7 @@ public class GroupController {
     // Delete a group
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteGroup(@PathVariable UUID id) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
         GroupResponseDto group = groupService.getGroupById(id);
 
         if (!authorizationService.canManageGroups(user.getId(), group.getKindergartenId())) {
@@ -91,7 +91,7 @@ public class GroupController {
             @PathVariable UUID staffId,
             @RequestBody AssignStaffDto dto) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
         GroupResponseDto group = groupService.getGroupById(groupId);
 
         // Only boss can assign staff to groups
@@ -107,7 +107,7 @@ public class GroupController {
     // Delete staff from groups
     @DeleteMapping("/{groupId}/staff/{staffId}")
     public ResponseEntity<Void> removeStaff(@PathVariable UUID groupId, @PathVariable UUID staffId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
         GroupResponseDto group = groupService.getGroupById(groupId);
 
         // Only boss can remove staff from groups
@@ -131,7 +131,7 @@ public class GroupController {
             @PathVariable UUID groupId,
             @PathVariable UUID childId) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
         GroupResponseDto group = groupService.getGroupById(groupId);
 
         // Only boss can assign children to groups
@@ -149,7 +149,7 @@ public class GroupController {
             @PathVariable UUID groupId,
             @PathVariable UUID childId) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
         GroupResponseDto group = groupService.getGroupById(groupId);
 
         // Only boss can remove children from groups
@@ -1,12 +1,19 @@
 package com.ruby.pro203_exam.group.model;
 
+import com.ruby.pro203_exam.config.HibernateCacheConfig;
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.GROUP_REGION)
 @Table(name = "groups", uniqueConstraints = @UniqueConstraint(columnNames = {"name", "kindergarten_id"}))
 @Getter
 @Setter
@@ -15,7 +22,8 @@ import java.util.UUID;
 @Builder
 public class Group {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
 
     @Column(nullable = false, length = 100)
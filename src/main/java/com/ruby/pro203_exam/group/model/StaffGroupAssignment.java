@@ -1,12 +1,19 @@
 package com.ruby.pro203_exam.group.model;
 
+import com.ruby.pro203_exam.config.HibernateCacheConfig;
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.STAFF_GROUP_ASSIGNMENT_REGION)
 @Table(name = "staff_group_assignments", uniqueConstraints =
 @UniqueConstraint(columnNames = {"staff_id", "group_id"}))
 @Getter
@@ -16,7 +23,8 @@ import java.util.UUID;
 @Builder
 public class StaffGroupAssignment {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
 
     @Column(name = "staff_id", nullable = false)
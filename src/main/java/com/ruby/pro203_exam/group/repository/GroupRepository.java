@@ -2,6 +2,8 @@ package com.ruby.pro203_exam.group.repository;
 
 import com.ruby.pro203_exam.group.model.Group;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +17,27 @@ public interface GroupRepository extends JpaRepository<Group, UUID> {
     Optional<Group> findByNameAndKindergartenId(String name, UUID kindergartenId);
 
     boolean existsByNameAndKindergartenId(String name, UUID kindergartenId);
+
+    // Groups with child and staff counts in one round trip - one scalar subquery per count, so the work grows with
+    // children + staff per group rather than children x staff
+    String SELECT_WITH_COUNTS = "SELECT g.id AS id, g.name AS name, g.description AS description, " +
+            "g.kindergartenId AS kindergartenId, g.ageRange AS ageRange, g.maxCapacity AS maxCapacity, " +
+            "(SELECT COUNT(c) FROM Child c WHERE c.groupId = g.id) AS childCount, " +
+            "(SELECT COUNT(a) FROM StaffGroupAssignment a WHERE a.groupId = g.id) AS staffCount " +
+            "FROM Group g ";
+
+    @Query(SELECT_WITH_COUNTS + "WHERE g.kindergartenId = :kindergartenId")
+    List<GroupWithCounts> findWithCountsByKindergartenId(@Param("kindergartenId") UUID kindergartenId);
+
+    @Query(SELECT_WITH_COUNTS + "WHERE g.id = :groupId")
+    Optional<GroupWithCounts> findWithCountsById(@Param("groupId") UUID groupId);
+
+    // Groups a staff member is assigned to
+    @Query(SELECT_WITH_COUNTS + "WHERE g.id IN (" +
+            "  SELECT sga.groupId FROM StaffGroupAssignment sga WHERE sga.staffId = :staffId" +
+            ")")
+    List<GroupWithCounts> findWithCountsByStaffId(@Param("staffId") UUID staffId);
+
+    @Query(SELECT_WITH_COUNTS)
+    List<GroupWithCounts> findAllWithCounts();
 }
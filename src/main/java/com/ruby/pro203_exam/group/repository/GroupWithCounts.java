@@ -0,0 +1,22 @@
+package com.ruby.pro203_exam.group.repository;
+
+import java.util.UUID;
+
+// Projection of a group with its child and staff counts - filled by a single GROUP BY query in GroupRepository
+public interface GroupWithCounts {
+    UUID getId();
+
+    String getName();
+
+    String getDescription();
+
+    UUID getKindergartenId();
+
+    String getAgeRange();
+
+    Integer getMaxCapacity();
+
+    long getChildCount();
+
+    long getStaffCount();
+}
@@ -1,7 +1,10 @@
 package com.ruby.pro203_exam.group.repository;
 
 import com.ruby.pro203_exam.group.model.StaffGroupAssignment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +15,8 @@ import java.util.UUID;
 public interface StaffGroupAssignmentRepository extends JpaRepository<StaffGroupAssignment, UUID> {
     List<StaffGroupAssignment> findByStaffId(UUID staffId);
 
+    // Served from the query cache until staff_group_assignments is written
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<StaffGroupAssignment> findByGroupId(UUID groupId);
 
     boolean existsByStaffIdAndGroupId(UUID staffId, UUID groupId);
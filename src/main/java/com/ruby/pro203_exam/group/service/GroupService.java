@@ -7,6 +7,7 @@ import com.ruby.pro203_exam.group.dto.UpdateGroupDto;
 import com.ruby.pro203_exam.group.model.Group;
 import com.ruby.pro203_exam.group.model.StaffGroupAssignment;
 import com.ruby.pro203_exam.group.repository.GroupRepository;
+import com.ruby.pro203_exam.group.repository.GroupWithCounts;
 import com.ruby.pro203_exam.group.repository.StaffGroupAssignmentRepository;
 import com.ruby.pro203_exam.kindergarten.repository.KindergartenRepository;
 import com.ruby.pro203_exam.staff.repository.StaffRepository;
@@ -50,12 +51,15 @@ public class GroupService {
                 .build();
 
         Group saved = groupRepository.save(group);
-        return toResponseDto(saved);
+
+        // New group has no children or staff yet
+        return toResponseDto(saved, 0, 0);
     }
 
     // Get all groups for a kindergarten
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<GroupResponseDto> getGroupsByKindergarten(UUID kindergartenId) {
-        return groupRepository.findByKindergartenId(kindergartenId).stream()
+        return groupRepository.findWithCountsByKindergartenId(kindergartenId).stream()
                 .map(this::toResponseDto)
                 .toList();
     }
@@ -90,6 +94,7 @@ public class GroupService {
     }
 
     // Get staff assigned to a group
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<UUID> getStaffByGroup(UUID groupId) {
         return assignmentRepository.findByGroupId(groupId).stream()
                 .map(StaffGroupAssignment::getStaffId)
@@ -97,12 +102,9 @@ public class GroupService {
     }
 
     // Get groups a staff member is assigned to
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<GroupResponseDto> getGroupsByStaff(UUID staffId) {
-        List<UUID> groupIds = assignmentRepository.findByStaffId(staffId).stream()
-                .map(StaffGroupAssignment::getGroupId)
-                .toList();
-
-        return groupRepository.findAllById(groupIds).stream()
+        return groupRepository.findWithCountsByStaffId(staffId).stream()
                 .map(this::toResponseDto)
                 .toList();
     }
@@ -134,6 +136,7 @@ public class GroupService {
     }
 
     // Get children assigned to a group
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<UUID> getChildrenByGroup(UUID groupId) {
         return childRepository.findByGroupId(groupId).stream()
                 .map(child -> child.getId())
@@ -156,13 +159,13 @@ public class GroupService {
     }
 
     // Get single group by ID
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public GroupResponseDto getGroupById(UUID groupId) {
         log.info("Fetching group: {}", groupId);
 
-        Group group = groupRepository.findById(groupId)
+        return groupRepository.findWithCountsById(groupId)
+                .map(this::toResponseDto)
                 .orElseThrow(() -> new RuntimeException("Group not found"));
-
-        return toResponseDto(group);
     }
 
     // Update group - Privileged Staff or Boss only
@@ -190,21 +193,32 @@ public class GroupService {
             group.setMaxCapacity(dto.getMaxCapacity());
         }
 
-        Group saved = groupRepository.save(group);
-        return toResponseDto(saved);
+        groupRepository.save(group);
+        return getGroupById(groupId);
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<GroupResponseDto> getAllGroups() {
-        return groupRepository.findAll().stream()
+        return groupRepository.findAllWithCounts().stream()
                 .map(this::toResponseDto)
                 .toList();
     }
 
     // ------------------------------------- HELPER METHODS ------------------------------------- //
-    private GroupResponseDto toResponseDto(Group group) {
-        long childCount = childRepository.countByGroupId(group.getId());
-        long staffCount = assignmentRepository.findByGroupId(group.getId()).size();
+    private GroupResponseDto toResponseDto(GroupWithCounts group) {
+        return GroupResponseDto.builder()
+                .id(group.getId())
+                .name(group.getName())
+                .description(group.getDescription())
+                .kindergartenId(group.getKindergartenId())
+                .ageRange(group.getAgeRange())
+                .maxCapacity(group.getMaxCapacity())
+                .childCount((int) group.getChildCount())
+                .staffCount((int) group.getStaffCount())
+                .build();
+    }
 
+    private GroupResponseDto toResponseDto(Group group, long childCount, long staffCount) {
         return GroupResponseDto.builder()
                 .id(group.getId())
                 .name(group.getName())
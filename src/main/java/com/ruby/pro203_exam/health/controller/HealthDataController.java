@@ -1,6 +1,6 @@
 package com.ruby.pro203_exam.health.controller;
 
-import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.service.AuthorizationService;
 import com.ruby.pro203_exam.auth.util.SecurityUtils;
 import com.ruby.pro203_exam.health.dto.CreateHealthDataDto;
@@ -28,7 +28,7 @@ public class HealthDataController {
     // Get health data for a child
     @GetMapping("/child/{childId}")
     public ResponseEntity<HealthDataResponseDto> getHealthData(@PathVariable UUID childId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         if (!authorizationService.canViewHealthData(user.getId(), childId)) {
             throw new AccessDeniedException("Cannot view health data for this child");
@@ -43,7 +43,7 @@ public class HealthDataController {
             @PathVariable UUID childId,
             @RequestBody CreateHealthDataDto dto) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         if (!authorizationService.canEditHealthData(user.getId(), childId)) {
             throw new AccessDeniedException("Cannot create health data for this child");
@@ -58,7 +58,7 @@ public class HealthDataController {
             @PathVariable UUID childId,
             @RequestBody UpdateHealthDataDto dto) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         if (!authorizationService.canEditHealthData(user.getId(), childId)) {
             throw new AccessDeniedException("Cannot update health data for this child");
@@ -70,7 +70,7 @@ public class HealthDataController {
     // Delete health data for a child
     @DeleteMapping("/child/{childId}")
     public ResponseEntity<Void> deleteHealthData(@PathVariable UUID childId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         if (!authorizationService.canEditHealthData(user.getId(), childId)) {
             throw new AccessDeniedException("Cannot delete health data for this child");
@@ -22,6 +22,7 @@ public class HealthDataService {
     private final HealthDataRepository healthDataRepository;
     private final ChildRepository childRepository;
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public HealthDataResponseDto getHealthDataByChild(UUID childId) {
         log.info("Fetching health data for child: {}", childId);
 
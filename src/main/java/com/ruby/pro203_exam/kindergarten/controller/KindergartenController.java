@@ -2,7 +2,7 @@ package com.ruby.pro203_exam.kindergarten.controller;
 
 // Rest Controller for Kindergarten endpoints
 
-import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.service.AuthorizationService;
 import com.ruby.pro203_exam.auth.util.SecurityUtils;
 import com.ruby.pro203_exam.kindergarten.dto.KindergartenResponseDto;
@@ -46,7 +46,7 @@ public class KindergartenController {
             @PathVariable UUID id,
             @Valid @RequestBody UpdateKindergartenDto dto) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only boss of the kindergarten can update it
         if (!authorizationService.canEditKindergarten(user.getId(), id)) {
@@ -58,7 +58,7 @@ public class KindergartenController {
     // Delete kindergarten
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteKindergarten(@PathVariable UUID id) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only boss of the kindergarten can delete it
         if (!authorizationService.canEditKindergarten(user.getId(), id)) {
@@ -1,12 +1,19 @@
 package com.ruby.pro203_exam.kindergarten.model;
 
+import com.ruby.pro203_exam.config.HibernateCacheConfig;
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.UUID;
 
 // Kindergarten entity representing a physical kindergarten location and its information
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.KINDERGARTEN_REGION)
 @Table(name = "kindergartens")
 @Getter
 @Setter
@@ -16,7 +23,8 @@ import java.util.UUID;
 public class Kindergarten {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
 
     @Column(nullable = false, unique = true, length = 255)
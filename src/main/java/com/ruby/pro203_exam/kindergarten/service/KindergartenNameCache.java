@@ -0,0 +1,102 @@
+package com.ruby.pro203_exam.kindergarten.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ruby.pro203_exam.kindergarten.model.Kindergarten;
+import com.ruby.pro203_exam.kindergarten.repository.KindergartenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/* Read-through cache of kindergarten id -> name for DTO mapping - names almost never change
+    - Listing children or a parent's profile used to re-read the same kindergarten row once per child
+    - Evicted by KindergartenService on update and delete, and again after the transaction commits
+    - Unknown ids are not cached so a kindergarten created later is picked up straight away
+    - Hit/miss/eviction counts and size are exported as cache.* metrics with cache=kindergarten-names
+*/
+@Component
+@Slf4j
+public class KindergartenNameCache implements MeterBinder {
+
+    private final KindergartenRepository kindergartenRepository;
+    private final Cache<UUID, String> cache;
+
+    public KindergartenNameCache(
+            KindergartenRepository kindergartenRepository,
+            @Value("${kindergarten.name-cache.max-size:1000}") long maxSize,
+            @Value("${kindergarten.name-cache.ttl:PT1H}") Duration ttl) {
+        this.kindergartenRepository = kindergartenRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        log.info("Kindergarten name cache max size: {}, ttl: {}", maxSize, ttl);
+    }
+
+    // Name of the kindergarten, or null if the id is null or unknown
+    public String getName(UUID kindergartenId) {
+        if (kindergartenId == null) {
+            return null;
+        }
+        return cache.get(kindergartenId, id -> kindergartenRepository.findById(id)
+                .map(Kindergarten::getName)
+                .orElse(null));
+    }
+
+    // Names for several kindergartens - ids not cached yet are read in one findAllById, unknown ids are left out
+    public Map<UUID, String> getNames(Collection<UUID> kindergartenIds) {
+        Set<UUID> ids = kindergartenIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return cache.getAll(ids, missing -> kindergartenRepository.findAllById(List.copyOf(missing)).stream()
+                .collect(Collectors.toMap(Kindergarten::getId, Kindergarten::getName)));
+    }
+
+    // Drop the cached name - repeated after commit so a concurrent read can't put the old name back
+    public void evict(UUID kindergartenId) {
+        cache.invalidate(kindergartenId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(kindergartenId);
+                }
+            });
+        }
+    }
+
+    // Hit, miss and eviction counters
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "kindergarten-names");
+    }
+}
@@ -1,5 +1,6 @@
 package com.ruby.pro203_exam.kindergarten.service;
 
+import com.ruby.pro203_exam.auth.service.ClaimsRevocationService;
 import com.ruby.pro203_exam.kindergarten.dto.KindergartenResponseDto;
 import com.ruby.pro203_exam.kindergarten.dto.UpdateKindergartenDto;
 import com.ruby.pro203_exam.kindergarten.model.Kindergarten;
@@ -20,8 +21,11 @@ import java.util.stream.Collectors;
 public class KindergartenService {
 
     private final KindergartenRepository kindergartenRepository;
+    private final ClaimsRevocationService claimsRevocationService;
+    private final KindergartenNameCache kindergartenNameCache;
 
     // Get all kindergartens - for parents when selecting
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<KindergartenResponseDto> getAllKindergartens() {
         log.info("Fetching all kindergartens");
         return kindergartenRepository.findAll().stream()
@@ -30,6 +34,7 @@ public class KindergartenService {
     }
 
     // Get kindergarten by id
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public KindergartenResponseDto getKindergartenById(UUID id) {
         log.info("Fetching kindergarten: {}", id);
         Kindergarten kindergarten = kindergartenRepository.findById(id)
@@ -67,6 +72,7 @@ public class KindergartenService {
 
         // Save
         Kindergarten updated = kindergartenRepository.save(kindergarten);
+        kindergartenNameCache.evict(id);
         log.info("Updated Kindergarten with id: {}", id);
 
         return toResponseDto(updated);
@@ -83,7 +89,11 @@ public class KindergartenService {
 
         // TODO: Check if kindergarten has children/staff before deleting
         kindergartenRepository.deleteById(id);
+        kindergartenNameCache.evict(id);
         log.info("Deleted kindergarten: {}", id);
+
+        // Staff tokens still claim this kindergarten
+        claimsRevocationService.revokeKindergarten(id);
     }
 
     // ------------------------------------- HELPER METHODS ------------------------------------- //
@@ -1,6 +1,6 @@
 package com.ruby.pro203_exam.note.controller;
 
-import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.model.UserRole;
 import com.ruby.pro203_exam.auth.service.AuthorizationService;
 import com.ruby.pro203_exam.auth.util.SecurityUtils;
@@ -31,7 +31,7 @@ public class NoteController {
     // Create a note
     @PostMapping
     public ResponseEntity<NoteResponseDto> createNote(@RequestBody CreateNoteDto dto) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Parents can only create notes for their own children
         if (user.getRole() == UserRole.PARENT) {
@@ -56,7 +56,7 @@ public class NoteController {
     // Get notes for a child
     @GetMapping("/child/{childId}")
     public ResponseEntity<List<NoteResponseDto>> getNotesByChild(@PathVariable UUID childId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         if (!authorizationService.canViewChild(user.getId(), childId)) {
             throw new AccessDeniedException("Cannot view notes for this child");
@@ -72,7 +72,7 @@ public class NoteController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
 
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         if (!authorizationService.canViewChild(user.getId(), childId)) {
             throw new AccessDeniedException("Cannot view notes for this child");
@@ -84,7 +84,7 @@ public class NoteController {
     // View notes for a kindergarten
     @GetMapping("/kindergarten/{kindergartenId}")
     public ResponseEntity<List<NoteResponseDto>> getKindergartenNotes(@PathVariable UUID kindergartenId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Staff or parents with children at this kindergarten can view
         // For simplicity, we allow all authenticated users to view kindergarten notes
@@ -104,7 +104,7 @@ public class NoteController {
     // Delete a note
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteNote(@PathVariable UUID id) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only boss can delete notes
         if (user.getRole() != UserRole.BOSS) {
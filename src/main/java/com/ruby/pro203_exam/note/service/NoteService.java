@@ -15,7 +15,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -51,29 +55,24 @@ public class NoteService {
         return toResponseDto(saved);
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<NoteResponseDto> getNotesByChild(UUID childId) {
-        return noteRepository.findByChildId(childId).stream()
-                .map(this::toResponseDto)
-                .toList();
+        return toResponseDtos(noteRepository.findByChildId(childId));
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<NoteResponseDto> getKindergartenNotes(UUID kindergartenId) {
-        return noteRepository.findByKindergartenIdAndChildIdIsNull(kindergartenId).stream()
-                .map(this::toResponseDto)
-                .toList();
+        return toResponseDtos(noteRepository.findByKindergartenIdAndChildIdIsNull(kindergartenId));
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<NoteResponseDto> getNotesByChildAndDateRange(UUID childId, LocalDate start, LocalDate end) {
-        return noteRepository.findByChildIdAndNoteDateBetween(childId, start, end).stream()
-                .map(this::toResponseDto)
-                .toList();
+        return toResponseDtos(noteRepository.findByChildIdAndNoteDateBetween(childId, start, end));
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<NoteResponseDto> getKindergartenNotesByDateRange(UUID kindergartenId, LocalDate start, LocalDate end) {
-        return noteRepository.findByKindergartenIdAndChildIdIsNullAndNoteDateBetween(kindergartenId, start, end)
-                .stream()
-                .map(this::toResponseDto)
-                .toList();
+        return toResponseDtos(noteRepository.findByKindergartenIdAndChildIdIsNullAndNoteDateBetween(kindergartenId, start, end));
     }
 
     public void deleteNote(UUID noteId) {
@@ -84,40 +83,67 @@ public class NoteService {
     // ------------------------------------- HELPER METHODS ------------------------------------- //
 
     private NoteResponseDto toResponseDto(Note note) {
-        String childName = null;
-        if (note.getChildId() != null) {
-            childName = childRepository.findById(note.getChildId())
-                    .map(c -> c.getFirstName() + " " + c.getLastName())
-                    .orElse(null);
+        return toResponseDtos(List.of(note)).get(0);
+    }
+
+    // Batch mapping - one findAllById for children, parents and staff instead of two lookups per note
+    private List<NoteResponseDto> toResponseDtos(List<Note> notes) {
+        if (notes.isEmpty()) {
+            return List.of();
         }
 
-        String createdByName = getPersonName(note.getCreatedBy(), note.getCreatedByType());
+        Set<UUID> childIds = new HashSet<>();
+        Set<UUID> parentIds = new HashSet<>();
+        Set<UUID> staffIds = new HashSet<>();
+        for (Note note : notes) {
+            if (note.getChildId() != null) {
+                childIds.add(note.getChildId());
+            }
+            if (note.getCreatedByType() == PersonType.Parent) {
+                parentIds.add(note.getCreatedBy());
+            } else {
+                staffIds.add(note.getCreatedBy());
+            }
+        }
 
+        Map<UUID, String> childNames = new HashMap<>();
+        if (!childIds.isEmpty()) {
+            childRepository.findAllById(childIds)
+                    .forEach(c -> childNames.put(c.getId(), c.getFirstName() + " " + c.getLastName()));
+        }
+
+        Map<UUID, String> parentNames = new HashMap<>();
+        if (!parentIds.isEmpty()) {
+            parentRepository.findAllById(parentIds)
+                    .forEach(p -> parentNames.put(p.getId(), p.getFirstName() + " " + p.getLastName()));
+        }
+
+        Map<UUID, String> staffNames = new HashMap<>();
+        if (!staffIds.isEmpty()) {
+            staffRepository.findAllById(staffIds)
+                    .forEach(st -> staffNames.put(st.getId(), st.getFirstName() + " " + st.getLastName()));
+        }
+
+        return notes.stream()
+                .map(note -> toResponseDto(note, childNames,
+                        note.getCreatedByType() == PersonType.Parent ? parentNames : staffNames))
+                .toList();
+    }
+
+    private NoteResponseDto toResponseDto(Note note, Map<UUID, String> childNames, Map<UUID, String> creatorNames) {
         return NoteResponseDto.builder()
                 .id(note.getId())
                 .childId(note.getChildId())
-                .childName(childName)
+                .childName(note.getChildId() != null ? childNames.get(note.getChildId()) : null)
                 .kindergartenId(note.getKindergartenId())
                 .title(note.getTitle())
                 .content(note.getContent())
                 .noteDate(note.getNoteDate())
                 .createdBy(note.getCreatedBy())
-                .createdByName(createdByName)
+                .createdByName(creatorNames.get(note.getCreatedBy()))
                 .createdByType(note.getCreatedByType())
                 .createdAt(note.getCreatedAt())
                 .updatedAt(note.getUpdatedAt())
                 .build();
     }
-
-    private String getPersonName(UUID personId, PersonType type) {
-        if (type == PersonType.Parent) {
-            return parentRepository.findById(personId)
-                    .map(p -> p.getFirstName() + " " + p.getLastName())
-                    .orElse(null);
-        } else {
-            return staffRepository.findById(personId)
-                    .map(s -> s.getFirstName() + " " + s.getLastName())
-                    .orElse(null);
-        }
-    }
 }
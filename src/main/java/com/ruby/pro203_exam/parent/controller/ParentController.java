@@ -1,13 +1,11 @@
 package com.ruby.pro203_exam.parent.controller;
 
-import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.model.UserRole;
 import com.ruby.pro203_exam.auth.util.SecurityUtils;
 import com.ruby.pro203_exam.parent.dto.ParentProfileResponseDto;
 import com.ruby.pro203_exam.parent.dto.ParentResponseDto;
 import com.ruby.pro203_exam.parent.service.ParentService;
-import com.ruby.pro203_exam.staff.model.Staff;
-import com.ruby.pro203_exam.staff.repository.StaffRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -27,11 +25,10 @@ import java.util.UUID;
 public class ParentController {
     private final ParentService parentService;
     private final SecurityUtils securityUtils;
-    private final StaffRepository staffRepository;
 
     @GetMapping
     public ResponseEntity<List<ParentResponseDto>> getAllParents() {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Parents cannot view other parents
         if (user.getRole() == UserRole.PARENT) {
@@ -39,15 +36,12 @@ public class ParentController {
         }
 
         // Staff can only see parents from their own kindergarten
-        Staff staff = staffRepository.findById(user.getProfileId())
-                .orElseThrow(() -> new RuntimeException("Staff profile not found"));
-
-        return ResponseEntity.ok(parentService.getParentsByKindergarten(staff.getKindergartenId()));
+        return ResponseEntity.ok(parentService.getParentsByKindergarten(user.getKindergartenId()));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ParentResponseDto> getParentById(@PathVariable UUID id) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Parents can only view themselves
         if (user.getRole() == UserRole.PARENT) {
@@ -56,7 +50,7 @@ public class ParentController {
             }
         } else {
             // Staff can only view parents from their kindergarten
-            if (!isParentInStaffKindergarten(user.getProfileId(), id)) {
+            if (!isParentInStaffKindergarten(user, id)) {
                 throw new AccessDeniedException("Cannot view parents from other kindergartens");
             }
         }
@@ -66,7 +60,7 @@ public class ParentController {
 
     @GetMapping("/{id}/profile")
     public ResponseEntity<ParentProfileResponseDto> getParentProfile(@PathVariable UUID id) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Parents can only view their own profile
         if (user.getRole() == UserRole.PARENT) {
@@ -75,7 +69,7 @@ public class ParentController {
             }
         } else {
             // Staff can only view parents from their kindergarten
-            if (!isParentInStaffKindergarten(user.getProfileId(), id)) {
+            if (!isParentInStaffKindergarten(user, id)) {
                 throw new AccessDeniedException("Cannot view parent profiles from other kindergartens");
             }
         }
@@ -84,10 +78,7 @@ public class ParentController {
     }
 
     // Check if a parent has children in the staff's kindergarten
-    private boolean isParentInStaffKindergarten(UUID staffProfileId, UUID parentId) {
-        Staff staff = staffRepository.findById(staffProfileId)
-                .orElseThrow(() -> new RuntimeException("Staff profile not found"));
-
+    private boolean isParentInStaffKindergarten(AuthenticatedUser staff, UUID parentId) {
         return parentService.isParentInKindergarten(parentId, staff.getKindergartenId());
     }
 }
@@ -0,0 +1,13 @@
+package com.ruby.pro203_exam.parent.repository;
+
+import com.ruby.pro203_exam.parent.model.Parent;
+
+import java.util.UUID;
+
+// One (co-parent, shared child) pair - see ParentRepository.findCoParentLinks
+public interface CoParentLink {
+
+    Parent getCoParent();
+
+    UUID getChildId();
+}
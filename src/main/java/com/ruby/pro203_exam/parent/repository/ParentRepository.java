@@ -30,4 +30,12 @@ public interface ParentRepository extends JpaRepository<Parent, UUID> {
             "JOIN Child c ON c.id = pcr.childId " +
             "WHERE p.id = :parentId AND c.kindergartenId = :kindergartenId")
     boolean existsByIdAndKindergartenId(@Param("parentId") UUID parentId, @Param("kindergartenId") UUID kindergartenId);
+
+    // Every other parent sharing a child with this parent, once per shared child - drives the co-parent list
+    @Query("SELECT p AS coParent, theirs.childId AS childId FROM ParentChildRelationship mine " +
+            "JOIN ParentChildRelationship theirs ON theirs.childId = mine.childId " +
+            "JOIN Parent p ON p.id = theirs.parentId " +
+            "WHERE mine.parentId = :parentId AND theirs.parentId <> :parentId " +
+            "ORDER BY p.firstName, p.lastName, p.id")
+    List<CoParentLink> findCoParentLinks(@Param("parentId") UUID parentId);
 }
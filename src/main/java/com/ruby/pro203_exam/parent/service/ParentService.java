@@ -3,16 +3,14 @@ package com.ruby.pro203_exam.parent.service;
 import com.ruby.pro203_exam.auth.model.User;
 import com.ruby.pro203_exam.auth.repository.UserRepository;
 import com.ruby.pro203_exam.child.model.Child;
-import com.ruby.pro203_exam.child.model.ParentChildRelationship;
 import com.ruby.pro203_exam.child.repository.ChildRepository;
-import com.ruby.pro203_exam.child.repository.ParentChildRelationshipRepository;
-import com.ruby.pro203_exam.kindergarten.model.Kindergarten;
-import com.ruby.pro203_exam.kindergarten.repository.KindergartenRepository;
+import com.ruby.pro203_exam.kindergarten.service.KindergartenNameCache;
 import com.ruby.pro203_exam.parent.dto.ChildSummaryDto;
 import com.ruby.pro203_exam.parent.dto.CoParentDto;
 import com.ruby.pro203_exam.parent.dto.ParentProfileResponseDto;
 import com.ruby.pro203_exam.parent.dto.ParentResponseDto;
 import com.ruby.pro203_exam.parent.model.Parent;
+import com.ruby.pro203_exam.parent.repository.CoParentLink;
 import com.ruby.pro203_exam.parent.repository.ParentRepository;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -33,10 +31,10 @@ public class ParentService {
     private final ParentRepository parentRepository;
     private final UserRepository userRepository;
     private final ChildRepository childRepository;
-    private final ParentChildRelationshipRepository parentChildRepo;
-    private final KindergartenRepository kindergartenRepository;
+    private final KindergartenNameCache kindergartenNameCache;
 
     // Get all parents
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<ParentResponseDto> getAllParents() {
         log.info("Fetching all parents");
         return parentRepository.findAll().stream()
@@ -45,6 +43,7 @@ public class ParentService {
     }
 
     // Get parents by kindergarten
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<ParentResponseDto> getParentsByKindergarten(UUID kindergartenId) {
         log.info("Fetching parents for kindergarten: {}", kindergartenId);
         return parentRepository.findByKindergartenId(kindergartenId).stream()
@@ -53,11 +52,13 @@ public class ParentService {
     }
 
     // Check if parent has children in a specific kindergarten
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public boolean isParentInKindergarten(UUID parentId, UUID kindergartenId) {
         return parentRepository.existsByIdAndKindergartenId(parentId, kindergartenId);
     }
 
     // Get parent by ID
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public ParentResponseDto getParentById(UUID id) {
         log.info("Fetching parent: {}", id);
         Parent parent = parentRepository.findById(id)
@@ -65,6 +66,7 @@ public class ParentService {
         return toResponseDto(parent);
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public ParentProfileResponseDto getParentProfile(UUID parentId) {
         log.info("Fetching full profile for parent: {}", parentId);
 
@@ -76,14 +78,18 @@ public class ParentService {
                 .map(User::getProfilePictureUrl)
                 .orElse(null);
 
-        // Get all children
+        // Get all children - kindergarten names in one batch
         List<Child> children = childRepository.findByParentId(parentId);
-        List<ChildSummaryDto> childSummaries = children.stream()
-                .map(this::toChildSummary)
-                .toList();
+        Map<UUID, String> kindergartenNames = kindergartenNameCache.getNames(
+                children.stream().map(Child::getKindergartenId).toList());
+
+        Map<UUID, ChildSummaryDto> childSummaries = new LinkedHashMap<>();
+        for (Child child : children) {
+            childSummaries.put(child.getId(), toChildSummary(child, kindergartenNames));
+        }
 
         // Get co-parents for the same child
-        List<CoParentDto> coParents = findCoParents(parentId, children);
+        List<CoParentDto> coParents = findCoParents(parentId, childSummaries);
 
         return ParentProfileResponseDto.builder()
                 .id(parent.getId())
@@ -93,45 +99,34 @@ public class ParentService {
                 .phoneNumber(parent.getPhoneNumber())
                 .address(parent.getAddress())
                 .profilePictureUrl(profilePictureUrl)
-                .children(childSummaries)
+                .children(new ArrayList<>(childSummaries.values()))
                 .coParents(coParents)
                 .build();
     }
 
-    private List<CoParentDto> findCoParents(UUID parentId, List<Child> children) {
-        // Find all parent-child relationships for the children
-        Map<UUID, List<ChildSummaryDto>> coParentChildren = new HashMap<>();
+    // One query for every (co-parent, shared child) pair, grouped by co-parent
+    private List<CoParentDto> findCoParents(UUID parentId, Map<UUID, ChildSummaryDto> childSummaries) {
+        Map<UUID, CoParentDto> coParents = new LinkedHashMap<>();
 
-        for (Child child : children) {
-            List<ParentChildRelationship> relationships =
-                    parentChildRepo.findByChildId(child.getId());
-
-            for (ParentChildRelationship rel : relationships) {
-                if (!rel.getParentId().equals(parentId)) {
-                    coParentChildren
-                            .computeIfAbsent(rel.getParentId(), k -> new ArrayList<>())
-                            .add(toChildSummary(child));
-                }
+        for (CoParentLink link : parentRepository.findCoParentLinks(parentId)) {
+            ChildSummaryDto sharedChild = childSummaries.get(link.getChildId());
+            if (sharedChild == null) {
+                continue;
             }
-        }
 
-        // Build co-parent DTOs
-        return coParentChildren.entrySet().stream()
-                .map(entry -> {
-                    Parent coParent = parentRepository.findById(entry.getKey()).orElse(null);
-                    if (coParent == null) return null;
-
-                    return CoParentDto.builder()
+            Parent coParent = link.getCoParent();
+            coParents.computeIfAbsent(coParent.getId(), id -> CoParentDto.builder()
                             .id(coParent.getId())
                             .firstName(coParent.getFirstName())
                             .lastName(coParent.getLastName())
                             .email(coParent.getEmail())
                             .phoneNumber(coParent.getPhoneNumber())
-                            .sharedChildren(entry.getValue())
-                            .build();
-                })
-                .filter(Objects::nonNull)
-                .toList();
+                            .sharedChildren(new ArrayList<>())
+                            .build())
+                    .getSharedChildren().add(sharedChild);
+        }
+
+        return new ArrayList<>(coParents.values());
     }
 
     // ------------------------------------- HELPER METHODS ------------------------------------- //
@@ -148,13 +143,10 @@ public class ParentService {
                 .build();
     }
 
-    private ChildSummaryDto toChildSummary(Child child) {
-        String kindergartenName = null;
-        if (child.getKindergartenId() != null) {
-            kindergartenName = kindergartenRepository.findById(child.getKindergartenId())
-                    .map(Kindergarten::getName)
-                    .orElse(null);
-        }
+    private ChildSummaryDto toChildSummary(Child child, Map<UUID, String> kindergartenNames) {
+        String kindergartenName = child.getKindergartenId() != null
+                ? kindergartenNames.get(child.getKindergartenId())
+                : null;
 
         return ChildSummaryDto.builder()
                 .id(child.getId())
@@ -1,7 +1,7 @@
 package com.ruby.pro203_exam.staff.controller;
 
 import com.ruby.pro203_exam.auth.exception.AccessDeniedException;
-import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
 import com.ruby.pro203_exam.auth.model.UserRole;
 import com.ruby.pro203_exam.auth.service.AuthorizationService;
 import com.ruby.pro203_exam.auth.util.SecurityUtils;
@@ -27,24 +27,22 @@ public class StaffController {
     // Get all staff at the user's kindergarten
     @GetMapping
     public ResponseEntity<List<ResponseDto>> getAllStaff() {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only staff/boss can view staff list
         if (user.getRole() == UserRole.PARENT) {
             throw new AccessDeniedException("Parents cannot view staff list");
         }
 
-        // Get staff's kindergarten and filter by it
-        ResponseDto currentStaff = staffService.getStaffById(user.getProfileId());
-
-        log.info("Get all staff for kindergarten: {}", currentStaff.getKindergartenId());
-        return ResponseEntity.ok(staffService.getStaffByKindergarten(currentStaff.getKindergartenId()));
+        // Filter by the staff member's kindergarten
+        log.info("Get all staff for kindergarten: {}", user.getKindergartenId());
+        return ResponseEntity.ok(staffService.getStaffByKindergarten(user.getKindergartenId()));
     }
 
     // Get Staff by their ID
     @GetMapping("/{id}")
     public ResponseEntity<ResponseDto> getStaffById(@PathVariable UUID id) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Parents cannot view staff details
         if (user.getRole() == UserRole.PARENT) {
@@ -52,10 +50,9 @@ public class StaffController {
         }
 
         // Staff can only view other staff from the same kindergarten
-        ResponseDto currentStaff = staffService.getStaffById(user.getProfileId());
         ResponseDto targetStaff = staffService.getStaffById(id);
 
-        if (!currentStaff.getKindergartenId().equals(targetStaff.getKindergartenId())) {
+        if (user.getKindergartenId() == null || !user.getKindergartenId().equals(targetStaff.getKindergartenId())) {
             throw new AccessDeniedException("Cannot view staff from other kindergartens");
         }
 
@@ -66,7 +63,7 @@ public class StaffController {
     // Get staff at a kindergarten
     @GetMapping("/kindergarten/{kindergartenId}")
     public ResponseEntity<List<ResponseDto>> getStaffByKindergarten(@PathVariable UUID kindergartenId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Only boss of this kindergarten can see all staff
         if (!authService.isBossAt(user.getId(), kindergartenId)) {
@@ -80,7 +77,7 @@ public class StaffController {
     // Add admin privileges to staff
     @PostMapping("/{staffId}/promote")
     public ResponseEntity<Void> promoteToAdmin(@PathVariable UUID staffId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         // Get staff's kindergarten to check authorization
         ResponseDto staff = staffService.getStaffById(staffId);
@@ -97,7 +94,7 @@ public class StaffController {
     // Remove admin privileges from staff
     @PostMapping("/{staffId}/demote")
     public ResponseEntity<Void> demoteFromAdmin(@PathVariable UUID staffId) {
-        User user = securityUtils.getCurrentUser();
+        AuthenticatedUser user = securityUtils.getCurrentUser();
 
         ResponseDto staff = staffService.getStaffById(staffId);
 
@@ -1,11 +1,18 @@
 package com.ruby.pro203_exam.staff.model;
 
+import com.ruby.pro203_exam.config.HibernateCacheConfig;
+import com.ruby.pro203_exam.config.TimeOrderedUuidGenerator;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.STAFF_REGION)
 @Table(name = "staff")
 @Getter
 @Setter
@@ -15,7 +22,8 @@ import java.util.UUID;
 public class Staff {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuidGenerator.class)
     private UUID id;
 
     @Column(name = "first_name", nullable = false, length = 100)
@@ -1,6 +1,9 @@
 package com.ruby.pro203_exam.staff.repository;
 
 import com.ruby.pro203_exam.staff.model.Staff;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -20,6 +23,7 @@ public interface StaffRepository extends CrudRepository<Staff, UUID> {
     // Check if employee id exists
     boolean existsByEmployeeId(String employeeID);
 
-    // Find all staff at a kindergarten
+    // Find all staff at a kindergarten - result ids are kept in the query cache, the rows come from the staff region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Staff> findByKindergartenId(UUID kindergartenId);
 }
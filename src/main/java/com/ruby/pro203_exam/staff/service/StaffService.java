@@ -1,5 +1,6 @@
 package com.ruby.pro203_exam.staff.service;
 
+import com.ruby.pro203_exam.auth.service.ClaimsRevocationService;
 import com.ruby.pro203_exam.staff.dto.ResponseDto;
 import com.ruby.pro203_exam.staff.model.Staff;
 import com.ruby.pro203_exam.staff.repository.StaffRepository;
@@ -19,7 +20,9 @@ import java.util.stream.StreamSupport;
 @Transactional(transactionManager = "appTransactionManager")
 public class StaffService {
     private final StaffRepository staffRepository;
+    private final ClaimsRevocationService claimsRevocationService;
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<ResponseDto> getAllStaff() {
         log.info("Get all staff");
         return StreamSupport.stream(staffRepository.findAll().spliterator(), false)
@@ -27,6 +30,7 @@ public class StaffService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public ResponseDto getStaffById(UUID id){
         log.info("Get staff by id: {}", id);
         Staff staff = staffRepository.findById(id)
@@ -34,6 +38,7 @@ public class StaffService {
         return toResponseDto(staff);
     }
 
+    @Transactional(transactionManager = "appTransactionManager", readOnly = true)
     public List<ResponseDto> getStaffByKindergarten(UUID kindergartenId) {
         log.info("Get staff by kindergarten: {}", kindergartenId);
         return staffRepository.findByKindergartenId(kindergartenId).stream()
@@ -47,6 +52,9 @@ public class StaffService {
                 .orElseThrow(() -> new RuntimeException("Staff not found: " + staffId));
         staff.setIsAdmin(true);
         staffRepository.save(staff);
+
+        // Tokens issued before this carry the old admin flag
+        claimsRevocationService.revokeProfile(staffId);
     }
 
     public void demoteFromAdmin(UUID staffId) {
@@ -55,6 +63,9 @@ public class StaffService {
                 .orElseThrow(() -> new RuntimeException("Staff not found: " + staffId));
         staff.setIsAdmin(false);
         staffRepository.save(staff);
+
+        // Tokens issued before this carry the old admin flag
+        claimsRevocationService.revokeProfile(staffId);
     }
 
     // ------------------------------------- HELPER METHODS ------------------------------------- //
@@ -0,0 +1,7 @@
+-- Keyset pagination of a child's check-in history - WHERE child_id = ? AND (check_in_time, id) < (?, ?) ORDER BY check_in_time DESC, id DESC
+-- Each history page is one range scan on this index, however far back the page is
+CREATE INDEX idx_check_in_out_child_history
+    ON check_in_out_log(child_id, check_in_time DESC, id DESC);
+
+-- Covered by the new index (same leading column)
+DROP INDEX IF EXISTS idx_check_in_out_child;
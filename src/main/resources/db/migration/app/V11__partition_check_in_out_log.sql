@@ -0,0 +1,96 @@
+-- Monthly range partitions on check_in_time for check_in_out_log - every child writes two events a day and nothing is removed
+-- Partitions are named check_in_out_log_yYYYYmMM, created ahead and retired by CheckInPartitionMaintenance
+
+------------------------------ ACTIVE SESSIONS ------------------------------
+-- A unique index on a partitioned table must include the partition key, so uq_check_in_out_active_child can't move over
+-- One row per child with an open check-in instead - check-in claims it, check-out releases it (CheckerRepositoryImpl)
+-- It also points at the open row's check_in_time, so active lookups only touch that row's partition
+CREATE TABLE active_check_ins (
+    child_id UUID PRIMARY KEY,
+    check_in_id UUID NOT NULL,
+    check_in_time TIMESTAMP NOT NULL
+);
+
+CREATE UNIQUE INDEX uq_active_check_ins_check_in ON active_check_ins(check_in_id);
+
+------------------------------ PARTITIONED TABLE ------------------------------
+ALTER TABLE check_in_out_log RENAME TO check_in_out_log_unpartitioned;
+ALTER TABLE check_in_out_log_unpartitioned RENAME CONSTRAINT check_in_out_log_pkey TO check_in_out_log_unpartitioned_pkey;
+
+CREATE TABLE check_in_out_log (
+    id UUID NOT NULL,
+    child_id UUID NOT NULL, -- Which child
+
+    -- Check-in fields
+    check_in_time TIMESTAMP NOT NULL, -- When child arrived - partition key
+    dropped_off_by UUID, -- Who dropped off (parent/staff UUID)
+    dropped_off_by_type VARCHAR(20), -- PARENT, STAFF, or OTHER
+    check_in_confirmed_by_staff UUID, -- Staff who confirmed check-in
+    dropped_off_by_name VARCHAR(255), -- Name if OTHER type
+
+    -- Check-out fields
+    check_out_time TIMESTAMP, -- When child left (NULL = still here)
+    picked_up_by UUID, -- Who picked up (parent/staff UUID)
+    picked_up_by_type VARCHAR(20), -- PARENT, STAFF, or OTHER
+    check_out_approved_by_staff UUID, -- Staff who approved pickup
+    picked_up_by_name VARCHAR(255), -- Name if OTHER type
+    id_verified BOOLEAN DEFAULT false, -- Was ID checked?
+
+    notes TEXT, -- Optional notes about check-in/out
+    created_at TIMESTAMP NOT NULL, -- When this record was created
+
+    PRIMARY KEY (id, check_in_time)
+) PARTITION BY RANGE (check_in_time);
+
+-- Creates the partition holding the given month if it is missing, returns its name
+CREATE OR REPLACE FUNCTION create_check_in_out_partition(month DATE) RETURNS TEXT AS $$
+DECLARE
+    start_at DATE := date_trunc('month', month)::date;
+    partition_name TEXT := format('check_in_out_log_y%sm%s', to_char(start_at, 'YYYY'), to_char(start_at, 'MM'));
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF check_in_out_log FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, start_at, (start_at + INTERVAL '1 month')::date);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- One partition per month from the oldest row until three months ahead
+DO $$
+DECLARE
+    first_month DATE;
+    last_month DATE;
+    month DATE;
+BEGIN
+    SELECT date_trunc('month', LEAST(COALESCE(MIN(COALESCE(check_in_time, created_at)), now()), now()))::date,
+           date_trunc('month', GREATEST(COALESCE(MAX(COALESCE(check_in_time, created_at)), now()), now() + INTERVAL '3 months'))::date
+    INTO first_month, last_month
+    FROM check_in_out_log_unpartitioned;
+
+    month := first_month;
+    WHILE month <= last_month LOOP
+        PERFORM create_check_in_out_partition(month);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+------------------------------ MOVE DATA ------------------------------
+INSERT INTO check_in_out_log (id, child_id, check_in_time, dropped_off_by, dropped_off_by_type, check_in_confirmed_by_staff,
+                              dropped_off_by_name, check_out_time, picked_up_by, picked_up_by_type, check_out_approved_by_staff,
+                              picked_up_by_name, id_verified, notes, created_at)
+SELECT id, child_id, COALESCE(check_in_time, created_at), dropped_off_by, dropped_off_by_type, check_in_confirmed_by_staff,
+       dropped_off_by_name, check_out_time, picked_up_by, picked_up_by_type, check_out_approved_by_staff,
+       picked_up_by_name, id_verified, notes, created_at
+FROM check_in_out_log_unpartitioned;
+
+-- V9 left at most one open check-in per child
+INSERT INTO active_check_ins (child_id, check_in_id, check_in_time)
+SELECT child_id, id, check_in_time
+FROM check_in_out_log
+WHERE check_out_time IS NULL;
+
+DROP TABLE check_in_out_log_unpartitioned;
+
+------------------------------ INDEXES ------------------------------
+-- Created on every partition, current and future
+-- History pages (V10) - also serves plain child_id lookups
+CREATE INDEX idx_check_in_out_child_history ON check_in_out_log(child_id, check_in_time DESC, id DESC);
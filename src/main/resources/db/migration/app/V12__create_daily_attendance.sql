@@ -0,0 +1,30 @@
+------------------------------ DAILY ATTENDANCE ROLLUP ------------------------------
+-- One row per child per day, rebuilt from check_in_out_log when the child is checked out (AttendanceService)
+-- Attendance reports read only this table - a kindergarten month is a few thousand small rows instead of the raw log
+-- Sessions count on the day they started, kindergarten/group are the child's at the time the day was rolled up
+CREATE TABLE daily_attendance (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    child_id UUID NOT NULL,
+    attendance_date DATE NOT NULL,
+    kindergarten_id UUID,
+    group_id UUID,
+
+    first_check_in TIMESTAMP NOT NULL, -- First arrival that day
+    last_check_out TIMESTAMP NOT NULL, -- Last pickup of sessions started that day
+    minutes_present INTEGER NOT NULL, -- Sum over all sessions that day
+    sessions INTEGER NOT NULL, -- Number of check-ins that day
+
+    dropped_off_by UUID, -- Who dropped off at the first check-in
+    dropped_off_by_type VARCHAR(20),
+    dropped_off_by_name VARCHAR(255),
+    picked_up_by UUID, -- Who picked up at the last check-out
+    picked_up_by_type VARCHAR(20),
+    picked_up_by_name VARCHAR(255),
+
+    updated_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT uq_daily_attendance_child_day UNIQUE (child_id, attendance_date)
+);
+
+CREATE INDEX idx_daily_attendance_kindergarten_day ON daily_attendance(kindergarten_id, attendance_date);
+CREATE INDEX idx_daily_attendance_group_day ON daily_attendance(group_id, attendance_date);
@@ -0,0 +1,17 @@
+-- Time-ordered (version 7) UUIDs for keys generated inside the database - the app generates the same kind in Java
+-- (TimeOrderedUuidGenerator), so new keys go to the right edge of the primary key index instead of a random page
+-- Postgres 18 has uuidv7() built in - this stands in for it on 17: 48 bit ms timestamp over a random v4, version set to 7
+CREATE OR REPLACE FUNCTION uuid_generate_v7() RETURNS UUID AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(EPOCH FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::UUID;
+$$ LANGUAGE sql VOLATILE;
+
+-- Rollup rows are inserted by SQL (DailyAttendanceRepositoryImpl), not by Hibernate - existing v4 rows are left as they are
+ALTER TABLE daily_attendance ALTER COLUMN id SET DEFAULT uuid_generate_v7();
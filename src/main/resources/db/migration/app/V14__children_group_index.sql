@@ -0,0 +1,3 @@
+-- Group child counts are a scalar subquery per group - SELECT COUNT(*) FROM children WHERE group_id = ?
+-- Also serves the children-of-a-group lists and bulk check-in/out by group
+CREATE INDEX idx_children_group ON children(group_id);
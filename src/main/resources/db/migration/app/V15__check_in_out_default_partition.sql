@@ -0,0 +1,26 @@
+-- A DEFAULT partition for check_in_out_log - a row outside every monthly partition (clock skew, a backdated correction,
+-- maintenance that has not run) is kept instead of failing the check-in
+-- CheckInPartitionMaintenance warns while it holds rows
+
+CREATE TABLE check_in_out_log_default PARTITION OF check_in_out_log DEFAULT;
+
+-- Creating a month that already has rows in the default partition fails, so the month is built beside the table,
+-- its rows are moved out of the default partition, and it is attached afterwards
+CREATE OR REPLACE FUNCTION create_check_in_out_partition(month DATE) RETURNS TEXT AS $$
+DECLARE
+    start_at DATE := date_trunc('month', month)::date;
+    end_at DATE := (date_trunc('month', month) + INTERVAL '1 month')::date;
+    partition_name TEXT := format('check_in_out_log_y%sm%s', to_char(start_at, 'YYYY'), to_char(start_at, 'MM'));
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE check_in_out_log INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM check_in_out_log_default WHERE check_in_time >= %L AND check_in_time < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', start_at, end_at, partition_name);
+    EXECUTE format('ALTER TABLE check_in_out_log ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, start_at, end_at);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,18 @@
+-- At most one open check-in (check_out_time IS NULL) per child, enforced by the database
+-- Check-in inserts with ON CONFLICT DO NOTHING and reports the conflict, so two devices tapping at once can't open two sessions
+
+-- Close any duplicate open sessions left by the old read-then-insert check-in - keeps the newest one open
+UPDATE check_in_out_log l
+SET check_out_time = COALESCE(l.check_in_time, l.created_at),
+    notes = COALESCE(NULLIF(l.notes, '') || ' | ', '') || 'Closed automatically: duplicate open check-in'
+WHERE l.check_out_time IS NULL
+  AND EXISTS (
+      SELECT 1 FROM check_in_out_log newer
+      WHERE newer.child_id = l.child_id
+        AND newer.check_out_time IS NULL
+        AND (COALESCE(newer.check_in_time, newer.created_at), newer.id) > (COALESCE(l.check_in_time, l.created_at), l.id)
+  );
+
+CREATE UNIQUE INDEX uq_check_in_out_active_child
+    ON check_in_out_log(child_id)
+    WHERE check_out_time IS NULL;
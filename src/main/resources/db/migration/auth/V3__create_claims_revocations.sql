@@ -0,0 +1,10 @@
+-- Staff profiles and kindergartens whose JWT claims went stale
+-- Shared by every app instance - each one syncs it into memory (ClaimsRevocationService)
+
+CREATE TABLE claims_revocations (
+    subject_id UUID PRIMARY KEY, -- Staff profile ID or kindergarten ID
+    subject_type VARCHAR(20) NOT NULL, -- PROFILE or KINDERGARTEN
+    revoked_at TIMESTAMPTZ NOT NULL -- Latest revocation - tokens issued at or before it are stale
+);
+
+CREATE INDEX idx_claims_revocations_revoked_at ON claims_revocations(revoked_at); -- Sync reads recent revocations
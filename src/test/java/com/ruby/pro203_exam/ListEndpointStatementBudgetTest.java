@@ -0,0 +1,287 @@
+package com.ruby.pro203_exam;
+
+import com.ruby.pro203_exam.absence.model.Absence;
+import com.ruby.pro203_exam.absence.model.AbsenceStatus;
+import com.ruby.pro203_exam.absence.model.AbsenceType;
+import com.ruby.pro203_exam.attendance.model.DailyAttendance;
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
+import com.ruby.pro203_exam.auth.model.UserRole;
+import com.ruby.pro203_exam.calendar.model.CalendarEvent;
+import com.ruby.pro203_exam.checker.model.CheckInOut;
+import com.ruby.pro203_exam.checker.model.PersonType;
+import com.ruby.pro203_exam.checker.repository.CheckerRepository;
+import com.ruby.pro203_exam.child.model.Child;
+import com.ruby.pro203_exam.child.model.ChildPermissions;
+import com.ruby.pro203_exam.child.model.ParentChildRelationship;
+import com.ruby.pro203_exam.group.model.Group;
+import com.ruby.pro203_exam.group.model.StaffGroupAssignment;
+import com.ruby.pro203_exam.health.model.HealthData;
+import com.ruby.pro203_exam.kindergarten.model.Kindergarten;
+import com.ruby.pro203_exam.note.model.Note;
+import com.ruby.pro203_exam.parent.model.Parent;
+import com.ruby.pro203_exam.staff.model.Staff;
+import com.ruby.pro203_exam.support.sql.SqlBudget;
+import com.ruby.pro203_exam.support.sql.SqlStatementCounter;
+import com.ruby.pro203_exam.support.sql.SqlStatementCountingConfiguration;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/* Statement budgets for every list endpoint - catches N+1 queries before they reach production
+    - Each endpoint is called against a fixture with SMALL and LARGE rows of what it lists
+    - Both calls have to run the same number of statements, and no more than the endpoint's budget
+    - Fixtures are written in a transaction that is rolled back, and the second-level cache is emptied first,
+      so every count is a cold one
+    - Needs the app and auth databases from docker compose and fails without them - tagged db, so a machine without
+      them can leave it out with -DexcludedGroups=db, but it is never skipped on its own
+*/
+@SpringBootTest
+@Import(SqlStatementCountingConfiguration.class)
+@Tag("db")
+@DisplayName("List Endpoint Statement Budget Tests")
+class ListEndpointStatementBudgetTest {
+
+    private static final int SMALL = 2;
+    private static final int LARGE = 12;
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final String RANGE = "start=" + TODAY.minusDays(LARGE) + "&end=" + TODAY.plusDays(LARGE);
+    private static final String REPORT_RANGE = "from=" + TODAY.minusDays(LARGE) + "&to=" + TODAY;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private SqlStatementCounter counter;
+
+    @Autowired
+    private CheckerRepository checkerRepository;
+
+    @Autowired
+    @Qualifier("appEntityManagerFactory")
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("appTransactionManager")
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc mockMvc;
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+    }
+
+    // Path built from the fixture, who calls it, and the most statements it may run
+    record Endpoint(String name, int budget, Function<Fixture, String> path, Function<Fixture, AuthenticatedUser> user) {
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static Stream<Endpoint> listEndpoints() {
+        Function<Fixture, AuthenticatedUser> boss = Fixture::boss;
+        Function<Fixture, AuthenticatedUser> parent = Fixture::parent;
+        return Stream.of(
+                new Endpoint("GET /api/absences/child/{id}", 4, f -> "/api/absences/child/" + f.child(), boss),
+                new Endpoint("GET /api/absences/child/{id}/range", 4, f -> "/api/absences/child/" + f.child() + "/range?" + RANGE, boss),
+                new Endpoint("GET /api/attendance/kindergarten/{id}", 2, f -> "/api/attendance/kindergarten/" + f.kindergarten() + "?" + REPORT_RANGE, boss),
+                new Endpoint("GET /api/attendance/group/{id}", 3, f -> "/api/attendance/group/" + f.group() + "?" + REPORT_RANGE, boss),
+                new Endpoint("GET /api/attendance/child/{id}", 2, f -> "/api/attendance/child/" + f.child() + "?" + REPORT_RANGE, boss),
+                new Endpoint("GET /api/calendar/kindergarten/{id}", 3, f -> "/api/calendar/kindergarten/" + f.kindergarten(), boss),
+                new Endpoint("GET /api/calendar/kindergarten/{id}/range", 3, f -> "/api/calendar/kindergarten/" + f.kindergarten() + "/range?" + RANGE, boss),
+                new Endpoint("GET /api/calendar/parent/{id}/range", 5, f -> "/api/calendar/parent/" + f.kindergarten() + "/range?" + RANGE, parent),
+                new Endpoint("GET /api/checker/pending", 1, f -> "/api/checker/pending", boss),
+                new Endpoint("GET /api/checker/active", 1, f -> "/api/checker/active", boss),
+                new Endpoint("GET /api/checker/history/{id}", 2, f -> "/api/checker/history/" + f.child() + "?limit=" + (LARGE + 1), boss),
+                new Endpoint("GET /api/children (staff)", 2, f -> "/api/children", boss),
+                new Endpoint("GET /api/children (parent)", 2, f -> "/api/children", parent),
+                new Endpoint("GET /api/children/parent/{id}", 2, f -> "/api/children/parent/" + f.parent0(), boss),
+                new Endpoint("GET /api/children/kindergarten/{id}", 2, f -> "/api/children/kindergarten/" + f.kindergarten(), boss),
+                new Endpoint("GET /api/relationships/parent/{id}", 1, f -> "/api/relationships/parent/" + f.parent0(), boss),
+                new Endpoint("GET /api/relationships/child/{id}", 1, f -> "/api/relationships/child/" + f.child(), boss),
+                new Endpoint("GET /api/groups/kindergarten/{id}", 1, f -> "/api/groups/kindergarten/" + f.kindergarten(), boss),
+                new Endpoint("GET /api/groups/staff/{id}", 1, f -> "/api/groups/staff/" + f.staff0(), boss),
+                new Endpoint("GET /api/groups/{id}/children", 1, f -> "/api/groups/" + f.group() + "/children", boss),
+                new Endpoint("GET /api/groups/{id}/staff", 1, f -> "/api/groups/" + f.group() + "/staff", boss),
+                new Endpoint("GET /api/kindergartens", 1, f -> "/api/kindergartens", boss),
+                new Endpoint("GET /api/notes/child/{id}", 4, f -> "/api/notes/child/" + f.child(), boss),
+                new Endpoint("GET /api/notes/child/{id}/range", 4, f -> "/api/notes/child/" + f.child() + "/range?" + RANGE, boss),
+                new Endpoint("GET /api/notes/kindergarten/{id}", 2, f -> "/api/notes/kindergarten/" + f.kindergarten(), boss),
+                new Endpoint("GET /api/notes/kindergarten/{id}/range", 2, f -> "/api/notes/kindergarten/" + f.kindergarten() + "/range?" + RANGE, boss),
+                new Endpoint("GET /api/parents", 1, f -> "/api/parents", boss),
+                new Endpoint("GET /api/staff", 1, f -> "/api/staff", boss),
+                new Endpoint("GET /api/staff/kindergarten/{id}", 1, f -> "/api/staff/kindergarten/" + f.kindergarten(), boss)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("listEndpoints")
+    @DisplayName("List endpoint runs a fixed number of statements within its budget")
+    void testStatementBudget(Endpoint endpoint) {
+        List<String> small = measure(endpoint, SMALL);
+        List<String> large = measure(endpoint, LARGE);
+
+        SqlBudget.assertFlat(small, large, endpoint.name());
+        SqlBudget.assertWithin(endpoint.budget(), large, endpoint.name());
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    // Seeds a fixture of the given size, calls the endpoint once with a cold cache, then rolls everything back
+    private List<String> measure(Endpoint endpoint, int rows) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            status.setRollbackOnly();
+            Fixture fixture = seed(rows);
+            entityManager.flush();
+            entityManager.clear();
+            entityManagerFactory.getCache().evictAll();
+
+            AuthenticatedUser user = endpoint.user().apply(fixture);
+            try {
+                return SqlBudget.measure(counter, () -> mockMvc.perform(get(endpoint.path().apply(fixture))
+                                .with(authentication(new UsernamePasswordAuthenticationToken(user, null,
+                                        List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))))))
+                        .andExpect(status().isOk()));
+            } catch (Exception e) {
+                throw new IllegalStateException(endpoint.name() + " failed", e);
+            }
+        });
+    }
+
+    /* One kindergarten where everything listed comes in rows:
+        - rows groups, rows staff all in the first group, and the first staff member in every group
+        - rows children in the first group, all of them checked in and children of the first parent
+        - The first child has rows absences, notes, parents, closed check-ins and attendance days
+        - rows kindergarten notes, calendar events and kindergartens
+        - Rows are created or reported by a different person each, so per-row lookups of names show up as extra statements
+    */
+    private Fixture seed(int rows) {
+        String suffix = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+
+        Kindergarten kindergarten = persist(Kindergarten.builder().name("Budget " + suffix).build());
+        for (int i = 1; i < rows; i++) {
+            persist(Kindergarten.builder().name("Budget " + i + " " + suffix).build());
+        }
+
+        List<Group> groups = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            groups.add(persist(Group.builder().name("Group " + i).kindergartenId(kindergarten.getId())
+                    .createdAt(now).updatedAt(now).build()));
+        }
+        Group group = groups.get(0);
+
+        List<Staff> staff = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            staff.add(persist(Staff.builder().firstName("Staff").lastName(String.valueOf(i))
+                    .email("staff" + i + "-" + suffix + "@example.com").kindergartenId(kindergarten.getId())
+                    .isAdmin(i == 0).build()));
+            persist(StaffGroupAssignment.builder().staffId(staff.get(i).getId()).groupId(group.getId()).build());
+        }
+        for (int i = 1; i < rows; i++) {
+            persist(StaffGroupAssignment.builder().staffId(staff.get(0).getId()).groupId(groups.get(i).getId()).build());
+        }
+
+        List<Parent> parents = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            parents.add(persist(Parent.builder().firstName("Parent").lastName(String.valueOf(i))
+                    .email("parent" + i + "-" + suffix + "@example.com").build()));
+        }
+
+        List<Child> children = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Child child = persist(Child.builder().firstName("Child").lastName(String.valueOf(i))
+                    .birthDate(TODAY.minusYears(4)).groupId(group.getId()).groupName(group.getName())
+                    .kindergartenId(kindergarten.getId()).build());
+            children.add(child);
+            persist(ParentChildRelationship.builder().parentId(parents.get(0).getId()).childId(child.getId()).build());
+            persist(HealthData.builder().childId(child.getId()).build());
+            persist(ChildPermissions.builder().childId(child.getId()).updatedAt(now).build());
+            persist(DailyAttendance.builder().childId(child.getId()).attendanceDate(TODAY)
+                    .kindergartenId(kindergarten.getId()).groupId(group.getId())
+                    .firstCheckIn(now.minusHours(1)).lastCheckOut(now).minutesPresent(60).sessions(1).updatedAt(now).build());
+        }
+        Child child = children.get(0);
+
+        for (int i = 1; i < rows; i++) {
+            persist(ParentChildRelationship.builder().parentId(parents.get(i).getId()).childId(child.getId()).build());
+            persist(DailyAttendance.builder().childId(child.getId()).attendanceDate(TODAY.minusDays(i))
+                    .kindergartenId(kindergarten.getId()).groupId(group.getId())
+                    .firstCheckIn(now.minusDays(i).minusHours(1)).lastCheckOut(now.minusDays(i)).minutesPresent(60)
+                    .sessions(1).updatedAt(now).build());
+        }
+
+        for (int i = 0; i < rows; i++) {
+            persist(Absence.builder().childId(child.getId()).startDate(TODAY.plusDays(i)).endDate(TODAY.plusDays(i))
+                    .type(AbsenceType.PLANNED).status(AbsenceStatus.PENDING)
+                    .reportedBy(parents.get(i).getId()).reportedByType(PersonType.Parent).build());
+            persist(Note.builder().childId(child.getId()).kindergartenId(kindergarten.getId()).content("Child note " + i)
+                    .noteDate(TODAY).createdBy(staff.get(i).getId()).createdByType(PersonType.Staff).build());
+            persist(Note.builder().kindergartenId(kindergarten.getId()).content("Kindergarten note " + i)
+                    .noteDate(TODAY).createdBy(staff.get(i).getId()).createdByType(PersonType.Staff).build());
+            persist(CalendarEvent.builder().kindergartenId(kindergarten.getId()).title("Event " + i)
+                    .eventDate(TODAY.plusDays(i)).groupId(i % 2 == 0 ? null : group.getId())
+                    .createdBy(staff.get(i).getId()).build());
+            persist(CheckInOut.builder().childId(child.getId()).checkInTime(now.minusMinutes(10L * i + 30))
+                    .checkOutTime(now.minusMinutes(10L * i + 25)).createdAt(now).build());
+        }
+        entityManager.flush();
+
+        // Open check-ins go through the same statement the app uses, so active_check_ins is filled in too
+        checkerRepository.insertIfNotCheckedIn(children.stream().map(Child::getId).toList(),
+                CheckInOut.builder().droppedOffBy(parents.get(0).getId()).droppedOffByType(PersonType.Parent).build());
+
+        return new Fixture(kindergarten.getId(), group.getId(), child.getId(), staff.get(0).getId(), parents.get(0).getId());
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+
+    record Fixture(UUID kindergarten, UUID group, UUID child, UUID staff0, UUID parent0) {
+
+        AuthenticatedUser boss() {
+            return AuthenticatedUser.builder().id(UUID.randomUUID()).email("boss@example.com").role(UserRole.BOSS)
+                    .profileId(staff0).kindergartenId(kindergarten).isAdmin(true).build();
+        }
+
+        AuthenticatedUser parent() {
+            return AuthenticatedUser.builder().id(UUID.randomUUID()).email("parent@example.com").role(UserRole.PARENT)
+                    .profileId(parent0).build();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.ruby.pro203_exam.attendance.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Attendance Export Service Tests")
+class AttendanceExportServiceTest {
+
+    private final UUID kindergartenId = UUID.randomUUID();
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private AttendanceExportService exportService;
+    private ResultSet rs;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        exportService = new AttendanceExportService(jdbcTemplate, transactionManager, JsonMapper.builder().build());
+
+        rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn("c1");
+        when(rs.getString("child_id")).thenReturn("k1");
+        when(rs.getString("first_name")).thenReturn("Ola");
+        when(rs.getString("last_name")).thenReturn("Nordmann");
+        when(rs.getTimestamp("check_in_time")).thenReturn(Timestamp.valueOf(LocalDateTime.of(2025, 3, 3, 7, 30)));
+        when(rs.getTimestamp("check_out_time")).thenReturn(Timestamp.valueOf(LocalDateTime.of(2025, 3, 3, 15, 45)));
+        when(rs.getString("notes")).thenReturn("Glemte \"lua\",\nhentes av bestemor");
+
+        // Hand the same row to the callback twice, like a cursor would
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            handler.processRow(rs);
+            handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("CSV cells that would run as spreadsheet formulas are prefixed with ' and quoted")
+    void testCsvFormulaInjection() throws Exception {
+        when(rs.getString("dropped_off_by_name")).thenReturn("=HYPERLINK(\"http://evil\",\"x\")");
+        when(rs.getString("picked_up_by_name")).thenReturn("@SUM(A1)");
+        when(rs.getString("notes")).thenReturn("-2+3");
+        when(rs.getString("last_name")).thenReturn("\tNordmann");
+
+        String csv = run(AttendanceExportService.Format.CSV);
+
+        assertTrue(csv.contains("c1,k1,Ola,\"'\tNordmann\",,2025-03-03T07:30,2025-03-03T15:45,495,,"
+                + "\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",,\"'@SUM(A1)\",false,\"'-2+3\"\n"));
+        // JSON lines are not opened in a spreadsheet - values stay as they are
+        assertTrue(run(AttendanceExportService.Format.JSONL).contains("\"notes\":\"-2+3\""));
+    }
+
+    @Test
+    @DisplayName("CSV export has a header, one line per check-in and quotes awkward values")
+    void testCsvExport() throws Exception {
+        String csv = run(AttendanceExportService.Format.CSV);
+
+        assertTrue(csv.startsWith("checkInId,childId,firstName,lastName,group,checkIn,checkOut,minutesPresent,"));
+        assertTrue(csv.contains("c1,k1,Ola,Nordmann,,2025-03-03T07:30,2025-03-03T15:45,495,,,,,false,\"Glemte \"\"lua\"\",\nhentes av bestemor\"\n"));
+        assertEquals(2, csv.split("c1,k1,").length - 1);
+
+        // The cursor only works inside a transaction
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("JSON lines export writes one object per line")
+    void testJsonLinesExport() throws Exception {
+        String[] lines = run(AttendanceExportService.Format.JSONL).split("\n");
+
+        assertEquals(2, lines.length);
+        Map<?, ?> row = JsonMapper.builder().build().readValue(lines[0], Map.class);
+        assertEquals("Ola", row.get("firstName"));
+        assertEquals(495, row.get("minutesPresent"));
+        assertEquals("Glemte \"lua\",\nhentes av bestemor", row.get("notes"));
+    }
+
+    @Test
+    @DisplayName("Bad periods and formats fail before anything is streamed")
+    void testValidation() {
+        assertThrows(RuntimeException.class, () -> exportService.export(kindergartenId,
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), AttendanceExportService.Format.CSV));
+        assertThrows(RuntimeException.class, () -> exportService.export(kindergartenId,
+                LocalDate.of(2023, 1, 1), LocalDate.of(2025, 1, 1), AttendanceExportService.Format.CSV));
+        assertThrows(RuntimeException.class, () -> AttendanceExportService.parseFormat("xlsx"));
+        assertEquals(AttendanceExportService.Format.JSONL, AttendanceExportService.parseFormat("jsonl"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private String run(AttendanceExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(kindergartenId, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), format).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
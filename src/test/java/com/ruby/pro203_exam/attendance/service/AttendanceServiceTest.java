@@ -0,0 +1,85 @@
+package com.ruby.pro203_exam.attendance.service;
+
+import com.ruby.pro203_exam.attendance.repository.DailyAttendanceRepository;
+import com.ruby.pro203_exam.checker.model.CheckInOut;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Attendance Service Tests")
+class AttendanceServiceTest {
+
+    private DailyAttendanceRepository repository;
+    private AttendanceService attendanceService;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DailyAttendanceRepository.class);
+        attendanceService = new AttendanceService(repository);
+    }
+
+    @Test
+    @DisplayName("Check-outs rebuild the days their sessions started on, in one statement")
+    void testRecordCheckOuts() {
+        UUID child = UUID.randomUUID();
+        UUID sibling = UUID.randomUUID();
+        List<CheckInOut> checkedOut = List.of(
+                session(child, LocalDateTime.of(2025, 3, 3, 7, 45)),
+                session(sibling, LocalDateTime.of(2025, 3, 2, 23, 50)));
+
+        attendanceService.recordCheckOuts(checkedOut);
+
+        verify(repository).rollUpChildren(List.of(child, sibling), LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 4));
+        attendanceService.recordCheckOuts(List.of());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Backfill runs one statement per calendar month and sums the rows")
+    void testBackfillByMonth() {
+        UUID kindergartenId = UUID.randomUUID();
+        when(repository.rollUpKindergarten(any(), any(), any())).thenReturn(10);
+
+        int rows = attendanceService.backfill(kindergartenId, LocalDate.of(2025, 1, 15), LocalDate.of(2025, 3, 10));
+
+        assertEquals(30, rows);
+        InOrder inOrder = inOrder(repository);
+        inOrder.verify(repository).rollUpKindergarten(kindergartenId, LocalDate.of(2025, 1, 15), LocalDate.of(2025, 2, 1));
+        inOrder.verify(repository).rollUpKindergarten(kindergartenId, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1));
+        inOrder.verify(repository).rollUpKindergarten(kindergartenId, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 11));
+
+        assertThrows(RuntimeException.class, () -> attendanceService.backfill(kindergartenId, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Reports refuse reversed or overly long periods")
+    void testReportPeriod() {
+        UUID kindergartenId = UUID.randomUUID();
+        assertThrows(RuntimeException.class, () -> attendanceService.getKindergartenReport(
+                kindergartenId, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
+        assertThrows(RuntimeException.class, () -> attendanceService.getKindergartenReport(
+                kindergartenId, LocalDate.of(2023, 1, 1), LocalDate.of(2025, 1, 1)));
+
+        assertNotNull(attendanceService.getKindergartenReport(kindergartenId, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)));
+        verify(repository).findDayTotalsByKindergarten(kindergartenId, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+    }
+
+    private CheckInOut session(UUID childId, LocalDateTime checkIn) {
+        return CheckInOut.builder()
+                .id(UUID.randomUUID())
+                .childId(childId)
+                .checkInTime(checkIn)
+                .checkOutTime(checkIn.plusHours(8))
+                .build();
+    }
+}
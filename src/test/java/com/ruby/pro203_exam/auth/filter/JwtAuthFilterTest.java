@@ -0,0 +1,102 @@
+package com.ruby.pro203_exam.auth.filter;
+
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
+import com.ruby.pro203_exam.auth.model.UserRole;
+import com.ruby.pro203_exam.auth.repository.ClaimsRevocationRepository;
+import com.ruby.pro203_exam.auth.service.AuthenticatedUserService;
+import com.ruby.pro203_exam.auth.service.ClaimsRevocationService;
+import com.ruby.pro203_exam.auth.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("JWT Auth Filter Tests")
+class JwtAuthFilterTest {
+
+    private JwtService jwtService;
+    private SimpleMeterRegistry registry;
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ClaimsRevocationService revocationService = new ClaimsRevocationService(mock(ClaimsRevocationRepository.class),
+                mock(Cache.class), TransactionOperations.withoutTransaction(), Duration.ofMinutes(1), Clock.systemUTC());
+        revocationService.sync();
+        jwtService = new JwtService(revocationService, "test-secret-that-is-long-enough-for-hmac-sha-256-signing", 60000L);
+
+        // Stale claims are re-read from the db - the mock stands in for it
+        AuthenticatedUserService userService = mock(AuthenticatedUserService.class);
+        when(userService.loadByEmail(anyString())).thenReturn(Optional.of(staff()));
+
+        registry = new SimpleMeterRegistry();
+        filter = new JwtAuthFilter(jwtService, userService, new VerifiedTokenCache(true, 100, Duration.ofMinutes(15)), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Valid token is timed once, cache hits skip the verification timer")
+    void testValidTokenTimings() throws Exception {
+        String token = jwtService.generateToken(staff());
+
+        MockHttpServletRequest first = request(token);
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals("STAFF", first.getAttribute(JwtAuthFilter.ROLE_ATTRIBUTE));
+        assertEquals(1, registry.get("jwt.verification").tag("result", "valid").timer().count());
+        assertEquals(2, registry.get("jwt.authentication").tag("result", "valid").timer().count());
+    }
+
+    @Test
+    @DisplayName("Invalid token is timed as invalid and leaves no role")
+    void testInvalidTokenTimings() throws Exception {
+        MockHttpServletRequest request = request("not-a-jwt");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(request.getAttribute(JwtAuthFilter.ROLE_ATTRIBUTE));
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, registry.get("jwt.verification").tag("result", "invalid").timer().count());
+        assertEquals(1, registry.get("jwt.authentication").tag("result", "invalid").timer().count());
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/children");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private AuthenticatedUser staff() {
+        return AuthenticatedUser.builder()
+                .id(UUID.randomUUID())
+                .email("ole@checkkid.no")
+                .role(UserRole.STAFF)
+                .profileId(UUID.randomUUID())
+                .kindergartenId(UUID.randomUUID())
+                .isAdmin(false)
+                .build();
+    }
+}
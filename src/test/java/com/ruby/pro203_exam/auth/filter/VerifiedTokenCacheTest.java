@@ -0,0 +1,67 @@
+package com.ruby.pro203_exam.auth.filter;
+
+import com.ruby.pro203_exam.auth.model.VerifiedToken;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Verified Token Cache Tests")
+class VerifiedTokenCacheTest {
+
+    @Test
+    @DisplayName("Second lookup of the same token skips verification")
+    void testCacheHit() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, Duration.ofMinutes(15));
+        AtomicInteger verifications = new AtomicInteger();
+        VerifiedToken token = token(new Date(System.currentTimeMillis() + 60000));
+
+        cache.get("abc", t -> { verifications.incrementAndGet(); return Optional.of(token); });
+        Optional<VerifiedToken> cached = cache.get("abc", t -> { verifications.incrementAndGet(); return Optional.of(token); });
+
+        assertSame(token, cached.orElseThrow());
+        assertEquals(1, verifications.get());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Invalid and expired tokens are not served from the cache")
+    void testInvalidAndExpiredNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, Duration.ofMinutes(15));
+        AtomicInteger verifications = new AtomicInteger();
+        VerifiedToken expired = token(new Date(System.currentTimeMillis() - 1000));
+
+        cache.get("invalid", t -> { verifications.incrementAndGet(); return Optional.empty(); });
+        cache.get("invalid", t -> { verifications.incrementAndGet(); return Optional.empty(); });
+        cache.get("expired", t -> { verifications.incrementAndGet(); return Optional.of(expired); });
+        cache.get("expired", t -> { verifications.incrementAndGet(); return Optional.of(expired); });
+
+        assertEquals(4, verifications.get());
+        assertEquals(0, cache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Disabled cache always verifies")
+    void testDisabled() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(false, 100, Duration.ofMinutes(15));
+        AtomicInteger verifications = new AtomicInteger();
+        VerifiedToken token = token(new Date(System.currentTimeMillis() + 60000));
+
+        cache.get("abc", t -> { verifications.incrementAndGet(); return Optional.of(token); });
+        cache.get("abc", t -> { verifications.incrementAndGet(); return Optional.of(token); });
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.size());
+    }
+
+    private VerifiedToken token(Date expiration) {
+        return new VerifiedToken(Jwts.claims().subject("ole@checkkid.no").expiration(expiration).build());
+    }
+}
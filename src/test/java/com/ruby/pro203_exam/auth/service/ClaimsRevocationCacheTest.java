@@ -0,0 +1,125 @@
+package com.ruby.pro203_exam.auth.service;
+
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
+import com.ruby.pro203_exam.auth.model.User;
+import com.ruby.pro203_exam.auth.model.UserRole;
+import com.ruby.pro203_exam.auth.repository.ClaimsRevocationRepository;
+import com.ruby.pro203_exam.auth.repository.UserRepository;
+import com.ruby.pro203_exam.staff.model.Staff;
+import com.ruby.pro203_exam.staff.repository.StaffRepository;
+import com.ruby.pro203_exam.staff.service.StaffService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/* A demotion made on another instance reaches this instance's principal lookup after one revocation sync
+    - The other instance is played by plain SQL, which bypasses this instance's second-level cache
+    - Needs the app and auth databases from docker compose - tagged db like the statement budget suite
+*/
+@SpringBootTest
+@Tag("db")
+@DisplayName("Claims Revocation Cache Tests")
+class ClaimsRevocationCacheTest {
+
+    @Autowired
+    private AuthenticatedUserService authenticatedUserService;
+
+    @Autowired
+    private ClaimsRevocationService revocationService;
+
+    @Autowired
+    private ClaimsRevocationRepository revocationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private StaffService staffService;
+
+    @Autowired
+    @Qualifier("appJdbcTemplate")
+    private NamedParameterJdbcTemplate appJdbcTemplate;
+
+    @Autowired
+    @Qualifier("authTransactionManager")
+    private PlatformTransactionManager authTransactionManager;
+
+    private Staff staff;
+    private User user;
+
+    @AfterEach
+    void tearDown() {
+        if (user != null) {
+            userRepository.delete(user);
+        }
+        if (staff != null) {
+            staffRepository.deleteById(staff.getId());
+            revocationRepository.deleteById(staff.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Demoted admin resolves without admin rights after the next sync")
+    void testDemotionOnAnotherInstanceEvictsCachedStaff() {
+        String email = "demoted-" + UUID.randomUUID() + "@checkkid.no";
+        staff = staffRepository.save(Staff.builder()
+                .firstName("Kari")
+                .lastName("Nordmann")
+                .email(email)
+                .isAdmin(true)
+                .build());
+        user = userRepository.save(User.builder()
+                .openIdSubject(email)
+                .email(email)
+                .role(UserRole.STAFF)
+                .profileId(staff.getId())
+                .build());
+
+        // Puts the staff row in the cache
+        assertTrue(resolve(email).getIsAdmin());
+
+        appJdbcTemplate.update("UPDATE staff SET is_admin = false WHERE id = :id", Map.of("id", staff.getId()));
+        new TransactionTemplate(authTransactionManager).executeWithoutResult(status ->
+                revocationRepository.upsert(staff.getId(), "PROFILE", Instant.now()));
+        revocationService.sync();
+
+        assertFalse(resolve(email).getIsAdmin());
+    }
+
+    @Test
+    @DisplayName("Demoting through the service writes the revocation once the app transaction commits")
+    void testDemotionRevokesAfterCommit() {
+        staff = staffRepository.save(Staff.builder()
+                .firstName("Ola")
+                .lastName("Nordmann")
+                .email("demoted-" + UUID.randomUUID() + "@checkkid.no")
+                .isAdmin(true)
+                .build());
+
+        staffService.demoteFromAdmin(staff.getId());
+
+        assertTrue(revocationRepository.existsById(staff.getId()));
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private AuthenticatedUser resolve(String email) {
+        return authenticatedUserService.loadByEmail(email).orElseThrow();
+    }
+}
@@ -0,0 +1,141 @@
+package com.ruby.pro203_exam.auth.service;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against a local stand-in for Google's certs endpoint - no network needed
+@DisplayName("Google Auth Service Tests")
+class GoogleAuthServiceTest {
+
+    private static final char[] KEYSTORE_PASSWORD = "changeit".toCharArray();
+
+    private HttpServer certsServer;
+    private final AtomicInteger certsRequests = new AtomicInteger();
+    // What the stand-in server hands out - no keys unless a test puts a cert here
+    private volatile String certsBody = "{}";
+    private GoogleAuthService googleAuthService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        certsServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        certsServer.createContext("/certs", exchange -> {
+            certsRequests.incrementAndGet();
+            byte[] body = certsBody.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        certsServer.start();
+
+        googleAuthService = new GoogleAuthService();
+        googleAuthService.setClientIds(List.of("test-client"));
+        googleAuthService.setCertsUrl("http://localhost:" + certsServer.getAddress().getPort() + "/certs");
+        googleAuthService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        certsServer.stop(0);
+    }
+
+    @Test
+    @DisplayName("Certs are fetched once and reused while Cache-Control allows")
+    void testCertsAreCached() {
+        String idToken = unsignedIdToken();
+
+        // No keys from the stand-in server, so the signature never verifies
+        assertThrows(SecurityException.class, () -> googleAuthService.verifyToken(idToken));
+        assertThrows(SecurityException.class, () -> googleAuthService.verifyToken(idToken));
+
+        assertEquals(1, certsRequests.get());
+    }
+
+    @Test
+    @DisplayName("Token signed by a served cert verifies, twice, with one certs fetch")
+    void testValidTokenIsAccepted(@TempDir Path keys) throws Exception {
+        KeyStore keyStore = generateKeyStore(keys);
+        PrivateKey privateKey = (PrivateKey) keyStore.getKey("google", KEYSTORE_PASSWORD);
+        certsBody = "{\"test-key\":\"" + pem(keyStore.getCertificate("google")) + "\"}";
+
+        String idToken = Jwts.builder()
+                .header().keyId("test-key").and()
+                .issuer("https://accounts.google.com")
+                .audience().add("test-client").and()
+                .subject("123")
+                .claim("email", "ole@checkkid.no")
+                .issuedAt(new Date())
+                .expiration(Date.from(Instant.now().plusSeconds(3600)))
+                .signWith(privateKey, Jwts.SIG.RS256)
+                .compact();
+
+        GoogleIdToken.Payload first = googleAuthService.verifyToken(idToken);
+        GoogleIdToken.Payload second = googleAuthService.verifyToken(idToken);
+
+        assertEquals("ole@checkkid.no", first.getEmail());
+        assertEquals("123", second.getSubject());
+        assertEquals(1, certsRequests.get());
+    }
+
+    // RSA key pair and self-signed cert from the JDK's keytool - the JDK has no API for creating certificates
+    private KeyStore generateKeyStore(Path dir) throws Exception {
+        Path file = dir.resolve("google.p12");
+        Process keytool = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-alias", "google", "-keyalg", "RSA", "-keysize", "2048", "-validity", "1",
+                "-dname", "CN=accounts.google.test", "-storetype", "PKCS12",
+                "-keystore", file.toString(), "-storepass", new String(KEYSTORE_PASSWORD))
+                .redirectErrorStream(true)
+                .start();
+        String output = new String(keytool.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(keytool.waitFor(60, TimeUnit.SECONDS) && keytool.exitValue() == 0, "keytool failed: " + output);
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(file)) {
+            keyStore.load(in, KEYSTORE_PASSWORD);
+        }
+        return keyStore;
+    }
+
+    // Google serves certs as PEM strings in a JSON object - newlines escaped for the JSON
+    private String pem(Certificate certificate) throws Exception {
+        return "-----BEGIN CERTIFICATE-----\\n" + Base64.getEncoder().encodeToString(certificate.getEncoded())
+                + "\\n-----END CERTIFICATE-----\\n";
+    }
+
+    private String unsignedIdToken() {
+        long now = System.currentTimeMillis() / 1000;
+        String header = "{\"alg\":\"RS256\",\"typ\":\"JWT\"}";
+        String payload = "{\"iss\":\"https://accounts.google.com\",\"aud\":\"test-client\",\"sub\":\"123\","
+                + "\"email\":\"ole@checkkid.no\",\"iat\":" + now + ",\"exp\":" + (now + 3600) + "}";
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString("signature".getBytes(StandardCharsets.UTF_8));
+    }
+}
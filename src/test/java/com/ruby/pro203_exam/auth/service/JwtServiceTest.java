@@ -0,0 +1,201 @@
+package com.ruby.pro203_exam.auth.service;
+
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
+import com.ruby.pro203_exam.auth.model.UserRole;
+import com.ruby.pro203_exam.auth.model.ClaimsRevocation;
+import com.ruby.pro203_exam.auth.model.VerifiedToken;
+import com.ruby.pro203_exam.auth.repository.ClaimsRevocationRepository;
+import com.ruby.pro203_exam.staff.model.Staff;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("JWT Service Tests")
+class JwtServiceTest {
+
+    // Revocations happen at a fixed time with milliseconds, tokens carry iat truncated to the second
+    private static final Instant NOW = Instant.parse("2026-03-02T07:45:10.250Z");
+
+    private ClaimsRevocationRepository revocationRepository;
+    private Cache appCache;
+    private ClaimsRevocationService revocationService;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        revocationRepository = mock(ClaimsRevocationRepository.class);
+        appCache = mock(Cache.class);
+        revocationService = new ClaimsRevocationService(revocationRepository, appCache, TransactionOperations.withoutTransaction(), Duration.ofHours(12),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        revocationService.sync();
+        jwtService = new JwtService(revocationService, "test-secret-that-is-long-enough-for-hmac-sha-256-signing", 60000L);
+    }
+
+    @Test
+    @DisplayName("Verify a generated token once and read all claims")
+    void testVerifyGeneratedToken() {
+        AuthenticatedUser user = staff(true);
+
+        Optional<VerifiedToken> verified = jwtService.verify(jwtService.generateToken(user));
+
+        assertTrue(verified.isPresent());
+        assertEquals("ole@checkkid.no", verified.get().getEmail());
+        assertEquals("STAFF", verified.get().getRole());
+        assertEquals(user.getId(), verified.get().getUserId());
+        assertEquals(user.getKindergartenId(), verified.get().getUuid(JwtService.CLAIM_KINDERGARTEN_ID));
+    }
+
+    @Test
+    @DisplayName("Reject a tampered token")
+    void testRejectTamperedToken() {
+        String token = jwtService.generateToken(staff(false));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(jwtService.verify(tampered).isEmpty());
+        assertFalse(jwtService.validateToken("not-a-jwt"));
+    }
+
+    @Test
+    @DisplayName("Claims are not trusted before revocations are loaded")
+    void testClaimsBeforeSyncAreStale() {
+        ClaimsRevocationService unsynced = new ClaimsRevocationService(revocationRepository, appCache, TransactionOperations.withoutTransaction(), Duration.ofHours(12),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertTrue(unsynced.isStale(UUID.randomUUID(), UUID.randomUUID(), issuedAt(NOW)));
+        assertFalse(revocationService.isStale(UUID.randomUUID(), UUID.randomUUID(), issuedAt(NOW)));
+        assertTrue(revocationService.isStale(null, null, null));
+    }
+
+    @Test
+    @DisplayName("Revoking a profile makes earlier claims stale")
+    void testRevokedProfileIsStale() {
+        UUID profileId = UUID.randomUUID();
+
+        revocationService.revokeProfile(profileId);
+
+        verify(revocationRepository).upsert(profileId, "PROFILE", NOW);
+        assertTrue(revocationService.isStale(profileId, null, issuedAt(NOW.minusSeconds(60))));
+        // Same second as the revocation - iat cannot tell whether the token came before or after it
+        assertTrue(revocationService.isStale(profileId, null, issuedAt(NOW)));
+        assertFalse(revocationService.isStale(profileId, null, issuedAt(NOW.plusSeconds(1))));
+        assertFalse(revocationService.isStale(UUID.randomUUID(), null, issuedAt(NOW)));
+    }
+
+    @Test
+    @DisplayName("A revocation inside a transaction waits for the commit, and a rollback revokes nothing")
+    void testRevocationWaitsForCommit() {
+        UUID committedId = UUID.randomUUID();
+        UUID rolledBackId = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            revocationService.revokeProfile(committedId);
+            verify(revocationRepository, never()).upsert(any(), any(), any());
+            assertFalse(revocationService.isStale(committedId, null, issuedAt(NOW.minusSeconds(60))));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(revocationRepository).upsert(committedId, "PROFILE", NOW);
+        assertTrue(revocationService.isStale(committedId, null, issuedAt(NOW.minusSeconds(60))));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            revocationService.revokeKindergarten(rolledBackId);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(revocationRepository, never()).upsert(eq(rolledBackId), any(), any());
+        assertFalse(revocationService.isStale(null, rolledBackId, issuedAt(NOW.minusSeconds(60))));
+    }
+
+    @Test
+    @DisplayName("Revocations made on another instance apply after the next sync")
+    void testSyncedKindergartenRevocationIsStale() {
+        UUID kindergartenId = UUID.randomUUID();
+        when(revocationRepository.findByRevokedAtAfter(any())).thenReturn(List.of(ClaimsRevocation.builder()
+                .subjectId(kindergartenId)
+                .subjectType(ClaimsRevocation.SubjectType.KINDERGARTEN)
+                .revokedAt(NOW.minusSeconds(30))
+                .build()));
+
+        assertFalse(revocationService.isStale(UUID.randomUUID(), kindergartenId, issuedAt(NOW.minusSeconds(60))));
+
+        revocationService.sync();
+
+        verify(revocationRepository, times(2)).findByRevokedAtAfter(eq(NOW.minus(Duration.ofHours(12))));
+        assertTrue(revocationService.isStale(UUID.randomUUID(), kindergartenId, issuedAt(NOW.minusSeconds(60))));
+        assertFalse(revocationService.isStale(UUID.randomUUID(), kindergartenId, issuedAt(NOW)));
+
+        // Every staff row may belong to the kindergarten - all of them leave the cache, once
+        revocationService.sync();
+        verify(appCache).evict(Staff.class);
+        verify(appCache).evictDefaultQueryRegion();
+    }
+
+    @Test
+    @DisplayName("A profile revoked on another instance is evicted from the cache, one revoked here is not")
+    void testSyncEvictsRemotelyRevokedStaff() {
+        UUID remoteProfileId = UUID.randomUUID();
+        UUID localProfileId = UUID.randomUUID();
+        revocationService.revokeProfile(localProfileId);
+        when(revocationRepository.findByRevokedAtAfter(any())).thenReturn(List.of(
+                revocation(remoteProfileId, NOW.minusSeconds(30)),
+                revocation(localProfileId, NOW)));
+
+        revocationService.sync();
+
+        verify(appCache).evict(Staff.class, remoteProfileId);
+        verify(appCache, never()).evict(Staff.class, localProfileId);
+        verify(appCache).evictDefaultQueryRegion();
+    }
+
+    private static ClaimsRevocation revocation(UUID profileId, Instant revokedAt) {
+        return ClaimsRevocation.builder()
+                .subjectId(profileId)
+                .subjectType(ClaimsRevocation.SubjectType.PROFILE)
+                .revokedAt(revokedAt)
+                .build();
+    }
+
+    // Real tokens carry iat in whole seconds
+    private static Date issuedAt(Instant instant) {
+        return Date.from(instant.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private AuthenticatedUser staff(boolean isAdmin) {
+        return AuthenticatedUser.builder()
+                .id(UUID.randomUUID())
+                .email("ole@checkkid.no")
+                .role(UserRole.STAFF)
+                .profileId(UUID.randomUUID())
+                .kindergartenId(UUID.randomUUID())
+                .isAdmin(isAdmin)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.ruby.pro203_exam.checker.service;
+
+import com.ruby.pro203_exam.checker.dto.CheckerResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Active Check-In Board Tests")
+class ActiveCheckInBoardTest {
+
+    private final UUID solsikken = UUID.randomUUID();
+    private final UUID blaklokka = UUID.randomUUID();
+    private final ActiveCheckInBoard board = new ActiveCheckInBoard();
+
+    @Test
+    @DisplayName("Board is scoped per kindergarten and follows check-in, confirm and check-out")
+    void testLifecycle() {
+        CheckerResponseDto ola = checkIn(LocalDateTime.now().minusMinutes(5));
+        CheckerResponseDto kari = checkIn(LocalDateTime.now());
+        CheckerResponseDto per = checkIn(LocalDateTime.now());
+
+        board.checkedIn(solsikken, ola);
+        board.checkedIn(solsikken, kari);
+        board.checkedIn(blaklokka, per);
+        board.checkedIn(null, checkIn(LocalDateTime.now()));
+
+        assertEquals(List.of(kari, ola), board.getActive(solsikken));
+        assertEquals(List.of(per), board.getActive(blaklokka));
+        assertEquals(3, board.size());
+
+        CheckerResponseDto confirmed = checkIn(ola.getCheckInDate());
+        confirmed.setChildId(ola.getChildId());
+        confirmed.setDroppedOffConfirmedBy(UUID.randomUUID());
+        board.updated(confirmed);
+        board.removed(kari.getChildId());
+
+        assertEquals(List.of(confirmed), board.getActive(solsikken));
+        assertTrue(board.getActive(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Changes inside a transaction show up only after commit")
+    void testAfterCommit() {
+        CheckerResponseDto ola = checkIn(LocalDateTime.now());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            board.checkedIn(solsikken, ola);
+            assertTrue(board.getActive(solsikken).isEmpty());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            assertEquals(List.of(ola), board.getActive(solsikken));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Moving a checked-in child moves it to the new kindergarten's board")
+    void testMovedAfterRebuild() {
+        CheckerResponseDto ola = checkIn(LocalDateTime.now());
+        board.rebuild(() -> Map.of(solsikken, List.of(ola)));
+
+        board.moved(ola.getChildId(), blaklokka);
+
+        assertTrue(board.getActive(solsikken).isEmpty());
+        assertEquals(List.of(ola), board.getActive(blaklokka));
+    }
+
+    @Test
+    @DisplayName("Rebuild picks up changes made elsewhere and keeps local changes made while it reads")
+    void testRebuildKeepsChangesDuringRead() {
+        CheckerResponseDto ola = checkIn(LocalDateTime.now());
+        CheckerResponseDto kari = checkIn(LocalDateTime.now());
+        CheckerResponseDto remote = checkIn(LocalDateTime.now());
+        board.checkedIn(solsikken, ola);
+        board.checkedIn(solsikken, kari);
+
+        // This instance checks kari out while the rebuild reads - the read still has kari
+        board.rebuild(() -> {
+            board.removed(kari.getChildId());
+            return Map.of(solsikken, List.of(ola, kari, remote));
+        });
+
+        // ola stays, kari's local check-out survives the rebuild, remote comes from the database
+        assertEquals(2, board.size());
+        assertFalse(board.getActive(solsikken).contains(kari));
+        assertTrue(board.getActive(solsikken).containsAll(List.of(ola, remote)));
+
+        // A check-out made on another instance is gone after the next rebuild
+        board.rebuild(() -> Map.of(solsikken, List.of(remote)));
+        assertEquals(List.of(remote), board.getActive(solsikken));
+    }
+
+    private CheckerResponseDto checkIn(LocalDateTime checkInDate) {
+        return CheckerResponseDto.builder()
+                .id(UUID.randomUUID())
+                .childId(UUID.randomUUID())
+                .checkInDate(checkInDate)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.ruby.pro203_exam.checker.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/* Rows outside every monthly partition land in check_in_out_log_default (V15) and move out when their month is created
+    - Uses months far ahead that no maintenance run creates
+    - Needs the app database from docker compose - tagged db like the statement budget suite
+*/
+@SpringBootTest
+@Tag("db")
+@DisplayName("Check-In Default Partition Tests")
+class CheckInPartitionDefaultTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2099, 1);
+    private static final String PARTITION = "check_in_out_log_y2099m01";
+
+    @Autowired
+    @Qualifier("appJdbcTemplate")
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private CheckInPartitionMaintenance maintenance;
+    private UUID rowId;
+
+    @BeforeEach
+    void setUp() {
+        maintenance = new CheckInPartitionMaintenance(jdbcTemplate, 0, 0, CheckInPartitionMaintenance.RetentionAction.DETACH);
+        rowId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO check_in_out_log (id, child_id, check_in_time, created_at) " +
+                        "VALUES (:id, :childId, :time, now())",
+                new MapSqlParameterSource()
+                        .addValue("id", rowId)
+                        .addValue("childId", UUID.randomUUID())
+                        .addValue("time", LocalDateTime.of(2099, 1, 15, 8, 0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM check_in_out_log WHERE id = :id", new MapSqlParameterSource("id", rowId));
+        jdbcTemplate.update("DROP TABLE IF EXISTS " + PARTITION, new MapSqlParameterSource());
+        jdbcTemplate.update("DROP TABLE IF EXISTS check_in_out_log_y2098m12", new MapSqlParameterSource());
+    }
+
+    @Test
+    @DisplayName("A row with no month is kept in the default partition")
+    void testRowWithoutMonthIsKept() {
+        assertEquals("check_in_out_log_default", partitionOf(rowId));
+
+        // Another month leaves it where it is
+        maintenance.maintain(MONTH.minusMonths(1));
+        assertEquals("check_in_out_log_default", partitionOf(rowId));
+    }
+
+    @Test
+    @DisplayName("Creating the month moves its rows out of the default partition")
+    void testCreatingMonthMovesRows() {
+        maintenance.maintain(MONTH);
+
+        assertEquals(PARTITION, partitionOf(rowId));
+        // Running again finds the partition in place
+        maintenance.maintain(MONTH);
+        assertEquals(PARTITION, partitionOf(rowId));
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private String partitionOf(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM check_in_out_log WHERE id = :id",
+                new MapSqlParameterSource("id", id), String.class);
+    }
+}
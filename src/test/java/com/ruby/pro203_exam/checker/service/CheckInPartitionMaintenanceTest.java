@@ -0,0 +1,68 @@
+package com.ruby.pro203_exam.checker.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Check-In Partition Maintenance Tests")
+class CheckInPartitionMaintenanceTest {
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(startsWith("SELECT pg_try_advisory_xact_lock"), any(SqlParameterSource.class), eq(Boolean.class)))
+                .thenReturn(true);
+        when(jdbcTemplate.queryForList(contains("pg_inherits"), any(SqlParameterSource.class), eq(String.class)))
+                .thenReturn(List.of("check_in_out_log_y2020m01", "check_in_out_log_y2020m02", "check_in_out_log_y2025m06"));
+        // 2020-02 still has a child who was never checked out
+        when(jdbcTemplate.queryForObject(contains("active_check_ins"), any(SqlParameterSource.class), eq(Boolean.class)))
+                .thenAnswer(invocation -> invocation.<MapSqlParameterSource>getArgument(1).getValue("start")
+                        .equals(LocalDateTime.of(2020, 2, 1, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("Creates upcoming partitions and detaches old ones without open check-ins")
+    void testMaintain() {
+        new CheckInPartitionMaintenance(jdbcTemplate, 2, 12, CheckInPartitionMaintenance.RetentionAction.DETACH)
+                .maintain(YearMonth.of(2025, 6));
+
+        ArgumentCaptor<MapSqlParameterSource> months = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(3)).queryForObject(startsWith("SELECT create_check_in_out_partition"), months.capture(), eq(String.class));
+        assertEquals(List.of(LocalDate.of(2025, 6, 1), LocalDate.of(2025, 7, 1), LocalDate.of(2025, 8, 1)),
+                months.getAllValues().stream().map(params -> params.getValue("month")).toList());
+
+        verify(jdbcTemplate).update(eq("ALTER TABLE check_in_out_log DETACH PARTITION \"check_in_out_log_y2020m01\""), any(SqlParameterSource.class));
+        verify(jdbcTemplate, times(1)).update(anyString(), any(SqlParameterSource.class));
+    }
+
+    @Test
+    @DisplayName("Retention of 0 keeps every partition, and nothing runs without the lock")
+    void testKeepAllAndLock() {
+        new CheckInPartitionMaintenance(jdbcTemplate, 0, 0, CheckInPartitionMaintenance.RetentionAction.DROP)
+                .maintain(YearMonth.of(2025, 6));
+        verify(jdbcTemplate, never()).update(anyString(), any(SqlParameterSource.class));
+
+        when(jdbcTemplate.queryForObject(startsWith("SELECT pg_try_advisory_xact_lock"), any(SqlParameterSource.class), eq(Boolean.class)))
+                .thenReturn(false);
+        clearInvocations(jdbcTemplate);
+        new CheckInPartitionMaintenance(jdbcTemplate, 3, 1, CheckInPartitionMaintenance.RetentionAction.DROP)
+                .maintain(YearMonth.of(2025, 6));
+        verify(jdbcTemplate, never()).queryForObject(startsWith("SELECT create_check_in_out_partition"), any(SqlParameterSource.class), eq(String.class));
+        verify(jdbcTemplate, never()).update(anyString(), any(SqlParameterSource.class));
+    }
+}
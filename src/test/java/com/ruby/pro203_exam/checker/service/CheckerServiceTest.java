@@ -0,0 +1,171 @@
+package com.ruby.pro203_exam.checker.service;
+
+import com.ruby.pro203_exam.attendance.service.AttendanceService;
+import com.ruby.pro203_exam.checker.dto.BulkCheckInDto;
+import com.ruby.pro203_exam.checker.dto.BulkCheckOutDto;
+import com.ruby.pro203_exam.checker.dto.BulkCheckResultDto;
+import com.ruby.pro203_exam.checker.dto.CheckInDto;
+import com.ruby.pro203_exam.checker.dto.CheckerHistoryPageDto;
+import com.ruby.pro203_exam.checker.model.CheckInOut;
+import com.ruby.pro203_exam.checker.repository.CheckerRepository;
+import com.ruby.pro203_exam.child.model.Child;
+import com.ruby.pro203_exam.child.repository.ChildRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Checker Service Tests")
+class CheckerServiceTest {
+
+    private final UUID kindergartenId = UUID.randomUUID();
+    private final UUID staffId = UUID.randomUUID();
+
+    private CheckerRepository checkerRepository;
+    private ChildRepository childRepository;
+    private ActiveCheckInBoard board;
+    private AttendanceService attendanceService;
+    private CheckerService checkerService;
+
+    @BeforeEach
+    void setUp() {
+        checkerRepository = mock(CheckerRepository.class);
+        childRepository = mock(ChildRepository.class);
+        board = new ActiveCheckInBoard();
+        attendanceService = mock(AttendanceService.class);
+        checkerService = new CheckerService(checkerRepository, childRepository, board, mock(ApplicationEventPublisher.class),
+                attendanceService);
+    }
+
+    @Test
+    @DisplayName("Bulk check-in returns one result per child in request order")
+    void testBulkCheckIn() {
+        Child here = child(kindergartenId);
+        Child alreadyHere = child(kindergartenId);
+        Child elsewhere = child(UUID.randomUUID());
+        UUID unknown = UUID.randomUUID();
+        List<UUID> requested = List.of(here.getId(), alreadyHere.getId(), elsewhere.getId(), unknown);
+
+        when(childRepository.findAllById(any())).thenReturn(List.of(here, alreadyHere, elsewhere));
+        // The statement skips children with an open check-in, so only the first one comes back
+        when(checkerRepository.insertIfNotCheckedIn(anyCollection(), any())).thenAnswer(invocation -> {
+            CheckInOut saved = openCheckIn(here.getId());
+            saved.setCheckInConfirmedByStaff(invocation.<CheckInOut>getArgument(1).getCheckInConfirmedByStaff());
+            return List.of(saved);
+        });
+
+        List<BulkCheckResultDto> results = checkerService.bulkCheckIn(
+                BulkCheckInDto.builder().childIds(requested).build(), staffId, kindergartenId);
+
+        assertEquals(requested, results.stream().map(BulkCheckResultDto::getChildId).toList());
+        assertEquals(List.of(BulkCheckResultDto.Status.CHECKED_IN, BulkCheckResultDto.Status.ALREADY_CHECKED_IN,
+                        BulkCheckResultDto.Status.FORBIDDEN, BulkCheckResultDto.Status.NOT_FOUND),
+                results.stream().map(BulkCheckResultDto::getStatus).toList());
+        assertEquals(staffId, results.get(0).getCheckIn().getDroppedOffConfirmedBy());
+        assertEquals(1, board.getActive(kindergartenId).size());
+
+        // One query to authorize, one statement for every check-in
+        verify(childRepository, times(1)).findAllById(any());
+        verify(checkerRepository, times(1)).insertIfNotCheckedIn(eq(List.of(here.getId(), alreadyHere.getId())), any());
+        verify(checkerRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Bulk check-out of a group closes the open check-ins in one statement")
+    void testBulkCheckOutGroup() {
+        UUID groupId = UUID.randomUUID();
+        Child checkedIn = child(kindergartenId);
+        Child notCheckedIn = child(kindergartenId);
+        CheckInOut closed = openCheckIn(checkedIn.getId());
+        closed.setCheckOutTime(LocalDateTime.now());
+
+        when(childRepository.findByGroupId(groupId)).thenReturn(List.of(checkedIn, notCheckedIn));
+        when(checkerRepository.checkOutActive(anyCollection(), any())).thenReturn(List.of(closed));
+
+        List<BulkCheckResultDto> results = checkerService.bulkCheckOut(
+                BulkCheckOutDto.builder().groupId(groupId).notes("Tur til skogen").build(), staffId, kindergartenId);
+
+        assertEquals(List.of(BulkCheckResultDto.Status.CHECKED_OUT, BulkCheckResultDto.Status.NOT_CHECKED_IN),
+                results.stream().map(BulkCheckResultDto::getStatus).toList());
+
+        ArgumentCaptor<CheckInOut> checkOut = ArgumentCaptor.forClass(CheckInOut.class);
+        verify(checkerRepository, times(1)).checkOutActive(eq(List.of(checkedIn.getId(), notCheckedIn.getId())), checkOut.capture());
+        assertEquals(staffId, checkOut.getValue().getCheckOutApprovedByStaff());
+        assertEquals("Tur til skogen", checkOut.getValue().getNotes());
+
+        // The day's attendance rollup is rebuilt for the children that were actually checked out
+        verify(attendanceService, times(1)).recordCheckOuts(List.of(closed));
+    }
+
+    @Test
+    @DisplayName("Check-in conflict from the database is reported as already checked in")
+    void testCheckInConflict() {
+        when(checkerRepository.insertIfNotCheckedIn(anyCollection(), any())).thenReturn(List.of());
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> checkerService.checkIn(
+                CheckInDto.builder().childId(UUID.randomUUID()).build(), staffId, true));
+        assertEquals("Child is already checked in", e.getMessage());
+        verify(checkerRepository, never()).findByChildIdInAndCheckOutTimeIsNull(anyCollection());
+    }
+
+    @Test
+    @DisplayName("History page returns a cursor that continues after its last row")
+    void testHistoryPaging() {
+        UUID childId = UUID.randomUUID();
+        List<CheckInOut> rows = List.of(openCheckIn(childId), openCheckIn(childId), openCheckIn(childId));
+        when(checkerRepository.findHistoryPage(eq(childId), any(), any(), any(), any(), eq(Limit.of(3))))
+                .thenReturn(rows);
+
+        CheckerHistoryPageDto first = checkerService.getChildHistory(childId, null, null, null, 2);
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+
+        when(checkerRepository.findHistoryPage(any(), any(), any(), any(), any(), any())).thenReturn(List.of());
+        CheckerHistoryPageDto second = checkerService.getChildHistory(childId, first.getNextCursor(),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), 2);
+        assertNull(second.getNextCursor());
+
+        CheckInOut last = rows.get(1);
+        verify(checkerRepository).findHistoryPage(childId, LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0),
+                last.getCheckInTime(), last.getId(), Limit.of(3));
+
+        assertThrows(RuntimeException.class, () -> checkerService.getChildHistory(childId, "not-a-cursor", null, null, 2));
+    }
+
+    @Test
+    @DisplayName("Bulk request needs exactly one of groupId and childIds")
+    void testBulkNeedsGroupOrChildren() {
+        assertThrows(RuntimeException.class, () -> checkerService.bulkCheckIn(new BulkCheckInDto(), staffId, kindergartenId));
+        assertThrows(RuntimeException.class, () -> checkerService.bulkCheckIn(
+                BulkCheckInDto.builder().groupId(UUID.randomUUID()).childIds(List.of(UUID.randomUUID())).build(),
+                staffId, kindergartenId));
+    }
+
+    private Child child(UUID kindergarten) {
+        Child child = new Child();
+        child.setId(UUID.randomUUID());
+        child.setKindergartenId(kindergarten);
+        return child;
+    }
+
+    private CheckInOut openCheckIn(UUID childId) {
+        return CheckInOut.builder()
+                .id(UUID.randomUUID())
+                .childId(childId)
+                .checkInTime(LocalDateTime.now().minusHours(6))
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.ruby.pro203_exam.checker.service;
+
+import com.ruby.pro203_exam.checker.dto.ChildStatusDto;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/* Two relays on the same app database stand in for two instances
+    - Needs the app database from docker compose - tagged db like the statement budget suite
+*/
+@SpringBootTest
+@Tag("db")
+@DisplayName("Child Status Relay Tests")
+class ChildStatusRelayTest {
+
+    @Autowired
+    @Qualifier("appPrimaryDataSource")
+    private HikariDataSource dataSource;
+
+    private ChildStatusRelay sender;
+    private ChildStatusRelay receiver;
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdown();
+        receiver.shutdown();
+    }
+
+    @Test
+    @DisplayName("A change on one instance reaches the streams watching the child on another")
+    void testChangeReachesOtherInstance() {
+        UUID childId = UUID.randomUUID();
+        ChildStatusDto status = ChildStatusDto.builder().childId(childId).checkedIn(true).build();
+
+        ChildStatusStream senderStream = mock(ChildStatusStream.class);
+        when(senderStream.isWatched(childId)).thenReturn(true);
+        when(senderStream.watchedChildren()).thenReturn(Set.of());
+        ChildStatusStream receiverStream = mock(ChildStatusStream.class);
+        when(receiverStream.isWatched(childId)).thenReturn(true);
+        when(receiverStream.watchedChildren()).thenReturn(Set.of());
+        CheckerService receiverChecker = mock(CheckerService.class);
+        when(receiverChecker.getChildStatuses(Set.of(childId))).thenReturn(List.of(status));
+
+        sender = relay(mock(CheckerService.class), senderStream);
+        receiver = relay(receiverChecker, receiverStream);
+        // Both are listening once they have looked for watched children to resend
+        verify(senderStream, timeout(5000)).watchedChildren();
+        verify(receiverStream, timeout(5000)).watchedChildren();
+
+        sender.onStatusChanged(new ChildStatusChangedEvent(status));
+
+        verify(receiverStream, timeout(5000)).onStatusChanged(argThat(event -> event.getStatus() == status));
+        // The sender's own streams already got the change in process
+        verify(senderStream, after(500).never()).onStatusChanged(any());
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private ChildStatusRelay relay(CheckerService checkerService, ChildStatusStream stream) {
+        ChildStatusRelay relay = new ChildStatusRelay(dataSource, checkerService, stream, true,
+                Duration.ofMillis(20), Duration.ofSeconds(1));
+        relay.start();
+        return relay;
+    }
+}
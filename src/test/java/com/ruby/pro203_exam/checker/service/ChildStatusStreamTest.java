@@ -0,0 +1,114 @@
+package com.ruby.pro203_exam.checker.service;
+
+import com.ruby.pro203_exam.checker.dto.ChildStatusDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@DisplayName("Child Status Stream Tests")
+class ChildStatusStreamTest {
+
+    private final UUID childId = UUID.randomUUID();
+    private ChildStatusStream stream;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        stream = new ChildStatusStream(Duration.ofMinutes(1), Duration.ofMinutes(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    @DisplayName("Subscriber gets the current status, then every change for its children")
+    void testSubscribeAndPublish() throws Exception {
+        MvcResult result = mockMvc.perform(get("/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(1, stream.subscriberCount());
+
+        stream.onStatusChanged(new ChildStatusChangedEvent(status(childId, true)));
+        stream.onStatusChanged(new ChildStatusChangedEvent(status(UUID.randomUUID(), true)));
+
+        // Sends run on their own threads - wait for the event's data, not just its name
+        String body = awaitContent(result, "\"checkedIn\":true");
+        assertTrue(body.contains("\"checkedIn\":false"));
+        assertTrue(body.contains("\"checkedIn\":true"));
+
+        // Give a stray send for the unwatched child time to show up
+        Thread.sleep(200);
+        assertEquals(2, result.getResponse().getContentAsString().split("event:status").length - 1);
+    }
+
+    @Test
+    @DisplayName("A change that commits while the current status is read is sent after it")
+    void testChangeDuringSubscribeIsSentAfterCurrentStatus() throws Exception {
+        MvcResult result = mockMvc.perform(get("/stream/racing"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = awaitContent(result, "\"checkedIn\":true");
+        assertTrue(body.indexOf("\"checkedIn\":false") >= 0);
+        assertTrue(body.indexOf("\"checkedIn\":false") < body.indexOf("\"checkedIn\":true"));
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String body = result.getResponse().getContentAsString();
+        while (!body.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = result.getResponse().getContentAsString();
+        }
+        return body;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ChildStatusDto status(UUID id, boolean checkedIn) {
+        return ChildStatusDto.builder().childId(id).checkedIn(checkedIn).build();
+    }
+
+    @RestController
+    class StreamController {
+        @GetMapping("/stream")
+        SseEmitter stream() {
+            return stream.subscribe(List.of(childId), () -> List.of(status(childId, false)));
+        }
+
+        // The check-in commits after the stream is registered but before the status read returns
+        @GetMapping("/stream/racing")
+        SseEmitter racingStream() {
+            return stream.subscribe(List.of(childId), () -> {
+                stream.onStatusChanged(new ChildStatusChangedEvent(status(childId, true)));
+                sleep(200);
+                return List.of(status(childId, false));
+            });
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ruby.pro203_exam.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Hibernate Cache Config Tests")
+class HibernateCacheConfigTest {
+
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Every region is created with its configured size and TTL")
+    void testRegionLimits() {
+        HibernateCacheProperties.Region staff = new HibernateCacheProperties.Region();
+        staff.setMaxSize(42);
+        staff.setTtl(Duration.ofMinutes(5));
+        HibernateCacheProperties properties = new HibernateCacheProperties();
+        properties.setRegions(Map.of(HibernateCacheConfig.STAFF_REGION, staff));
+
+        cacheManager = new HibernateCacheConfig().appHibernateCacheManager(properties);
+
+        CaffeineConfiguration<?, ?> staffRegion = configuration(HibernateCacheConfig.STAFF_REGION);
+        assertEquals(OptionalLong.of(42), staffRegion.getMaximumSize());
+        assertEquals(OptionalLong.of(Duration.ofMinutes(5).toNanos()), staffRegion.getExpireAfterWrite());
+        assertTrue(staffRegion.isStatisticsEnabled());
+
+        // Regions without an entry fall back to the defaults
+        CaffeineConfiguration<?, ?> groupRegion = configuration(HibernateCacheConfig.GROUP_REGION);
+        assertEquals(OptionalLong.of(1000), groupRegion.getMaximumSize());
+        assertEquals(OptionalLong.of(Duration.ofMinutes(30).toNanos()), groupRegion.getExpireAfterWrite());
+
+        for (String region : HibernateCacheConfig.BOUNDED_REGIONS) {
+            assertNotNull(cacheManager.getCache(region), region);
+        }
+    }
+
+    @Test
+    @DisplayName("Update timestamps region never expires or evicts")
+    void testTimestampsRegionUnbounded() {
+        cacheManager = new HibernateCacheConfig().appHibernateCacheManager(new HibernateCacheProperties());
+
+        CaffeineConfiguration<?, ?> timestamps = configuration(HibernateCacheConfig.UPDATE_TIMESTAMPS_REGION);
+        assertTrue(timestamps.getMaximumSize().isEmpty());
+        assertTrue(timestamps.getExpireAfterWrite().isEmpty());
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> configuration(String region) {
+        return cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class);
+    }
+}
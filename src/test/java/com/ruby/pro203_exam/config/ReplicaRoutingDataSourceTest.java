@@ -0,0 +1,100 @@
+package com.ruby.pro203_exam.config;
+
+import com.ruby.pro203_exam.auth.model.AuthenticatedUser;
+import com.ruby.pro203_exam.auth.model.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Replica Routing Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate replicaJdbcTemplate;
+    private ReplicaConsistency consistency;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        replicaJdbcTemplate = mock(JdbcTemplate.class);
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(0.2);
+        consistency = new ReplicaConsistency(replicaJdbcTemplate, Duration.ofSeconds(5));
+        routing = new ReplicaRoutingDataSource(mock(DataSource.class), mock(DataSource.class), consistency);
+        consistency.checkLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions go to the replica, everything else to the primary")
+    void testRouting() {
+        assertEquals(ReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertEquals(ReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(ReplicaRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("A lagging or unreachable replica is skipped until it catches up")
+    void testLag() {
+        readOnlyTransaction();
+
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(12.0);
+        consistency.checkLag();
+        assertEquals(ReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenThrow(new RuntimeException("Connection refused"));
+        consistency.checkLag();
+        assertFalse(consistency.isReplicaUsable());
+
+        doReturn(0.0).when(replicaJdbcTemplate).queryForObject(anyString(), eq(Double.class));
+        consistency.checkLag();
+        assertEquals(ReplicaRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("A user reads from the primary right after their own write, other users keep the replica")
+    void testReadAfterWrite() {
+        readOnlyTransaction();
+        UUID writer = UUID.randomUUID();
+
+        loginAs(writer);
+        consistency.recordWrite();
+        assertEquals(ReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+
+        loginAs(UUID.randomUUID());
+        assertEquals(ReplicaRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    private void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private void loginAs(UUID userId) {
+        AuthenticatedUser user = AuthenticatedUser.builder().id(userId).email("user@example.com").role(UserRole.PARENT).build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
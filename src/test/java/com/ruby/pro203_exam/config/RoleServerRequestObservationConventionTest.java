@@ -0,0 +1,46 @@
+package com.ruby.pro203_exam.config;
+
+import com.ruby.pro203_exam.auth.filter.JwtAuthFilter;
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Role Server Request Observation Convention Tests")
+class RoleServerRequestObservationConventionTest {
+
+    private final RoleServerRequestObservationConvention convention = new RoleServerRequestObservationConvention();
+
+    @Test
+    @DisplayName("Authenticated request is tagged with the role the JWT filter left")
+    void testRoleTag() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/children");
+        request.setAttribute(JwtAuthFilter.ROLE_ATTRIBUTE, "BOSS");
+
+        assertEquals(KeyValue.of("role", "BOSS"), roleTag(request));
+    }
+
+    @Test
+    @DisplayName("Request without a principal is tagged anonymous and keeps the default tags")
+    void testAnonymousTag() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/kindergartens");
+        ServerRequestObservationContext context = new ServerRequestObservationContext(request, new MockHttpServletResponse());
+
+        assertEquals(KeyValue.of("role", "ANONYMOUS"), roleTag(request));
+        assertTrue(convention.getLowCardinalityKeyValues(context).stream().anyMatch(kv -> kv.getKey().equals("uri")));
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private KeyValue roleTag(MockHttpServletRequest request) {
+        ServerRequestObservationContext context = new ServerRequestObservationContext(request, new MockHttpServletResponse());
+        return convention.getLowCardinalityKeyValues(context).stream()
+                .filter(kv -> kv.getKey().equals(RoleServerRequestObservationConvention.ROLE_TAG))
+                .findFirst()
+                .orElseThrow();
+    }
+}
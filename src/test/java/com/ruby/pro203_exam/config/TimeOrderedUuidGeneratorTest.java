@@ -0,0 +1,43 @@
+package com.ruby.pro203_exam.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Time Ordered UUID Generator Tests")
+class TimeOrderedUuidGeneratorTest {
+
+    @Test
+    @DisplayName("Generated ids are version 7 with the current time in the first 48 bits")
+    void testVersionAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuidGenerator.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= after + 1, "timestamp " + millis);
+    }
+
+    @Test
+    @DisplayName("Ids keep increasing within the same millisecond and sort the same as text")
+    void testMonotonic() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(TimeOrderedUuidGenerator.next());
+        }
+
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        for (int i = 1; i < ids.size(); i++) {
+            // Postgres compares uuids byte by byte - the same order as their text form
+            assertTrue(ids.get(i - 1).toString().compareTo(ids.get(i).toString()) < 0, "index " + i);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.ruby.pro203_exam.kindergarten.service;
+
+import com.ruby.pro203_exam.kindergarten.model.Kindergarten;
+import com.ruby.pro203_exam.kindergarten.repository.KindergartenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Kindergarten Name Cache Tests")
+class KindergartenNameCacheTest {
+
+    private final UUID kindergartenId = UUID.randomUUID();
+    private KindergartenRepository kindergartenRepository;
+    private KindergartenNameCache cache;
+
+    @BeforeEach
+    void setUp() {
+        kindergartenRepository = mock(KindergartenRepository.class);
+        cache = new KindergartenNameCache(kindergartenRepository, 100, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Same kindergarten is read from the database once")
+    void testReadThrough() {
+        when(kindergartenRepository.findById(kindergartenId)).thenReturn(Optional.of(kindergarten("Solsikken")));
+
+        for (int i = 0; i < 120; i++) {
+            assertEquals("Solsikken", cache.getName(kindergartenId));
+        }
+
+        verify(kindergartenRepository, times(1)).findById(kindergartenId);
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(119, cache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Evict makes the next lookup read the new name")
+    void testEvict() {
+        when(kindergartenRepository.findById(kindergartenId))
+                .thenReturn(Optional.of(kindergarten("Solsikken")))
+                .thenReturn(Optional.of(kindergarten("Blåklokka")));
+
+        assertEquals("Solsikken", cache.getName(kindergartenId));
+        cache.evict(kindergartenId);
+
+        assertEquals("Blåklokka", cache.getName(kindergartenId));
+    }
+
+    @Test
+    @DisplayName("Batch lookup reads only the ids not cached yet, in one query")
+    void testGetNames() {
+        UUID otherId = UUID.randomUUID();
+        when(kindergartenRepository.findById(kindergartenId)).thenReturn(Optional.of(kindergarten("Solsikken")));
+        when(kindergartenRepository.findAllById(List.of(otherId)))
+                .thenReturn(List.of(Kindergarten.builder().id(otherId).name("Blåklokka").build()));
+
+        cache.getName(kindergartenId);
+        Map<UUID, String> names = cache.getNames(Arrays.asList(kindergartenId, otherId, otherId, null));
+
+        assertEquals(Map.of(kindergartenId, "Solsikken", otherId, "Blåklokka"), names);
+        verify(kindergartenRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Null and unknown ids return null and are not cached")
+    void testUnknown() {
+        when(kindergartenRepository.findById(kindergartenId)).thenReturn(Optional.empty());
+
+        assertNull(cache.getName(null));
+        assertNull(cache.getName(kindergartenId));
+        assertNull(cache.getName(kindergartenId));
+
+        verify(kindergartenRepository, times(2)).findById(kindergartenId);
+        assertEquals(0, cache.size());
+    }
+
+    private Kindergarten kindergarten(String name) {
+        return Kindergarten.builder().id(kindergartenId).name(name).build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.ruby.pro203_exam.support.sql;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/* Statement budget assertions on top of SqlStatementCounter
+    - measure(...) runs an action and returns how many statements it sent
+    - assertWithin fails when a run went over its budget
+    - assertFlat fails when two runs over different amounts of data sent a different number of statements - an N+1
+    - Failure messages list the statements so the extra queries can be found without a debugger
+*/
+public final class SqlBudget {
+
+    private SqlBudget() {}
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    // Statements the action sent on this thread
+    public static List<String> measure(SqlStatementCounter counter, Action action) throws Exception {
+        counter.reset();
+        action.run();
+        return counter.statements();
+    }
+
+    public static void assertWithin(int budget, List<String> statements, String description) {
+        if (statements.size() > budget) {
+            fail(description + " ran " + statements.size() + " statements, budget is " + budget + ":\n" + list(statements));
+        }
+    }
+
+    public static void assertFlat(List<String> small, List<String> large, String description) {
+        assertEquals(small.size(), large.size(), () -> description + " ran a different number of statements for more rows\n"
+                + "fewer rows:\n" + list(small) + "\nmore rows:\n" + list(large));
+    }
+
+    // ------------------------------------- HELPER METHODS ------------------------------------- //
+
+    private static String list(List<String> statements) {
+        return IntStream.range(0, statements.size())
+                .mapToObj(i -> "  " + (i + 1) + ". " + statements.get(i))
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.ruby.pro203_exam.support.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/* Counts the SQL statements sent to the database by the current thread
+    - Fed by the datasource-proxy wrapped around appDataSource (SqlStatementCountingConfiguration)
+    - A JDBC batch is one round trip, so it counts once - its statements are joined with "; "
+    - Per thread, so scheduled jobs and other requests running at the same time are not counted
+*/
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    // Shared by every instance, so the listener and the injected bean see the same statements
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        STATEMENTS.get().add(queryInfoList.stream()
+                .map(QueryInfo::getQuery)
+                .collect(Collectors.joining("; ")));
+    }
+
+    // Forget everything this thread has run so far
+    public void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public int count() {
+        return STATEMENTS.get().size();
+    }
+
+    public List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+}
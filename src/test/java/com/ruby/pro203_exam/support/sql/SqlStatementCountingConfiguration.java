@@ -0,0 +1,41 @@
+package com.ruby.pro203_exam.support.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/* Import into a @SpringBootTest to count the statements run against the app database
+    - Wraps the appDataSource bean, which both JPA and the JDBC templates use
+    - Flyway migrates through appPrimaryDataSource and the auth database is left alone, so neither shows up in the counts
+*/
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlStatementCountingConfiguration {
+
+    static final String COUNTED_DATA_SOURCE = "appDataSource";
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    // Static so it is registered before the datasource it has to wrap is created
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingPostProcessor() {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!COUNTED_DATA_SOURCE.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(counter)
+                        .build();
+            }
+        };
+    }
+}